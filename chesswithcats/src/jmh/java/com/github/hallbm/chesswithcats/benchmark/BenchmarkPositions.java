@@ -0,0 +1,76 @@
+package com.github.hallbm.chesswithcats.benchmark;
+
+import com.github.hallbm.chesswithcats.domain.BitBoard;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.MoveGenerator;
+import com.github.hallbm.chesswithcats.domain.PackedMove;
+import com.github.hallbm.chesswithcats.domain.Position;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+import com.github.hallbm.chesswithcats.service.GameBoardServices;
+
+/**
+ * Benchmark fixtures: opening, middlegame and endgame positions (FEN) for each
+ * game phase. 'Obstructive' games use the same positions with four cats placed
+ * on empty squares between the armies.
+ */
+public enum BenchmarkPositions {
+
+	OPENING("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+			"r1bqkbnr/pppp1ppp/2n2C2/4p3/1C2P1C1/C4N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+	MIDDLEGAME("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"r3k2r/p1ppqpb1/bn1Cpnp1/3PN1C1/1pC1P3/C1N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+	ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"8/2p5/3p1C2/KP1C3r/1RC2p1k/5C2/4P1P1/8 w - - 0 1");
+
+	private final String fen;
+	private final String obstructiveFen;
+
+	BenchmarkPositions(String fen, String obstructiveFen) {
+		this.fen = fen;
+		this.obstructiveFen = obstructiveFen;
+	}
+
+	public String getFen(GameStyle style) {
+		return style == GameStyle.OBSTRUCTIVE ? obstructiveFen : fen;
+	}
+
+	/**
+	 * GamePlay (board, side to move, castling and en passant square) of the FEN.
+	 */
+	public GamePlay toGamePlay(GameStyle style) {
+		String[] fields = getFen(style).split(" ");
+		Position position = Position.fromFen(getFen(style));
+		PieceNotation[][] board = new PieceNotation[8][8];
+
+		for (int square = 0; square < 64; square++) {
+			board[BitBoard.getRow(square)][BitBoard.getColumn(square)] = position.getBitBoard().getPiece(square);
+		}
+
+		GamePlay gamePlay = new GamePlay();
+		gamePlay.getGameBoard().setBoard(board);
+		gamePlay.setHalfMoves((short) (position.getSideToMove() == GameColor.WHITE ? 1 : 2));
+		gamePlay.setCastling(fields[2].equals("-") ? "" : fields[2]);
+		gamePlay.setEnPassantTargetSquare(fields[3].equals("-") ? null : fields[3].toUpperCase());
+		return gamePlay;
+	}
+
+	/**
+	 * First legal move of the position, as submitted by the front end.
+	 */
+	public MoveDTO firstLegalMove(GameStyle style) {
+		Position position = Position.fromFen(getFen(style));
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		MoveGenerator.forStyle(style).generateLegalMoves(position, moves);
+
+		int from = PackedMove.getFrom(moves[0]);
+		int to = PackedMove.getTo(moves[0]);
+		PieceNotation promotion = PackedMove.getPromotion(moves[0]);
+
+		return new MoveDTO("1", promotion == null ? null : promotion.toString(),
+				GameBoardServices.getPosition(BitBoard.getRow(from), BitBoard.getColumn(from)),
+				GameBoardServices.getPosition(BitBoard.getRow(to), BitBoard.getColumn(to)));
+	}
+}
@@ -0,0 +1,78 @@
+package com.github.hallbm.chesswithcats.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+import com.github.hallbm.chesswithcats.service.GameBoardServices;
+
+/**
+ * Board copies, FEN generation and repetition tracking performed on every move.
+ * Cats only alter the board contents, hence classic and 'obstructive' boards are
+ * benchmarked.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBoardBenchmark {
+
+	@Param({ "CLASSIC", "OBSTRUCTIVE" })
+	private GameStyle style;
+
+	@Param({ "OPENING", "MIDDLEGAME", "ENDGAME" })
+	private BenchmarkPositions phase;
+
+	private GamePlay gamePlay;
+	private PieceNotation[][] board;
+	private List<String[]> pieceMoves;
+
+	@Setup
+	public void setup() {
+		gamePlay = phase.toGamePlay(style);
+		board = gamePlay.getGameBoard().getBoard();
+
+		MoveDTO moveDTO = phase.firstLegalMove(style);
+		pieceMoves = List.<String[]>of(new String[] { moveDTO.getStartPos(), moveDTO.getEndPos() });
+	}
+
+	@Benchmark
+	public PieceNotation[][] simulateMove() {
+		return GameBoardServices.simulateMove(board, pieceMoves, null);
+	}
+
+	@Benchmark
+	public PieceNotation[][] copyBoard() {
+		return GameBoardServices.copyBoard(board);
+	}
+
+	@Benchmark
+	public StringBuilder getFenPositions() {
+		return GameBoardServices.getFenPositions(board);
+	}
+
+	@Benchmark
+	public String updateFenSet() {
+		String fen = gamePlay.updateFenSet();
+		// discard the appended FEN so the history does not grow across invocations
+		gamePlay.getUnsavedPositions().clear();
+		return fen;
+	}
+}
@@ -0,0 +1,72 @@
+package com.github.hallbm.chesswithcats.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameOutcome;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.domain.MoveValidator;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+
+/**
+ * Move validation (/game/move) and game status evaluation for every game style
+ * and game phase. Run with '-prof gc' for bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveValidatorBenchmark {
+
+	@Param({ "CLASSIC", "OBSTRUCTIVE", "AMBIGUOUS", "DEFIANT" })
+	private GameStyle style;
+
+	@Param({ "OPENING", "MIDDLEGAME", "ENDGAME" })
+	private BenchmarkPositions phase;
+
+	private MoveValidator moveValidator;
+	private GamePlay gamePlay;
+	private MoveDTO moveDTO;
+
+	@Setup
+	public void setup() {
+		Game game = new Game();
+		game.setStyle(style);
+		game.setValidator();
+
+		moveValidator = game.getMoveValidator();
+		gamePlay = phase.toGamePlay(style);
+		moveDTO = phase.firstLegalMove(style);
+
+		if (!moveValidator.validateMove(moveDTO, gamePlay)) {
+			throw new IllegalStateException("Benchmark move rejected: " + moveDTO.getStartPos() + moveDTO.getEndPos());
+		}
+	}
+
+	@Benchmark
+	public boolean validateMove() {
+		return moveValidator.validateMove(moveDTO, gamePlay);
+	}
+
+	@Benchmark
+	public GameOutcome evaluateGameStatus() {
+		// evaluation records check in chessMoves; reset to keep the list from growing
+		moveValidator.getChessMoves().clear();
+		return moveValidator.evaluateGameStatus();
+	}
+}
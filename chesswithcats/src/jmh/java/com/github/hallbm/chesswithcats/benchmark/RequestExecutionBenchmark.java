@@ -0,0 +1,133 @@
+package com.github.hallbm.chesswithcats.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.hallbm.chesswithcats.config.VirtualThreads;
+
+/**
+ * Load model of request execution: a batch of move requests, each blocking on a
+ * database call (connection pool of 20, simulated query latency), served while
+ * a number of idle players hold a thread each (blocking SSE/long poll).
+ *
+ * PLATFORM models the default Tomcat pool (200 threads), VIRTUAL a virtual
+ * thread per request (chesswithcats.virtual-threads.enabled). Requires a Java
+ * 21+ runtime for VIRTUAL.
+ *
+ * This is a model only (semaphore and sleep standing in for the pool and the
+ * database), not a load test of the application: it illustrates thread
+ * starvation by idle connections, but makes no claim about the throughput of
+ * /game/move or SSE, which would need an HTTP load test against a running
+ * instance and database.
+ *
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="RequestExecutionBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+	private static final int TOMCAT_THREADS = 200;
+	private static final int POOL_SIZE = 20;
+	private static final int REQUESTS = 1000;
+	private static final long QUERY_MICROS = 500;
+
+	public enum Execution {
+		PLATFORM, VIRTUAL
+	}
+
+	@Param({ "PLATFORM", "VIRTUAL" })
+	private Execution execution;
+
+	@Param({ "0", "190" })
+	private int idlePlayers;
+
+	private ExecutorService executor;
+	private CountDownLatch release;
+	private final Semaphore connectionPool = new Semaphore(POOL_SIZE, true);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		if (execution == Execution.VIRTUAL) {
+			if (!VirtualThreads.isSupported()) {
+				throw new IllegalStateException("VIRTUAL requires a Java 21+ runtime");
+			}
+			executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+		} else {
+			executor = Executors.newFixedThreadPool(TOMCAT_THREADS);
+		}
+
+		// idle players occupy a thread each until teardown
+		release = new CountDownLatch(1);
+
+		for (int i = 0; i < idlePlayers; i++) {
+			executor.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Throughput in batches of REQUESTS move requests per second.
+	 */
+	@Benchmark
+	public int moveRequests() throws Exception {
+		List<Future<Integer>> futures = new ArrayList<>(REQUESTS);
+
+		for (int i = 0; i < REQUESTS; i++) {
+			futures.add(executor.submit(this::handleMove));
+		}
+
+		int handled = 0;
+
+		for (Future<Integer> future : futures) {
+			handled += future.get(30, TimeUnit.SECONDS);
+		}
+		return handled;
+	}
+
+	private int handleMove() throws InterruptedException {
+		connectionPool.acquire();
+
+		try {
+			TimeUnit.MICROSECONDS.sleep(QUERY_MICROS);
+		} finally {
+			connectionPool.release();
+		}
+		return 1;
+	}
+}
@@ -2,7 +2,9 @@ package com.github.hallbm.chesswithcats;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"com.github.hallbm.*"})
 public class ChesswithcatsApplication {
 
@@ -0,0 +1,40 @@
+package com.github.hallbm.chesswithcats.config;
+
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.github.hallbm.chesswithcats.service.PresenceServices;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticated requests count as activity of the player towards their online
+ * status (see PresenceServices).
+ */
+@Configuration
+public class PresenceConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private PresenceServices presenceServ;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new HandlerInterceptor() {
+			@Override
+			public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+				Principal principal = request.getUserPrincipal();
+
+				if (principal != null) {
+					presenceServ.touch(principal.getName());
+				}
+				return true;
+			}
+		});
+	}
+}
@@ -0,0 +1,64 @@
+package com.github.hallbm.chesswithcats.config;
+
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in ('chesswithcats.virtual-threads.enabled') execution of requests and
+ * MVC async processing (SSE) on virtual threads, such that blocking JPA calls
+ * and idle-but-connected players do not exhaust the Tomcat thread pool. The
+ * number of concurrent database calls is then bounded by the connection pool
+ * (spring.datasource.hikari.*) instead of the thread pool.
+ *
+ * Falls back to platform threads on runtimes without virtual threads.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chesswithcats.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+	private final ExecutorService executor;
+
+	public VirtualThreadConfig() {
+		if (VirtualThreads.isSupported()) {
+			executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+			log.info("request handling on virtual threads");
+		} else {
+			executor = null;
+			log.warn("virtual threads enabled but unsupported by this runtime, using platform threads");
+		}
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> {
+			if (executor != null) {
+				protocolHandler.setExecutor(executor);
+			}
+		};
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		if (executor != null) {
+			configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+}
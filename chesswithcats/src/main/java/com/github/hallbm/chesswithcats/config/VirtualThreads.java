@@ -0,0 +1,50 @@
+package com.github.hallbm.chesswithcats.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads (Java 21+) from code compiled for Java 17:
+ * Executors.newVirtualThreadPerTaskExecutor is resolved reflectively, and
+ * virtual threads are reported as unsupported on older runtimes (or where they
+ * are a disabled preview feature).
+ */
+public final class VirtualThreads {
+
+	private static final Method NEW_EXECUTOR = findExecutorFactory();
+
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		return NEW_EXECUTOR != null;
+	}
+
+	/**
+	 * Executor starting a new virtual thread per task.
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are not supported
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (NEW_EXECUTOR == null) {
+			throw new UnsupportedOperationException("Virtual threads require a Java 21+ runtime");
+		}
+
+		try {
+			return (ExecutorService) NEW_EXECUTOR.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads unavailable", e);
+		}
+	}
+
+	private static Method findExecutorFactory() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			((ExecutorService) method.invoke(null)).shutdown();
+			return method;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -19,11 +21,13 @@ import org.springframework.web.servlet.ModelAndView;
 
 import com.github.hallbm.chesswithcats.domain.FriendEnums.BlockedBy;
 import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
+import com.github.hallbm.chesswithcats.listener.FriendshipChangedEvent;
 import com.github.hallbm.chesswithcats.model.FriendRequest;
 import com.github.hallbm.chesswithcats.model.Player;
 import com.github.hallbm.chesswithcats.repository.FriendRequestRepository;
 import com.github.hallbm.chesswithcats.repository.PlayerRepository;
 import com.github.hallbm.chesswithcats.service.FriendServices;
+import com.github.hallbm.chesswithcats.service.PlayerSearchServices;
 
 /**
  * Controller for CRUD related to maintaining relationships with other player
@@ -41,6 +45,15 @@ public class FriendController {
 	@Autowired
 	private FriendServices friendServ;
 
+	@Autowired
+	private PlayerSearchServices playerSearchServ;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${chesswithcats.player-search.max-results:10}")
+	private int maxSearchResults;
+
 	
 	/**
 	 * Generates and displays lists of player usernames based on relationship status 
@@ -70,9 +83,9 @@ public class FriendController {
 
 	/**
 	 * AJAX endpoint for searching for partially matched usernames
-	 * (searches based on match to the first part of name, i.e, "inputString%")
+	 * (searches based on match to the first part of name, i.e, "inputString%", ignoring case)
 	 * Searches exclude players involved in accepted, pending or received requests
-	 * and players that are blocked (by either party).
+	 * and players that are blocked (by either party); at most 'chesswithcats.player-search.max-results'.
 	 */
 	
 	@ResponseBody
@@ -82,12 +95,7 @@ public class FriendController {
 
 		Set<String> connectionNames = friendServ.getAllConnectionUsernamesAndSelf(currentUser.getUsername());
 
-		List<String> results = playerRepo.searchNewFriends(userInput + "%").orElse(null);
-
-		if (!results.isEmpty()) {
-			results.removeAll(connectionNames);
-			results.subList(0, Math.min(results.size(), 10));
-		}
+		List<String> results = playerSearchServ.search(userInput, connectionNames, maxSearchResults);
 
 		return new ResponseEntity<List<String>>(results, HttpStatus.OK);
 	}
@@ -111,6 +119,7 @@ public class FriendController {
 		newFriendReq.setBlockedBy(BlockedBy.NEITHER);
 		newFriendReq.setStatus(FriendRequestStatus.PENDING);
 		friendReqRepo.save(newFriendReq);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(sender.getUsername(), receiverUsername));
 
 		return new ModelAndView("redirect:/friends");
 	}
@@ -136,6 +145,7 @@ public class FriendController {
 		friendBlockRequest.setBlockedBy(BlockedBy.SENDER);
 
 		friendReqRepo.save(friendBlockRequest);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(sender.getUsername(), receiverUsername));
 
 		return new ModelAndView("redirect:/friends");
 	}
@@ -153,6 +163,7 @@ public class FriendController {
 		approvedFriendReq.setStatus(FriendRequestStatus.ACCEPTED);
 		approvedFriendReq.setLastModifiedDate(LocalDate.now());
 		friendReqRepo.save(approvedFriendReq);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(receiver, sender));
 
 		return new ModelAndView("redirect:/friends");
 	}
@@ -180,6 +191,7 @@ public class FriendController {
 
 		blockedFriendReq.setLastModifiedDate(LocalDate.now());
 		friendReqRepo.save(blockedFriendReq);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(currentUsername, username1));
 
 		return new ModelAndView("redirect:/friends");
 	}
@@ -195,6 +207,7 @@ public class FriendController {
 		String receiver = currentUser.getUsername();
 
 		int deletedRecords = friendReqRepo.deleteByUsernames(receiver, sender);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(receiver, sender));
 
 		if (deletedRecords != 1) {
 			System.out.println("ERROR WITH FRIEND REQUEST DELETION");
@@ -214,6 +227,7 @@ public class FriendController {
 
 		String sender = currentUser.getUsername();
 		int deletedRecords = friendReqRepo.deleteByUsernames(receiver, sender);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(receiver, sender));
 
 		if (deletedRecords != 1) {
 			System.out.println("ERROR WITH FRIEND REQUEST DELETION");
@@ -237,6 +251,7 @@ public class FriendController {
 		blockedPendingReq.setLastModifiedDate(LocalDate.now());
 
 		friendReqRepo.save(blockedPendingReq);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(sender, receiver));
 
 		return new ModelAndView("redirect:/friends");
 	}
@@ -253,6 +268,7 @@ public class FriendController {
 		String currentUsername = currentUser.getUsername();
 
 		int deletedRecords = friendReqRepo.deleteByUsernames(friendUsername, currentUsername);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(currentUsername, friendUsername));
 
 		if (deletedRecords != 1) {
 			System.out.println("ERROR WITH FRIEND REQUEST DELETION");
@@ -274,6 +290,7 @@ public class FriendController {
 		String currentUsername = currentUser.getUsername();
 
 		int deletedRecords = friendReqRepo.deleteByUsernames(friendUsername, currentUsername);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(currentUsername, friendUsername));
 
 		if (deletedRecords != 1) {
 			System.out.println("ERROR WITH FRIEND REQUEST DELETION");
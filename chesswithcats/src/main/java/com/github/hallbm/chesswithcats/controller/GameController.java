@@ -1,10 +1,13 @@
 package com.github.hallbm.chesswithcats.controller;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,12 +17,14 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.ModelAndView;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.dto.GameDTO;
 import com.github.hallbm.chesswithcats.dto.GameRequestDTO;
 import com.github.hallbm.chesswithcats.dto.MoveDTO;
 import com.github.hallbm.chesswithcats.dto.MoveResponseDTO;
@@ -27,12 +32,15 @@ import com.github.hallbm.chesswithcats.model.Game;
 import com.github.hallbm.chesswithcats.model.GamePlay;
 import com.github.hallbm.chesswithcats.model.GameRequest;
 import com.github.hallbm.chesswithcats.model.Player;
-import com.github.hallbm.chesswithcats.repository.GamePlayRepository;
-import com.github.hallbm.chesswithcats.repository.GameRepository;
 import com.github.hallbm.chesswithcats.repository.GameRequestRepository;
 import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+import com.github.hallbm.chesswithcats.service.ActiveGameCache;
 import com.github.hallbm.chesswithcats.service.FriendServices;
+import com.github.hallbm.chesswithcats.service.GameMoveExecutor;
+import com.github.hallbm.chesswithcats.service.GameReplayServices;
 import com.github.hallbm.chesswithcats.service.GameServices;
+import com.github.hallbm.chesswithcats.service.MatchmakingServices;
+import com.github.hallbm.chesswithcats.service.PresenceServices;
 
 /**
  * Controller related to CRUD for long-term storage of games played
@@ -48,10 +56,10 @@ public class GameController {
 	private GameRequestRepository gameReqRepo;
 
 	@Autowired
-	private GameRepository gameRepo;
-	
+	private ActiveGameCache gameCache;
+
 	@Autowired
-	private GamePlayRepository gamePlayRepo;
+	private GameMoveExecutor moveExecutor;
 
 	@Autowired
 	private GameServices gameServ;
@@ -59,21 +67,49 @@ public class GameController {
 	@Autowired
 	private FriendServices friendServ;
 
+	@Autowired
+	private GameReplayServices replayServ;
+
+	@Autowired
+	private MatchmakingServices matchmakingServ;
+
+	@Autowired
+	private PresenceServices presenceServ;
+
 	@Autowired
 	private MoveUpdateSSEController moveUpdateSSEController;
+
+	private static final int MAX_MOVE_ATTEMPTS = 3;
+
+	/** Path color of the spectator view of a game. */
+	private static final String SPECTATE = "spectate";
+
+	@Value("${chesswithcats.games.archive-page-size:50}")
+	private int archivePageSize;
+
+	@Value("${chesswithcats.replay.max-positions:64}")
+	private int maxReplayPositions;
 	
 	/**
 	 * Generates and displays lists of games based on status of request (received
-	 * request, pending request, active games (accepted, unfinished) and completed
-	 * games) for display on the 'games' page.
+	 * request, pending request, random opponent sought, active games (accepted,
+	 * unfinished) and completed games) for display on the 'games' page. Completed
+	 * games are paged, older pages requested with the id of the last game shown
+	 * ('before').
 	 */
 	@GetMapping("/games")
-	public String showGamesPage(Model model, @AuthenticationPrincipal Player currentUser) {
+	public String showGamesPage(Model model, @AuthenticationPrincipal Player currentUser,
+			@RequestParam(name = "before", required = false) Long before) {
 
 		model.addAttribute("receivedList", gameServ.getReceivedGameRequestDTOs(currentUser.getUsername()));
 		model.addAttribute("pendingList", gameServ.getSentGameRequestDTOs(currentUser.getUsername()));
+		model.addAttribute("seekingList", matchmakingServ.getSeekingStyles(currentUser.getUsername()));
 		model.addAttribute("activeList", gameServ.getActiveGameDTOs(currentUser.getUsername()));
-		model.addAttribute("archiveList", gameServ.getCompletedGameDTOs(currentUser.getUsername()));
+		List<GameDTO> archiveList = gameServ.getCompletedGameDTOs(currentUser.getUsername(), before, archivePageSize);
+		model.addAttribute("archiveList", archiveList);
+		model.addAttribute("archiveNext", archiveList.size() == archivePageSize
+				? Long.valueOf(archiveList.get(archiveList.size() - 1).getId())
+				: null);
 
 		model.addAttribute("gameStyles", GameStyle.values());
 		model.addAttribute("friends", friendServ.getFriendUsernames(currentUser.getUsername()));
@@ -84,7 +120,7 @@ public class GameController {
 
 	/**
 	 * Creates new game request. Player able to select a friend from a drop down
-	 * menu, or select a 'random' player based on last login.
+	 * menu, or select a 'random' player, i.e., seek a game through matchmaking.
 	 */
 	@PostMapping("/gameRequest")
 	public String handleGameRequest(Model model, @ModelAttribute("gameReq") GameRequestDTO gameReq,
@@ -100,17 +136,12 @@ public class GameController {
 		}
 
 		if (gameReq.getOpponent().equals("1")) {
-
-			receiver = gameServ.findRandomOpponent(sender, gameReq.getStyle());
-
-			if (receiver == null) {
-				return "redirect:/games";
-			}
-
-		} else {
-			receiver = playerRepo.findByUsername(gameReq.getOpponent());
+			matchmakingServ.seek(sender, gameReq.getStyle());
+			return "redirect:/games";
 		}
 
+		receiver = playerRepo.findByUsername(gameReq.getOpponent());
+
 		newReq.setSender(sender);
 		newReq.setReceiver(receiver);
 		newReq.setStyle(gameReq.getStyle());
@@ -120,6 +151,17 @@ public class GameController {
 
 	}
 
+	/**
+	 * Stops seeking a random opponent for the given style.
+	 */
+	@PostMapping("/gameRequest/cancelSeek/{style}")
+	public String cancelSeek(@PathVariable GameStyle style, @AuthenticationPrincipal Player currentUser) {
+
+		matchmakingServ.cancel(currentUser.getUsername(), style);
+
+		return "redirect:/games";
+	}
+
 	/**
 	 * Decline game request (deletes record).
 	 */
@@ -175,19 +217,20 @@ public class GameController {
 
 	/**
 	 * Endpoint for entering a game, where the player will be redirected to their
-	 * appropriate color if they are part of the game, or if not, redirected to game
-	 * page.
+	 * appropriate color if they are part of the game, or if not, to the spectator
+	 * view. Redirected to games page if there is no such game.
 	 */
 	@GetMapping("/game/{style}/{id}")
 	public String retrieveGame(Model model, @PathVariable String style, @PathVariable String id,
 			@AuthenticationPrincipal Player currentUser) {
-		Game game = gameRepo.findById(Long.parseLong(id)).orElse(null);
+		Game game = gameCache.get(Long.parseLong(id));
 
 		if (game == null) {
 			return "redirect:/games";
 		} else {
-			String playerColor = game.getWhite().getUsername().equals(currentUser.getUsername()) ? "white" : "black";
-			return "redirect:/game/" + style.toLowerCase() + "/" + id + "/" + playerColor;
+			String playerColor = game.colorOf(currentUser.getUsername());
+			return "redirect:/game/" + style.toLowerCase() + "/" + id + "/"
+					+ (playerColor == null ? SPECTATE : playerColor);
 		}
 	}
 
@@ -195,20 +238,22 @@ public class GameController {
 	 * Final endpoint for entering the game. The color is interpreted by front end
 	 * to affect the way the board is displayed (from white or black player view).
 	 * Other model attributes included to direct game logic and info display, such
-	 * as who's turn it is.
+	 * as who's turn it is. Spectators (@Param color "spectate") view the board from
+	 * white's side, receive all moves and cannot move, resign or offer a draw.
 	 */
 	@GetMapping("/game/{style}/{id}/{color}")
 	public String enterGame(Model model, @PathVariable String style, @PathVariable String id,
 			@PathVariable String color, @AuthenticationPrincipal Player currentUser) throws JsonProcessingException {
 
-		Game game = gameRepo.findById(Long.parseLong(id)).orElse(null);
+		Game game = gameCache.get(Long.parseLong(id));
 		if (game == null || game.getWinner() != null) {
 			return "redirect:/games";
 		}
 
-		String playerColor = game.getWhite().getUsername().equals(currentUser.getUsername()) ? "white" : "black";
+		String playerColor = game.colorOf(currentUser.getUsername());
+		boolean spectator = playerColor == null;
 
-		if (!color.equals(playerColor)) {
+		if (!color.equals(spectator ? SPECTATE : playerColor)) {
 			return "redirect:/game/" + style + "/" + id;
 		}
 
@@ -216,17 +261,39 @@ public class GameController {
 		String pieceMapJson = objectMapper.writeValueAsString(game.getGamePlay().getGameBoard().getPieceMap());
 
 		model.addAttribute("pieceMapJson", pieceMapJson);
-		model.addAttribute("color", "render_" + playerColor);
+		model.addAttribute("color", "render_" + (spectator ? "white" : playerColor));
+		model.addAttribute("spectator", spectator);
 		model.addAttribute("turn", game.getGamePlay().getHalfMoves() % 2 == 0 ? "black-turn" : "white-turn");
 		model.addAttribute("whitePlayer", game.getWhite().getUsername());
 		model.addAttribute("blackPlayer", game.getBlack().getUsername());
-		model.addAttribute("whiteOnline", game.getWhite().isOnline());
-		model.addAttribute("blackOnline", game.getBlack().isOnline());
+		model.addAttribute("whiteOnline", presenceServ.isOnline(game.getWhite().getUsername()));
+		model.addAttribute("blackOnline", presenceServ.isOnline(game.getBlack().getUsername()));
 		model.addAttribute("moves", game.getGamePlay().getMoves().toString());
 
 		return "chessboard";
 	}
 
+	/**
+	 * AJAX for replaying a completed game of the current user: FEN of (up to)
+	 * count positions from the given half move on (1 = opening position). Not
+	 * found if no such game or position.
+	 */
+	@ResponseBody
+	@GetMapping("/game/replay/{id}")
+	public ResponseEntity<List<String>> replayGame(@PathVariable Long id,
+			@RequestParam(name = "from", defaultValue = "1") int from,
+			@RequestParam(name = "count", defaultValue = "1") int count,
+			@AuthenticationPrincipal Player currentUser) {
+
+		List<String> positions = replayServ.getPositions(id, currentUser.getUsername(), from,
+				Math.min(Math.max(count, 1), maxReplayPositions));
+
+		if (positions.isEmpty()) {
+			return new ResponseEntity<List<String>>(positions, HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<List<String>>(positions, HttpStatus.OK);
+	}
+
 	/**
 	 * AJAX for making a move, with move validation prior to acceptance of move.
 	 * Moves are filtered on the front end via javascript to only allow moves where
@@ -258,40 +325,97 @@ public class GameController {
 			@AuthenticationPrincipal Player currentUser) throws JsonProcessingException {
 
 		Long gameId = Long.parseLong(moveDTO.getGameId());
-		MoveResponseDTO moveResponseDTO = new MoveResponseDTO();
-		Game game = gameRepo.findById(gameId).get();
+		ResponseEntity<MoveResponseDTO> response = null;
+
+		for (int attempt = 0; response == null; attempt++) {
+			Game game = gameCache.get(gameId);
+
+			if (game == null || game.getWinner() != null) {
+				return new ResponseEntity<MoveResponseDTO>(new MoveResponseDTO(), HttpStatus.NOT_FOUND);
+			}
+
+			if (attempt == MAX_MOVE_ATTEMPTS) {
+				return new ResponseEntity<MoveResponseDTO>(new MoveResponseDTO(), HttpStatus.CONFLICT);
+			}
+
+			try {
+				// the game may have been evicted (and reloaded) while waiting for the lock: retry on the cached game
+				response = moveExecutor.execute(gameId,
+						() -> gameCache.getIfPresent(gameId) == game
+								? processMove(game, moveDTO, currentUser.getUsername())
+								: null);
+			} catch (ObjectOptimisticLockingFailureException e) {
+				// game updated elsewhere; reload on next request
+				gameCache.evict(gameId);
+				return new ResponseEntity<MoveResponseDTO>(new MoveResponseDTO(), HttpStatus.CONFLICT);
+			}
+		}
 		
-		if (game == null) {
-			return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.NOT_FOUND);
+		if (response.getStatusCode() != HttpStatus.OK) {
+			return response;
 		}
 		
+		MoveResponseDTO moveResponseDTO = response.getBody();
+
+		// pushed outside of the game lock, such that a slow subscriber does not delay the next move
+		ObjectMapper objectMapper = new ObjectMapper();
+		moveUpdateSSEController.sendMove(objectMapper.writeValueAsString(moveResponseDTO), moveDTO.getGameId(),
+				moveResponseDTO.getPlayerColor(), moveResponseDTO.getHalfMove());
+
+		return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.OK);
+	}
+
+	/**
+	 * Validates and applies the move against the current state of the game; called
+	 * while holding the game's lock, such that concurrent requests for the same game
+	 * (e.g., double click or retry) are processed one after another. Forbidden
+	 * unless @Param username is the player to move. A valid move
+	 * is journaled before it is applied to the game, and persisted by the next
+	 * flush of the active game cache (or synchronously if it ends the game).
+	 */
+	private ResponseEntity<MoveResponseDTO> processMove(Game game, MoveDTO moveDTO, String username) {
+		MoveResponseDTO moveResponseDTO = new MoveResponseDTO();
 		GamePlay gamePlay = game.getGamePlay();
+
+		// completed while waiting for the lock
+		if (gamePlay == null) {
+			return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.NOT_FOUND);
+		}
+
+		// spectators, and players out of turn
+		String colorToMove = gamePlay.getHalfMoves() % 2 == 1 ? "white" : "black";
+		if (!colorToMove.equals(game.colorOf(username))) {
+			return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.FORBIDDEN);
+		}
+
+		boolean isValidMove = game.getMoveValidator().validateMove(moveDTO, gamePlay);
 		
-		boolean isValidMove = game.getMoveValidator().validateMove(moveDTO, game.getGamePlay());
-		
-		if (game.getStyle() == GameStyle.AMBIGUOUS) {
-			if (isValidMove) {
-				gamePlay.setMoveAttempts(0);
-			} else {
+		if (!isValidMove) {
+			if (game.getStyle() == GameStyle.AMBIGUOUS) {
 				if (gamePlay.getMoveAttempts() <2) {
 					gamePlay.incrementMoveAttempts();
 				} else {
 					moveResponseDTO.setMoveNotation("XXX ");
 					gamePlay.setMoveAttempts(0);
 				}
+				// not journaled: attempts are durable once flushed (see MoveJournal)
+				gameCache.markDirty(game);
 			}
-			gamePlayRepo.save(gamePlay);
-		}
-
-		if (!isValidMove) {
 			return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.CONFLICT);
 		}
 		
-		moveResponseDTO = gameServ.updateGameState(game, moveDTO);
+		int halfMove = gamePlay.getHalfMoves();
 
-		ObjectMapper objectMapper = new ObjectMapper();
-		moveUpdateSSEController.sendMove(objectMapper.writeValueAsString(moveResponseDTO), moveDTO.getGameId(),
-				gamePlay.getHalfMoves() % 2 == 0 ? "white" : "black");
+		// on disk before the game is changed: a move failing to journal is neither applied nor acknowledged
+		gameCache.journalMove(game, halfMove, moveDTO, game.getMoveValidator().getActualEndPos());
+
+		if (game.getStyle() == GameStyle.AMBIGUOUS) {
+			gamePlay.setMoveAttempts(0);
+		}
+
+		moveResponseDTO = gameServ.updateGameState(game, moveDTO);
+		moveResponseDTO.setPlayerColor(halfMove % 2 == 1 ? "white" : "black");
+		moveResponseDTO.setHalfMove(halfMove);
 
 		return new ResponseEntity<MoveResponseDTO>(moveResponseDTO, HttpStatus.OK);
 	}
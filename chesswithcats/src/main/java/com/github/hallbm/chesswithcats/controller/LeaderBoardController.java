@@ -8,7 +8,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
-import com.github.hallbm.chesswithcats.service.GameServices;
+import com.github.hallbm.chesswithcats.service.LeaderboardServices;
 
 /**
  * Controller related to display of top 5 users for each style of game
@@ -19,16 +19,16 @@ import com.github.hallbm.chesswithcats.service.GameServices;
 public class LeaderBoardController {
 
 	@Autowired
-	GameServices gameServ;
+	LeaderboardServices leaderboardServ;
 	
 	@GetMapping("/leaderboard")
 	public String showLeaders(Model model) {
 		for (GameStyle gs : GameStyle.values()) {
-			List<Object []> ranking = gameServ.getTopPlayers(gs);
-			if (ranking == null) {
+			List<Object []> ranking = leaderboardServ.getTopPlayers(gs);
+			if (ranking.isEmpty()) {
 				continue;
 			}
-			model.addAttribute(gs.toString(), gameServ.getTopPlayers(gs));
+			model.addAttribute(gs.toString(), ranking);
 		}
 		return "leaderboard";
 	}
@@ -1,42 +1,73 @@
 package com.github.hallbm.chesswithcats.controller;
 
-import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.service.MoveBroadcaster;
+import com.github.hallbm.chesswithcats.service.MoveEventBus;
+import com.github.hallbm.chesswithcats.service.PresenceServices;
+
+/**
+ * Server-sent events of moves. Moves are published to the MoveEventBus, such
+ * that the node(s) holding subscriptions to the game deliver the move (via
+ * MoveBroadcaster), regardless of the node the move was posted to.
+ */
 @Controller
 public class MoveUpdateSSEController {
 
-	private final static long timeout_ms = 5 * 60 * 1000; // 5 min
-	ConcurrentHashMap<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+	@Autowired
+	private MoveEventBus moveEventBus;
+
+	@Autowired
+	private MoveBroadcaster moveBroadcaster;
+
+	@Autowired
+	private PresenceServices presenceServ;
 
+	/**
+	 * Subscription of a player (any number of devices) to the moves of
+	 * @Param playerColor, i.e., their opponent. On reconnect, the browser sends
+	 * the id of the last event received, and missed moves are replayed. The
+	 * player is kept online while connected.
+	 */
 	@GetMapping("/subscribe/{gameId}/{playerColor}")
-	public SseEmitter subscribe(@PathVariable String gameId, @PathVariable String playerColor) {
-		SseEmitter sseEmitter = new SseEmitter(timeout_ms);
-		try {
-			sseEmitter.send(SseEmitter.event().name("INIT"));
-		} catch (IOException e) {
-			e.printStackTrace();
+	public SseEmitter subscribe(@PathVariable String gameId, @PathVariable String playerColor,
+			@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+			@AuthenticationPrincipal Player currentUser) {
+
+		if (currentUser == null) {
+			return moveBroadcaster.subscribe(gameId, playerColor, lastEventId);
 		}
-		
-		emitters.put(gameId + playerColor, sseEmitter);
-		return sseEmitter;
+
+		String username = currentUser.getUsername();
+		presenceServ.connected(username);
+		return moveBroadcaster.subscribe(gameId, playerColor, lastEventId, () -> presenceServ.disconnected(username));
 	}
 
-	public void sendMove(String move, String gameId, String playerColor) {		
-		
-		if (emitters.containsKey(gameId + playerColor)) {
-			try {
-				emitters.get(gameId + playerColor).send(SseEmitter.event().name("move").data(move));
-			} catch (IOException e) {
-				emitters.remove(gameId + playerColor);
-			}
-		}
+	/**
+	 * Subscription of a spectator (see GameController.enterGame) to all moves of
+	 * the game.
+	 */
+	@GetMapping("/subscribe/{gameId}")
+	public SseEmitter spectate(@PathVariable String gameId,
+			@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+		return moveBroadcaster.subscribe(gameId, null, lastEventId);
+	}
 
+	/**
+	 * Publishes a move; @Param halfMove (half move number of the move) is the
+	 * event id used for replay, qualified by the epoch of the game's channel (see
+	 * MoveBroadcaster).
+	 */
+	public void sendMove(String move, String gameId, String playerColor, int halfMove) {
+		moveEventBus.publish(new MoveEventDTO(gameId, playerColor, move, (long) halfMove));
 	}
 
 }
@@ -6,10 +6,9 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
 import com.github.hallbm.chesswithcats.model.Player;
-import com.github.hallbm.chesswithcats.repository.FriendRequestRepository;
 import com.github.hallbm.chesswithcats.repository.GameRequestRepository;
+import com.github.hallbm.chesswithcats.service.FriendServices;
 
 /**
  * Controller related to general navigation through website that act as simple endpoints
@@ -22,7 +21,7 @@ public class NavigationController {
 	GameRequestRepository gameReqRepo;
 	
 	@Autowired
-	FriendRequestRepository friendReqRepo;
+	FriendServices friendServ;
 	
 	@GetMapping("/about")
 	public String getAboutSection(Model model) {
@@ -38,7 +37,7 @@ public class NavigationController {
 	public String getHomePage(Model model, @AuthenticationPrincipal Player currentUser) {
 		if (currentUser != null) {
 			model.addAttribute("username", currentUser.getUsername());
-			model.addAttribute("hasFriendRequests", friendReqRepo.existsByReceiverUsernameAndStatus(currentUser.getUsername(), FriendRequestStatus.PENDING));
+			model.addAttribute("hasFriendRequests", !friendServ.getReceivedFriendRequestUsernames(currentUser.getUsername()).isEmpty());
 			model.addAttribute("hasGameRequests", gameReqRepo.existsByReceiverUsername(currentUser.getUsername()));
 		}
 		
@@ -19,7 +19,9 @@ import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
 import com.github.hallbm.chesswithcats.model.Player;
 import com.github.hallbm.chesswithcats.repository.PlayerRepository;
 import com.github.hallbm.chesswithcats.service.GameServices;
+import com.github.hallbm.chesswithcats.service.PlayerSearchServices;
 import com.github.hallbm.chesswithcats.service.PlayerServices;
+import com.github.hallbm.chesswithcats.service.PresenceServices;
 
 import jakarta.transaction.Transactional;
 
@@ -39,6 +41,12 @@ public class ProfileController {
 	
 	@Autowired
 	GameServices gameServ;
+
+	@Autowired
+	PresenceServices presenceServ;
+
+	@Autowired
+	PlayerSearchServices playerSearchServ;
 	
 	/**
 	 * Displays the current users profile. Displays additional information than outside users can view.
@@ -97,7 +105,7 @@ public class ProfileController {
 		Map<GameStyle,Integer[]> matchResults = gameServ.getWinDrawLosePercentageByOpponents(currentUser.getUsername(), username);
 		model.addAttribute("matchResults", matchResults);
 
-		model.addAttribute("online", other.isOnline()); 
+		model.addAttribute("online", presenceServ.isOnline(other.getUsername()));
 		
 		return new ModelAndView("profile");
 	}
@@ -113,6 +121,7 @@ public class ProfileController {
 	public ModelAndView deleteAccount(Model model, @AuthenticationPrincipal Player currentUser) {
 		currentUser.setEnabled(false);
 		playerRepo.save(currentUser);
+		playerSearchServ.remove(currentUser.getUsername());
 		return new ModelAndView("redirect:/logout");
 	}
 	
@@ -21,6 +21,7 @@ import com.github.hallbm.chesswithcats.dto.PlayerRegistrationDTO;
 import com.github.hallbm.chesswithcats.model.Player;
 import com.github.hallbm.chesswithcats.repository.PlayerRepository;
 import com.github.hallbm.chesswithcats.service.PlayerServices;
+import com.github.hallbm.chesswithcats.service.PresenceServices;
 
 import jakarta.validation.Valid;
 
@@ -36,6 +37,9 @@ public class UserController {
 	@Autowired
 	private PlayerRepository playerRepo;
 
+	@Autowired
+	private PresenceServices presenceServ;
+
 	@GetMapping("/login")
 	public String loginPlayer(Model model, @AuthenticationPrincipal Player currentUser) {
 		if (currentUser != null) {
@@ -48,9 +52,9 @@ public class UserController {
 
 	@GetMapping("/login-success")
 	public String successfulLogin(@AuthenticationPrincipal Player currentUser) {
-		currentUser.setOnline(true);
 		currentUser.setLastLogin(LocalDateTime.now());
-		playerRepo.save(currentUser);
+		playerRepo.updateLastLogin(currentUser.getUsername(), currentUser.getLastLogin());
+		presenceServ.signIn(currentUser.getUsername());
 		return "redirect:/";
 	}
 
@@ -0,0 +1,374 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.Arrays;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceMovement;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+/**
+ * 64-bit bitboard representation of a chess board: one long per PieceNotation
+ * (including the 'obstructive' cat). Bit index corresponds to the
+ * PieceNotation[][] board as row * 8 + col, i.e., bit 0 = "A8" and bit 63 =
+ * "H1".
+ *
+ * Attack tables for knights, kings and pawns, ray tables for sliding pieces and
+ * 'between' masks are precomputed once, so that attack and occupancy tests are
+ * evaluated with a few mask operations rather than walking the board array.
+ * Cats are included in the total occupancy, and therefore block sliding pieces
+ * without any additional logic.
+ * 
+ * A BitBoard may be reused as a scratch position: load() overwrites it in place,
+ * and applyMove()/undoMove() update it in place using an int undo token, such
+ * that move validation requires no board copies.
+ */
+public class BitBoard {
+
+	private static final PieceNotation[] PIECES = PieceNotation.values();
+
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+	private static final long[] KING_ATTACKS = new long[64];
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+	/**
+	 * Rays in each straight/diagonal direction (excluding the origin square),
+	 * ordered as in PieceMovement.STRAIGHT and PieceMovement.DIAGONAL.
+	 */
+	private static final long[][] STRAIGHT_RAYS = new long[4][64];
+	private static final long[][] DIAGONAL_RAYS = new long[4][64];
+	private static final boolean[] STRAIGHT_RAY_ASCENDING = new boolean[4];
+	private static final boolean[] DIAGONAL_RAY_ASCENDING = new boolean[4];
+
+	/**
+	 * Squares strictly between two squares sharing a row, column or diagonal (0 if
+	 * not aligned).
+	 */
+	private static final long[][] BETWEEN = new long[64][64];
+
+	static {
+		for (int sq = 0; sq < 64; sq++) {
+			KNIGHT_ATTACKS[sq] = stepAttacks(sq, PieceMovement.KNIGHT.getMoves());
+			KING_ATTACKS[sq] = stepAttacks(sq, PieceMovement.OMNI.getMoves());
+			PAWN_ATTACKS[GameColor.WHITE.ordinal()][sq] = stepAttacks(sq, pawnCaptures(PieceMovement.WHITE_PAWN));
+			PAWN_ATTACKS[GameColor.BLACK.ordinal()][sq] = stepAttacks(sq, pawnCaptures(PieceMovement.BLACK_PAWN));
+		}
+
+		initRays(PieceMovement.STRAIGHT.getMoves(), STRAIGHT_RAYS, STRAIGHT_RAY_ASCENDING);
+		initRays(PieceMovement.DIAGONAL.getMoves(), DIAGONAL_RAYS, DIAGONAL_RAY_ASCENDING);
+
+		for (int from = 0; from < 64; from++) {
+			for (int[] dir : PieceMovement.OMNI.getMoves()) {
+				long path = 0L;
+				int row = getRow(from) + dir[0];
+				int col = getColumn(from) + dir[1];
+
+				while (isOnBoard(row, col)) {
+					BETWEEN[from][square(row, col)] = path;
+					path |= bit(square(row, col));
+					row += dir[0];
+					col += dir[1];
+				}
+			}
+		}
+	}
+
+	private final long[] pieces = new long[PIECES.length];
+	private final PieceNotation[] mailbox = new PieceNotation[64];
+
+	public BitBoard() {
+	}
+
+	/**
+	 * Generates bitboards from a PieceNotation[8][8] board.
+	 */
+	public static BitBoard fromBoard(PieceNotation[][] board) {
+		BitBoard bitBoard = new BitBoard();
+		bitBoard.load(board);
+		return bitBoard;
+	}
+
+	/**
+	 * Overwrites current bitboards with the pieces of a PieceNotation[8][8] board.
+	 */
+	public void load(PieceNotation[][] board) {
+		Arrays.fill(pieces, 0L);
+
+		for (int row = 0; row < 8; row++) {
+			for (int col = 0; col < 8; col++) {
+				int square = square(row, col);
+				mailbox[square] = board[row][col];
+
+				if (board[row][col] != null) {
+					pieces[board[row][col].ordinal()] |= bit(square);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the piece on the start square to the end square (replacing it with the
+	 * promotion piece, if not null), capturing any piece on the end square. A negative
+	 * end square removes the piece instead, e.g., for an en passant capture.
+	 * 
+	 * @return int undo token (start, end, moved and captured piece) for undoMove.
+	 */
+	public int applyMove(int from, int to, PieceNotation promotion) {
+		PieceNotation moved = mailbox[from];
+		removePiece(from);
+
+		if (to < 0) {
+			return encodeUndo(from, 64, moved, null);
+		}
+
+		PieceNotation captured = removePiece(to);
+		putPiece(to, promotion != null ? promotion : moved);
+		return encodeUndo(from, to, moved, captured);
+	}
+
+	/**
+	 * Reverts a move previously made by applyMove. Moves made in sequence must be
+	 * undone in reverse order.
+	 */
+	public void undoMove(int undo) {
+		int from = undo & 63;
+		int to = (undo >>> 6) & 127;
+		PieceNotation moved = decodePiece(undo >>> 13);
+		PieceNotation captured = decodePiece(undo >>> 17);
+
+		if (to != 64) {
+			removePiece(to);
+			if (captured != null) {
+				putPiece(to, captured);
+			}
+		}
+		putPiece(from, moved);
+	}
+
+	public void putPiece(int square, PieceNotation piece) {
+		mailbox[square] = piece;
+		pieces[piece.ordinal()] |= bit(square);
+	}
+
+	public PieceNotation removePiece(int square) {
+		PieceNotation piece = mailbox[square];
+
+		if (piece != null) {
+			pieces[piece.ordinal()] &= ~bit(square);
+			mailbox[square] = null;
+		}
+		return piece;
+	}
+
+	private static int encodeUndo(int from, int to, PieceNotation moved, PieceNotation captured) {
+		return from | (to << 6) | (encodePiece(moved) << 13) | (encodePiece(captured) << 17);
+	}
+
+	private static int encodePiece(PieceNotation piece) {
+		return piece == null ? 0 : piece.ordinal() + 1;
+	}
+
+	private static PieceNotation decodePiece(int code) {
+		code &= 15;
+		return code == 0 ? null : PIECES[code - 1];
+	}
+
+	/**
+	 * Square index helpers (index = row * 8 + col of PieceNotation[][] board).
+	 */
+	public static int square(int row, int col) {
+		return Square.of(row, col);
+	}
+
+	public static int getRow(int square) {
+		return Square.getRow(square);
+	}
+
+	public static int getColumn(int square) {
+		return Square.getColumn(square);
+	}
+
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	public long getPieces(PieceNotation piece) {
+		return pieces[piece.ordinal()];
+	}
+
+	public long getCats() {
+		return pieces[PieceNotation.C.ordinal()];
+	}
+
+	/**
+	 * Returns all squares occupied by pieces of the indicated color (cats for
+	 * GameColor.NEUTRAL).
+	 */
+	public long getOccupancy(GameColor color) {
+		if (color == GameColor.NEUTRAL) {
+			return getCats();
+		}
+
+		int offset = color == GameColor.WHITE ? 0 : 6;
+		long occupancy = 0L;
+
+		for (int i = offset; i < offset + 6; i++) {
+			occupancy |= pieces[i];
+		}
+		return occupancy;
+	}
+
+	/**
+	 * Returns all occupied squares, including cats.
+	 */
+	public long getOccupancy() {
+		long occupancy = 0L;
+
+		for (long p : pieces) {
+			occupancy |= p;
+		}
+		return occupancy;
+	}
+
+	/**
+	 * Returns the piece on the indicated square, or null if square is empty.
+	 */
+	public PieceNotation getPiece(int square) {
+		return mailbox[square];
+	}
+
+	/**
+	 * Returns the square of the king of the indicated color, or -1 if not found.
+	 */
+	public int getKingSquare(GameColor color) {
+		long king = pieces[(color == GameColor.WHITE ? PieceNotation.K : PieceNotation.k).ordinal()];
+		return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+	}
+
+	/**
+	 * Returns a mask of all pieces of the indicated color attacking the square.
+	 * Pawns are only counted for their diagonal captures.
+	 */
+	public long getAttackers(int square, GameColor attackerColor) {
+		boolean isWhite = attackerColor == GameColor.WHITE;
+		long occupancy = getOccupancy();
+
+		long rooksQueens = getPieces(isWhite ? PieceNotation.R : PieceNotation.r)
+				| getPieces(isWhite ? PieceNotation.Q : PieceNotation.q);
+		long bishopsQueens = getPieces(isWhite ? PieceNotation.B : PieceNotation.b)
+				| getPieces(isWhite ? PieceNotation.Q : PieceNotation.q);
+
+		// a pawn attacks this square if a pawn of the opposite color here would attack it
+		return (KNIGHT_ATTACKS[square] & getPieces(isWhite ? PieceNotation.N : PieceNotation.n))
+				| (KING_ATTACKS[square] & getPieces(isWhite ? PieceNotation.K : PieceNotation.k))
+				| (PAWN_ATTACKS[isWhite ? 1 : 0][square] & getPieces(isWhite ? PieceNotation.P : PieceNotation.p))
+				| (rookAttacks(square, occupancy) & rooksQueens) | (bishopAttacks(square, occupancy) & bishopsQueens);
+	}
+
+	/**
+	 * Checks whether any piece of the indicated color attacks the square.
+	 */
+	public boolean isAttacked(int square, GameColor attackerColor) {
+		return getAttackers(square, attackerColor) != 0;
+	}
+
+	/**
+	 * Checks whether all squares strictly between two aligned squares are empty.
+	 */
+	public boolean isPathClear(int from, int to) {
+		return (BETWEEN[from][to] & getOccupancy()) == 0;
+	}
+
+	/**
+	 * Precomputed attack lookups.
+	 */
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	public static long pawnAttacks(GameColor color, int square) {
+		return PAWN_ATTACKS[color.ordinal()][square];
+	}
+
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	public static long rookAttacks(int square, long occupancy) {
+		return slidingAttacks(square, occupancy, STRAIGHT_RAYS, STRAIGHT_RAY_ASCENDING);
+	}
+
+	public static long bishopAttacks(int square, long occupancy) {
+		return slidingAttacks(square, occupancy, DIAGONAL_RAYS, DIAGONAL_RAY_ASCENDING);
+	}
+
+	public static long queenAttacks(int square, long occupancy) {
+		return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+	}
+
+	/**
+	 * Each ray is cut at the first blocker (nearest set bit in the direction of the
+	 * ray); the blocking square itself remains attacked.
+	 */
+	private static long slidingAttacks(int square, long occupancy, long[][] rays, boolean[] ascending) {
+		long attacks = 0L;
+
+		for (int dir = 0; dir < 4; dir++) {
+			long ray = rays[dir][square];
+			long blockers = ray & occupancy;
+
+			if (blockers != 0) {
+				int blocker = ascending[dir] ? Long.numberOfTrailingZeros(blockers)
+						: 63 - Long.numberOfLeadingZeros(blockers);
+				ray ^= rays[dir][blocker];
+			}
+			attacks |= ray;
+		}
+		return attacks;
+	}
+
+	private static boolean isOnBoard(int row, int col) {
+		return row >= 0 && row <= 7 && col >= 0 && col <= 7;
+	}
+
+	private static long stepAttacks(int square, int[][] moves) {
+		long attacks = 0L;
+
+		for (int[] move : moves) {
+			int row = getRow(square) + move[0];
+			int col = getColumn(square) + move[1];
+
+			if (isOnBoard(row, col)) {
+				attacks |= bit(square(row, col));
+			}
+		}
+		return attacks;
+	}
+
+	private static int[][] pawnCaptures(PieceMovement pawn) {
+		return Arrays.stream(pawn.getMoves()).filter(move -> Math.abs(move[1]) == 1).toArray(int[][]::new);
+	}
+
+	private static void initRays(int[][] directions, long[][] rays, boolean[] ascending) {
+		for (int dir = 0; dir < directions.length; dir++) {
+			int[] d = directions[dir];
+			ascending[dir] = d[0] * 8 + d[1] > 0;
+
+			for (int sq = 0; sq < 64; sq++) {
+				long ray = 0L;
+				int row = getRow(sq) + d[0];
+				int col = getColumn(sq) + d[1];
+
+				while (isOnBoard(row, col)) {
+					ray |= bit(square(row, col));
+					row += d[0];
+					col += d[1];
+				}
+				rays[dir][sq] = ray;
+			}
+		}
+	}
+}
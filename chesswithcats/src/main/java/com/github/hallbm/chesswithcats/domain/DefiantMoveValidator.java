@@ -1,7 +1,6 @@
 package com.github.hallbm.chesswithcats.domain;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -15,45 +14,61 @@ import com.github.hallbm.chesswithcats.service.GameBoardServices;
 
 public class DefiantMoveValidator extends MoveValidator {
 
+	private final Random random = new Random();
+
 	private boolean isDefiant;
 	private String newEndPos;
+	private String recordedEndPos;
+
+	public DefiantMoveValidator() {
+		// defiance shifts the piece on a copy of the board after validation
+		isInPlaceValidation = false;
+	}
 	
 	@Override
 	public void setup(MoveDTO moveDTO, GamePlay gamePlay) {
-		this.moveDTO = moveDTO;
-		this.gamePlay = gamePlay;
-
-		chessMoves.clear();
-		pieceMoves.clear();
-		movedPiece = null;
-
-		enPassantSquare = gamePlay.getEnPassantTargetSquare();
-		mockBoard = gamePlay.getGameBoard().getBoard();
-		isWhiteMove = gamePlay.getHalfMoves() % 2 == 1;
+		super.setup(moveDTO, gamePlay);
 
 		// additional code
 		isDefiant = false;
 		newEndPos = null;
 	}
+
+	/**
+	 * The next validation replays the recorded outcome (actual end square, e.g.,
+	 * of a journaled move) instead of drawing whether and where the piece defies.
+	 */
+	@Override
+	public void setRecordedEndPos(String endPos) {
+		recordedEndPos = endPos;
+	}
+
+	@Override
+	public String getActualEndPos() {
+		return isDefiant ? newEndPos : moveDTO.getEndPos();
+	}
 	
 	@Override
 	public boolean validateMove(MoveDTO moveDTO, GamePlay gamePlay) {
+		String recorded = recordedEndPos;
+		recordedEndPos = null;
 		setup(moveDTO, gamePlay);
 
 		// unpack fields and derive relevant info
-		int[] start = GameBoardServices.getCoordinates(moveDTO.getStartPos());
-		int[] end = GameBoardServices.getCoordinates(moveDTO.getEndPos());
-		int rowDisp = -1 * (end[0] - start[0]);
-		int colDisp = 1 * (end[1] - start[1]);
+		int start = Square.of(moveDTO.getStartPos());
+		int end = Square.of(moveDTO.getEndPos());
+		int rowDisp = -1 * (Square.getRow(end) - Square.getRow(start));
+		int colDisp = 1 * (Square.getColumn(end) - Square.getColumn(start));
 
-		movedPiece = mockBoard[start[0]][start[1]];
-		PieceNotation occupyingPiece = mockBoard[end[0]][end[1]];
-		boolean isAttack = isAttack(movedPiece, occupyingPiece);
+		movedPiece = bitBoard.getPiece(start);
+		PieceNotation occupyingPiece = bitBoard.getPiece(end);
 
 		// validation of MoveDTO
-		if (Arrays.equals(start, end))
+		if (start == end || movedPiece == null)
 			return false;
 
+		boolean isAttack = isAttack(movedPiece, occupyingPiece);
+
 		if (!isValidTurn(isWhiteMove, movedPiece))
 			return false;
 
@@ -64,7 +79,7 @@ public class DefiantMoveValidator extends MoveValidator {
 			if (!("RNBQrnbq".contains(moveDTO.getPromotionPiece())))
 				return false;
 
-			if (!(isWhiteMove ? end[0] == 0 : end[0] == 7))
+			if (!(isWhiteMove ? Square.getRow(end) == 0 : Square.getRow(end) == 7))
 				return false;
 		}
 
@@ -91,8 +106,8 @@ public class DefiantMoveValidator extends MoveValidator {
 				return false;
 			break;
 		case KING:
-			if (!isValidKingMove(mockBoard, moveDTO.getStartPos(), moveDTO.getEndPos(), start, rowDisp, colDisp,
-					isAttack, isWhiteMove, gamePlay.getCastling()))
+			if (!isValidKingMove(mockBoard, start, end, rowDisp, colDisp, isAttack, isWhiteMove,
+					gamePlay.getCastling()))
 				return false;
 			break;
 		default:
@@ -111,13 +126,18 @@ public class DefiantMoveValidator extends MoveValidator {
 			if (isKingInCheck(mockBoard, end, movedPiece.getColor()))
 				return false;
 		} else {
-			if (isKingInCheck(mockBoard, findKing(mockBoard, isWhiteMove), movedPiece.getColor()))
+			if (isKingInCheck(mockBoard, findKingSquare(mockBoard, isWhiteMove), movedPiece.getColor()))
 				return false;
 		}
 
 		// addition to method; after move is validated, determine if position shift
-		if (!gamePlay.getIsInCheck() || moveDTO.getPromotionPiece() != null || chessMoves.contains(ChessMove.EN_PASSANT_CAPTURE)) {
-			if (new Random().nextInt(2) == 0) {
+		if (recorded != null) {
+			if (Square.of(recorded) != end) {
+				defy(gamePlay.getGameBoard().getBoard(), movedPiece, start, Square.getRow(recorded),
+						Square.getColumn(recorded));
+			}
+		} else if (!gamePlay.getIsInCheck() || moveDTO.getPromotionPiece() != null || chessMoves.contains(ChessMove.EN_PASSANT_CAPTURE)) {
+			if (random.nextInt(2) == 0) {
 				attemptDefiance(gamePlay.getGameBoard().getBoard(), mockBoard, movedPiece, start, end);
 			}
 		}
@@ -125,13 +145,12 @@ public class DefiantMoveValidator extends MoveValidator {
 		return true;
 	}
 
-	protected void attemptDefiance(PieceNotation[][] actualBoard, PieceNotation[][] mockBoard, PieceNotation movedPiece, int[] start, int[] end) {
-		Random random = new Random();
+	protected void attemptDefiance(PieceNotation[][] actualBoard, PieceNotation[][] mockBoard, PieceNotation movedPiece, int start, int end) {
 		GameColor color = movedPiece.getColor();
-		int origEndRow = end[0];
-		int origEndCol = end[1];
-		int startRow = start[0];
-		int startCol = start[1];
+		int origEndRow = Square.getRow(end);
+		int origEndCol = Square.getColumn(end);
+		int startRow = Square.getRow(start);
+		int startCol = Square.getColumn(start);
 		
 		List<int[]> offsets = new ArrayList<>(List.of(new int[] { -1, -1 }, new int[] { -1, 0 }, new int[] { -1, 1 },
 				new int[] { 0, -1 }, new int[] { 0, 1 }, new int[] { 1, -1 }, new int[] { 1, 0 }, new int[] { 1, 1 }));
@@ -171,7 +190,7 @@ public class DefiantMoveValidator extends MoveValidator {
 				} 
 				break;
 			} else {
-				if (isKingInCheck(mockBoard, findKing(mockBoard, color == GameColor.WHITE), color)) {
+				if (isKingInCheck(mockBoard, findKingSquare(mockBoard, color == GameColor.WHITE), color)) {
 					newEndPiece = actualBoard[newEndRow][newEndCol];
 					continue;
 				} 
@@ -183,33 +202,44 @@ public class DefiantMoveValidator extends MoveValidator {
 			// reset if no valid moves available
 			mockBoard[origEndRow][origEndCol] = movedPiece;
 		} else {
-			isDefiant = true;
-			
-			String startPos = GameBoardServices.getPosition(start[0], start[1]);
-			newEndPos = GameBoardServices.getPosition(newEndRow, newEndCol);
-			
-			pieceMoves.remove(pieceMoves.size() - 1);
-			pieceMoves.add(new String[] { startPos, newEndPos });
-			
-			if (actualBoard[newEndRow][newEndCol] == null) {
-				chessMoves.remove(ChessMove.CAPTURE);
-			} else {
-				chessMoves.add(ChessMove.CAPTURE);
-			}
-			
-			if(movedPiece.getType() == PieceType.PAWN) {
-				if(chessMoves.contains(ChessMove.PAWN_INITIAL_DOUBLE)) {
-					chessMoves.remove(ChessMove.PAWN_INITIAL_DOUBLE);
-					enPassantSquare = "";
-				} else if (startCol == newEndCol && startRow == (color == GameColor.WHITE ? 6 : 1) && newEndRow == (color == GameColor.WHITE ? 4 : 3)) {
-					chessMoves.add(ChessMove.PAWN_INITIAL_DOUBLE);
-					enPassantSquare = GameBoardServices.getPosition(color == GameColor.WHITE ? 5 : 2, start[1]);
-				}
-			}
+			defy(actualBoard, movedPiece, start, newEndRow, newEndCol);
 		}
 
 	}
 
+	/**
+	 * Shifts the validated move of @Param movedPiece to the adjacent square chosen.
+	 */
+	private void defy(PieceNotation[][] actualBoard, PieceNotation movedPiece, int start, int newEndRow, int newEndCol) {
+		GameColor color = movedPiece.getColor();
+		int startRow = Square.getRow(start);
+		int startCol = Square.getColumn(start);
+
+		isDefiant = true;
+
+		String startPos = Square.getName(startRow, startCol);
+		newEndPos = Square.getName(newEndRow, newEndCol);
+		
+		pieceMoves.remove(pieceMoves.size() - 1);
+		pieceMoves.add(new String[] { startPos, newEndPos });
+		
+		if (actualBoard[newEndRow][newEndCol] == null) {
+			chessMoves.remove(ChessMove.CAPTURE);
+		} else {
+			chessMoves.add(ChessMove.CAPTURE);
+		}
+		
+		if(movedPiece.getType() == PieceType.PAWN) {
+			if(chessMoves.contains(ChessMove.PAWN_INITIAL_DOUBLE)) {
+				chessMoves.remove(ChessMove.PAWN_INITIAL_DOUBLE);
+				enPassantSquare = "";
+			} else if (startCol == newEndCol && startRow == (color == GameColor.WHITE ? 6 : 1) && newEndRow == (color == GameColor.WHITE ? 4 : 3)) {
+				chessMoves.add(ChessMove.PAWN_INITIAL_DOUBLE);
+				enPassantSquare = Square.getName(color == GameColor.WHITE ? 5 : 2, startCol);
+			}
+		}
+	}
+
 	@Override 
 	// modified to document original move and actual move in case of defiance;
 	public String generateOfficialMove() {
@@ -0,0 +1,36 @@
+package com.github.hallbm.chesswithcats.domain;
+
+/**
+ * Elo rating update: a player's rating moves by K times the difference between
+ * the actual score of a game (1 win, 0.5 draw, 0 loss) and the expected score
+ * against the opponent's rating. Players with fewer than provisionalGames rated
+ * games use the larger provisionalK, such that new ratings converge quickly.
+ */
+public class EloRating {
+
+	private final int k;
+	private final int provisionalK;
+	private final int provisionalGames;
+
+	public EloRating(int k, int provisionalK, int provisionalGames) {
+		this.k = k;
+		this.provisionalK = provisionalK;
+		this.provisionalGames = provisionalGames;
+	}
+
+	/**
+	 * Expected score (0 to 1) of a player against an opponent.
+	 */
+	public static double expectedScore(int rating, int opponentRating) {
+		return 1.0 / (1.0 + Math.pow(10.0, (opponentRating - rating) / 400.0));
+	}
+
+	/**
+	 * New rating of a player with the given number of rated games prior to this
+	 * game.
+	 */
+	public int update(int rating, int games, int opponentRating, double score) {
+		int factor = games < provisionalGames ? provisionalK : k;
+		return (int) Math.round(rating + factor * (score - expectedScore(rating, opponentRating)));
+	}
+}
@@ -0,0 +1,207 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceType;
+import com.github.hallbm.chesswithcats.service.GameBoardServices;
+
+/**
+ * Replays a game from a FEN position and the extended notation move string (as
+ * generated by MoveValidator.generateOfficialMove), one half move at a time.
+ *
+ * Moves are parsed lazily from the offset of the next move, such that a replay
+ * can be resumed from any FEN and offset recorded along the way (keyframe).
+ * Board, castling rights, en passant square and fifty move clock are updated as
+ * by GameServices.updateGameState, such that the FEN of each position equals
+ * the FEN recorded while the game was played. Defiant moves are replayed to
+ * the square the piece actually went to.
+ */
+public class GameReplay {
+
+	/**
+	 * Optional move number; castling (king defying to a square) or piece, start,
+	 * capture, end, actual end of a defiant move, en passant, promotion; check or
+	 * checkmate.
+	 */
+	private static final Pattern MOVE = Pattern.compile("\\s*(?:\\d+\\.)?(?:(O-O(?:-O)?)(?:\\*[Kk]([a-h][1-8]))?"
+			+ "|([RNBQKPrnbqkp])([a-h][1-8])(x?)([a-h][1-8])(?:\\*([a-h][1-8]))?(ep)?(?:=([RNBQrnbq]))?)\\+?#?");
+
+	private final PieceNotation[][] board = new PieceNotation[8][8];
+	private final String moves;
+	private final Matcher matcher;
+	private int offset;
+
+	private int halfMoves;
+	private String castling;
+	private String enPassantSquare;
+	private int fiftyMoveClock;
+
+	/**
+	 * Replay of @Param moves from @Param offset, the position after the preceding
+	 * moves being @Param fen.
+	 */
+	public GameReplay(String fen, String moves, int offset) {
+		this.moves = moves == null ? "" : moves;
+		this.matcher = MOVE.matcher(this.moves);
+		this.offset = offset;
+		load(fen);
+	}
+
+	public GameReplay(String openingFen, String moves) {
+		this(openingFen, moves, 0);
+	}
+
+	public boolean hasNext() {
+		int index = offset;
+
+		while (index < moves.length() && Character.isWhitespace(moves.charAt(index))) {
+			index++;
+		}
+		return index < moves.length();
+	}
+
+	/**
+	 * Applies the next half move; throws IllegalStateException if there is none,
+	 * or it cannot be read.
+	 */
+	public void next() {
+		if (!hasNext() || !matcher.region(offset, moves.length()).lookingAt()) {
+			throw new IllegalStateException("No readable move at offset " + offset + " of " + moves);
+		}
+
+		boolean isWhiteMove = halfMoves % 2 == 1;
+
+		if (matcher.group(1) != null) {
+			castle(isWhiteMove, matcher.group(1).length() == 3, matcher.group(2));
+		} else {
+			move(PieceNotation.valueOf(matcher.group(3)), Square.of(matcher.group(4)), !matcher.group(5).isEmpty(),
+					Square.of(matcher.group(6)), matcher.group(7) == null ? -1 : Square.of(matcher.group(7)),
+					matcher.group(8) != null, matcher.group(9));
+		}
+
+		offset = matcher.end();
+		halfMoves++;
+	}
+
+	/**
+	 * Applies half moves until the position at @Param ply (1 = opening position),
+	 * or the end of the game; returns whether the position was reached.
+	 */
+	public boolean advanceTo(int ply) {
+		while (halfMoves < ply && hasNext()) {
+			next();
+		}
+		return halfMoves == ply;
+	}
+
+	/**
+	 * Half move to be played in the current position (1 = opening position).
+	 */
+	public int getHalfMoves() {
+		return halfMoves;
+	}
+
+	/**
+	 * Offset of the next move in the move string.
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	public String getFen() {
+		return GameBoardServices.getFenPositions(board) + " " + (halfMoves % 2 == 1 ? "w" : "b") + " "
+				+ (castling == null ? "-" : castling) + " " + (enPassantSquare == null ? "-" : enPassantSquare) + " "
+				+ fiftyMoveClock + " " + ((halfMoves - 1) / 2 + 1);
+	}
+
+	public PieceNotation[][] getBoard() {
+		return GameBoardServices.copyBoard(board);
+	}
+
+	private void castle(boolean isWhiteMove, boolean isKingSide, String defiedTo) {
+		int row = isWhiteMove ? 7 : 0;
+		int kingEnd = defiedTo == null ? Square.of(row, isKingSide ? 6 : 2) : Square.of(defiedTo);
+
+		// as evaluated by the validator, prior to moving the rook
+		boolean isCapture = board[Square.getRow(kingEnd)][Square.getColumn(kingEnd)] != null;
+
+		board[row][isKingSide ? 5 : 3] = board[row][isKingSide ? 7 : 0];
+		board[row][isKingSide ? 7 : 0] = null;
+
+		PieceNotation king = board[row][4];
+		board[row][4] = null;
+		board[Square.getRow(kingEnd)][Square.getColumn(kingEnd)] = king;
+
+		removeCastling(isWhiteMove ? "K" : "k");
+		removeCastling(isWhiteMove ? "Q" : "q");
+		enPassantSquare = "";
+		fiftyMoveClock = isCapture ? 0 : fiftyMoveClock + 1;
+	}
+
+	private void move(PieceNotation piece, int start, boolean isCapture, int end, int defiedTo, boolean isEnPassant,
+			String promotionPiece) {
+		int actualEnd = defiedTo < 0 ? end : defiedTo;
+
+		if (isEnPassant) {
+			board[Square.getRow(start)][Square.getColumn(end)] = null;
+		}
+
+		board[Square.getRow(start)][Square.getColumn(start)] = null;
+		board[Square.getRow(actualEnd)][Square.getColumn(actualEnd)] = promotionPiece == null ? piece
+				: PieceNotation.valueOf(promotionPiece);
+
+		if (piece.getType() == PieceType.KING) {
+			removeCastling(piece == PieceNotation.K ? "K" : "k");
+			removeCastling(piece == PieceNotation.K ? "Q" : "q");
+		} else if (piece.getType() == PieceType.ROOK) {
+			switch (Square.getName(start)) {
+			case "A1" -> removeCastling("Q");
+			case "H1" -> removeCastling("K");
+			case "A8" -> removeCastling("q");
+			case "H8" -> removeCastling("k");
+			}
+		}
+
+		boolean isPawnMove = piece.getType() == PieceType.PAWN;
+		boolean isDoublePush = isPawnMove && Square.getColumn(start) == Square.getColumn(actualEnd)
+				&& Math.abs(Square.getRow(start) - Square.getRow(actualEnd)) == 2;
+
+		enPassantSquare = isDoublePush
+				? Square.getName((Square.getRow(start) + Square.getRow(actualEnd)) / 2, Square.getColumn(start))
+				: "";
+		fiftyMoveClock = isCapture || isPawnMove ? 0 : fiftyMoveClock + 1;
+	}
+
+	private void removeCastling(String castle) {
+		if (castling != null) {
+			castling = castling.replace(castle, "");
+			castling = castling.isEmpty() ? null : castling;
+		}
+	}
+
+	/**
+	 * Reads a FEN as written by GamePlay.updateFenSet: squares in order from A8,
+	 * side to move, castling rights, en passant square, fifty move clock and move
+	 * number.
+	 */
+	private void load(String fen) {
+		String[] fields = fen.split(" ", -1);
+		int square = 0;
+
+		for (char c : fields[0].toCharArray()) {
+			if (Character.isDigit(c)) {
+				square += c - '0';
+			} else if (c != '/') {
+				board[Square.getRow(square)][Square.getColumn(square)] = PieceNotation.valueOf(String.valueOf(c));
+				square++;
+			}
+		}
+
+		castling = fields[2].equals("-") ? null : fields[2];
+		enPassantSquare = fields[3].equals("-") ? null : fields[3];
+		fiftyMoveClock = Integer.parseInt(fields[4]);
+		halfMoves = (Integer.parseInt(fields[5]) - 1) * 2 + (fields[1].equals("w") ? 1 : 2);
+	}
+}
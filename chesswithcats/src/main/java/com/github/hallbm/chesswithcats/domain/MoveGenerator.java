@@ -0,0 +1,282 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+/**
+ * Pseudo-legal and legal move generation on a Position, using BitBoard attack
+ * tables. Moves are written as PackedMove ints into a caller supplied array
+ * (MAX_MOVES is sufficient for any position).
+ *
+ * Rules are shared by all game styles: cats (present in 'obstructive' games)
+ * occupy squares, block sliding pieces and cannot be captured. In addition,
+ * 'obstructive' pawns may jump over a cat directly ahead of them onto an
+ * empty square. 'Defiant' games shift the piece after a move has been
+ * validated, and therefore generate the same moves as classic chess.
+ *
+ * Generators are stateless apart from the game style (see forStyle), and can be
+ * shared across threads; the Position is not.
+ */
+public class MoveGenerator {
+
+	public static final int MAX_MOVES = 256;
+
+	private static final Map<GameStyle, MoveGenerator> GENERATORS = new EnumMap<>(GameStyle.class);
+
+	static {
+		for (GameStyle style : GameStyle.values()) {
+			GENERATORS.put(style, new MoveGenerator(style));
+		}
+	}
+
+	private static final PieceNotation[] WHITE_PROMOTIONS = { PieceNotation.Q, PieceNotation.R, PieceNotation.B,
+			PieceNotation.N };
+	private static final PieceNotation[] BLACK_PROMOTIONS = { PieceNotation.q, PieceNotation.r, PieceNotation.b,
+			PieceNotation.n };
+
+	private final boolean isCatJumpAllowed;
+
+	public MoveGenerator(GameStyle style) {
+		isCatJumpAllowed = style == GameStyle.OBSTRUCTIVE;
+	}
+
+	public static MoveGenerator forStyle(GameStyle style) {
+		return GENERATORS.get(style);
+	}
+
+	/**
+	 * Generates moves following piece movement rules without evaluating whether
+	 * the player's own king is left in check. Returns number of moves written.
+	 */
+	public int generatePseudoLegalMoves(Position position, int[] moves) {
+		BitBoard bitBoard = position.getBitBoard();
+		GameColor color = position.getSideToMove();
+		boolean isWhite = color == GameColor.WHITE;
+
+		long enemy = bitBoard.getOccupancy(position.getOpponent());
+		long occupancy = bitBoard.getOccupancy();
+		long targets = ~occupancy | enemy;
+		int count = 0;
+
+		long knights = bitBoard.getPieces(isWhite ? PieceNotation.N : PieceNotation.n);
+		while (knights != 0) {
+			int from = Long.numberOfTrailingZeros(knights);
+			knights &= knights - 1;
+			count = addMoves(moves, count, from, BitBoard.knightAttacks(from) & targets, enemy);
+		}
+
+		long bishops = bitBoard.getPieces(isWhite ? PieceNotation.B : PieceNotation.b);
+		while (bishops != 0) {
+			int from = Long.numberOfTrailingZeros(bishops);
+			bishops &= bishops - 1;
+			count = addMoves(moves, count, from, BitBoard.bishopAttacks(from, occupancy) & targets, enemy);
+		}
+
+		long rooks = bitBoard.getPieces(isWhite ? PieceNotation.R : PieceNotation.r);
+		while (rooks != 0) {
+			int from = Long.numberOfTrailingZeros(rooks);
+			rooks &= rooks - 1;
+			count = addMoves(moves, count, from, BitBoard.rookAttacks(from, occupancy) & targets, enemy);
+		}
+
+		long queens = bitBoard.getPieces(isWhite ? PieceNotation.Q : PieceNotation.q);
+		while (queens != 0) {
+			int from = Long.numberOfTrailingZeros(queens);
+			queens &= queens - 1;
+			count = addMoves(moves, count, from, BitBoard.queenAttacks(from, occupancy) & targets, enemy);
+		}
+
+		int kingSquare = bitBoard.getKingSquare(color);
+		if (kingSquare >= 0) {
+			count = addMoves(moves, count, kingSquare, BitBoard.kingAttacks(kingSquare) & targets, enemy);
+			count = addCastlingMoves(position, moves, count, kingSquare, occupancy);
+		}
+
+		count = addPawnMoves(position, moves, count, occupancy, enemy);
+
+		return count;
+	}
+
+	/**
+	 * Generates legal moves, i.e., pseudo-legal moves which do not leave the
+	 * player's own king in check. Returns number of moves written.
+	 */
+	public int generateLegalMoves(Position position, int[] moves) {
+		int pseudoLegalCount = generatePseudoLegalMoves(position, moves);
+		int count = 0;
+
+		for (int i = 0; i < pseudoLegalCount; i++) {
+			if (isLegal(position, moves[i])) {
+				moves[count++] = moves[i];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Whether a pseudo-legal move leaves the player's own king out of check.
+	 */
+	public boolean isLegal(Position position, int move) {
+		position.makeMove(move);
+		boolean isLegal = !position.isOpponentInCheck();
+		position.unmakeMove();
+		return isLegal;
+	}
+
+	/**
+	 * Whether the side to move has any legal move; evaluation of checkmate and
+	 * stalemate. Stops at the first legal move found.
+	 */
+	public boolean hasLegalMove(Position position) {
+		return hasLegalMove(position, new int[MAX_MOVES]);
+	}
+
+	/**
+	 * As hasLegalMove(Position), generating into a caller supplied (reused) array.
+	 */
+	public boolean hasLegalMove(Position position, int[] moves) {
+		int count = generatePseudoLegalMoves(position, moves);
+
+		for (int i = 0; i < count; i++) {
+			if (isLegal(position, moves[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Performance test: number of leaf nodes of the legal move tree to the
+	 * indicated depth. Used to verify move generation against known node counts.
+	 */
+	public long perft(Position position, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+
+		int[] moves = new int[MAX_MOVES];
+		int count = generateLegalMoves(position, moves);
+
+		if (depth == 1) {
+			return count;
+		}
+
+		long nodes = 0;
+		for (int i = 0; i < count; i++) {
+			position.makeMove(moves[i]);
+			nodes += perft(position, depth - 1);
+			position.unmakeMove();
+		}
+		return nodes;
+	}
+
+	private int addMoves(int[] moves, int count, int from, long destinations, long enemy) {
+		while (destinations != 0) {
+			int to = Long.numberOfTrailingZeros(destinations);
+			destinations &= destinations - 1;
+			moves[count++] = PackedMove.of(from, to, (enemy & BitBoard.bit(to)) != 0 ? PackedMove.CAPTURE : PackedMove.QUIET);
+		}
+		return count;
+	}
+
+	private int addPawnMoves(Position position, int[] moves, int count, long occupancy, long enemy) {
+		BitBoard bitBoard = position.getBitBoard();
+		GameColor color = position.getSideToMove();
+		boolean isWhite = color == GameColor.WHITE;
+		int forward = isWhite ? -8 : 8;
+		int initialRow = isWhite ? 6 : 1;
+		int enPassantSquare = position.getEnPassantSquare();
+		long cats = bitBoard.getCats();
+
+		long pawns = bitBoard.getPieces(isWhite ? PieceNotation.P : PieceNotation.p);
+		while (pawns != 0) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+
+			int single = from + forward;
+			if (single < 0 || single > 63) {
+				continue;
+			}
+
+			if ((occupancy & BitBoard.bit(single)) == 0) {
+				count = addPawnMove(moves, count, from, single, PackedMove.QUIET, isWhite);
+
+				int twoAhead = single + forward;
+				if (Square.getRow(from) == initialRow && (occupancy & BitBoard.bit(twoAhead)) == 0) {
+					moves[count++] = PackedMove.of(from, twoAhead, PackedMove.DOUBLE_PUSH);
+				}
+			} else if (isCatJumpAllowed && (cats & BitBoard.bit(single)) != 0) {
+				int twoAhead = single + forward;
+				if (twoAhead >= 0 && twoAhead < 64 && (occupancy & BitBoard.bit(twoAhead)) == 0) {
+					count = addPawnMove(moves, count, from, twoAhead, PackedMove.CAT_JUMP, isWhite);
+				}
+			}
+
+			long captures = BitBoard.pawnAttacks(color, from);
+			long enemyCaptures = captures & enemy;
+			while (enemyCaptures != 0) {
+				int to = Long.numberOfTrailingZeros(enemyCaptures);
+				enemyCaptures &= enemyCaptures - 1;
+				count = addPawnMove(moves, count, from, to, PackedMove.CAPTURE, isWhite);
+			}
+
+			if (enPassantSquare >= 0 && (captures & BitBoard.bit(enPassantSquare)) != 0
+					&& (occupancy & BitBoard.bit(enPassantSquare)) == 0) {
+				moves[count++] = PackedMove.of(from, enPassantSquare, PackedMove.CAPTURE | PackedMove.EN_PASSANT);
+			}
+		}
+		return count;
+	}
+
+	private int addPawnMove(int[] moves, int count, int from, int to, int flags, boolean isWhite) {
+		int row = Square.getRow(to);
+
+		if (row == 0 || row == 7) {
+			for (PieceNotation promotion : isWhite ? WHITE_PROMOTIONS : BLACK_PROMOTIONS) {
+				moves[count++] = PackedMove.of(from, to, promotion, flags);
+			}
+		} else {
+			moves[count++] = PackedMove.of(from, to, flags);
+		}
+		return count;
+	}
+
+	/**
+	 * Castling requires castling rights, empty squares between king and rook, and
+	 * that the king is not in check and does not pass through an attacked square
+	 * (the destination square is evaluated by the legality test).
+	 */
+	private int addCastlingMoves(Position position, int[] moves, int count, int kingSquare, long occupancy) {
+		BitBoard bitBoard = position.getBitBoard();
+		boolean isWhite = position.getSideToMove() == GameColor.WHITE;
+		int row = isWhite ? 7 : 0;
+		int castling = position.getCastling();
+		int kingSide = isWhite ? Position.WHITE_KING_SIDE : Position.BLACK_KING_SIDE;
+		int queenSide = isWhite ? Position.WHITE_QUEEN_SIDE : Position.BLACK_QUEEN_SIDE;
+		PieceNotation rook = isWhite ? PieceNotation.R : PieceNotation.r;
+		GameColor opponent = position.getOpponent();
+
+		if (kingSquare != Square.of(row, 4) || (castling & (kingSide | queenSide)) == 0
+				|| bitBoard.isAttacked(kingSquare, opponent)) {
+			return count;
+		}
+
+		if ((castling & kingSide) != 0 && bitBoard.getPiece(Square.of(row, 7)) == rook
+				&& (occupancy & BitBoard.between(kingSquare, Square.of(row, 7))) == 0
+				&& !bitBoard.isAttacked(Square.of(row, 5), opponent)) {
+			moves[count++] = PackedMove.of(kingSquare, Square.of(row, 6), PackedMove.KING_SIDE_CASTLE);
+		}
+
+		if ((castling & queenSide) != 0 && bitBoard.getPiece(Square.of(row, 0)) == rook
+				&& (occupancy & BitBoard.between(kingSquare, Square.of(row, 0))) == 0
+				&& !bitBoard.isAttacked(Square.of(row, 3), opponent)) {
+			moves[count++] = PackedMove.of(kingSquare, Square.of(row, 2), PackedMove.QUEEN_SIDE_CASTLE);
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,69 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+/**
+ * Moves generated by MoveGenerator are packed into a single int, such that move
+ * lists are plain int arrays:
+ *
+ * bits 0-5 start square, bits 6-11 end square (BitBoard square index), bits
+ * 12-15 promotion piece (PieceNotation ordinal + 1, 0 = none), bits 16+ move
+ * flags.
+ */
+public final class PackedMove {
+
+	public static final int QUIET = 0;
+	public static final int CAPTURE = 1;
+	public static final int DOUBLE_PUSH = 1 << 1;
+	public static final int EN_PASSANT = 1 << 2;
+	public static final int KING_SIDE_CASTLE = 1 << 3;
+	public static final int QUEEN_SIDE_CASTLE = 1 << 4;
+	public static final int CAT_JUMP = 1 << 5;
+
+	private static final PieceNotation[] PIECES = PieceNotation.values();
+
+	private PackedMove() {
+	}
+
+	public static int of(int from, int to, int flags) {
+		return from | (to << 6) | (flags << 16);
+	}
+
+	public static int of(int from, int to, PieceNotation promotion, int flags) {
+		return of(from, to, flags) | ((promotion == null ? 0 : promotion.ordinal() + 1) << 12);
+	}
+
+	public static int getFrom(int move) {
+		return move & 63;
+	}
+
+	public static int getTo(int move) {
+		return (move >>> 6) & 63;
+	}
+
+	public static PieceNotation getPromotion(int move) {
+		int code = (move >>> 12) & 15;
+		return code == 0 ? null : PIECES[code - 1];
+	}
+
+	public static int getFlags(int move) {
+		return move >>> 16;
+	}
+
+	public static boolean hasFlag(int move, int flag) {
+		return (getFlags(move) & flag) != 0;
+	}
+
+	/**
+	 * Coordinate notation of a move, e.g., "e2e4" or "e7e8q".
+	 */
+	public static String toString(int move) {
+		PieceNotation promotion = getPromotion(move);
+		return squareName(getFrom(move)) + squareName(getTo(move))
+				+ (promotion == null ? "" : promotion.toString().toLowerCase());
+	}
+
+	private static String squareName(int square) {
+		return Square.getName(square).toLowerCase();
+	}
+}
@@ -0,0 +1,166 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.Arrays;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Complete position used for move generation: BitBoard piece placement, side to
+ * move, castling rights (bit mask) and en passant target square. Moves
+ * (PackedMove) are made and unmade in place; state required to unmake a move is
+ * kept on an internal undo stack, such that searching a position (e.g., perft)
+ * does not copy boards.
+ */
+@Getter
+public class Position {
+
+	public static final int WHITE_KING_SIDE = 1;
+	public static final int WHITE_QUEEN_SIDE = 1 << 1;
+	public static final int BLACK_KING_SIDE = 1 << 2;
+	public static final int BLACK_QUEEN_SIDE = 1 << 3;
+
+	/**
+	 * Castling rights retained when a piece moves from/to a square, e.g., any move
+	 * from/to "H1" removes white king side castling.
+	 */
+	private static final int[] CASTLING_MASK = new int[64];
+
+	static {
+		Arrays.fill(CASTLING_MASK, 15);
+		CASTLING_MASK[Square.of(7, 4)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+		CASTLING_MASK[Square.of(7, 7)] &= ~WHITE_KING_SIDE;
+		CASTLING_MASK[Square.of(7, 0)] &= ~WHITE_QUEEN_SIDE;
+		CASTLING_MASK[Square.of(0, 4)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+		CASTLING_MASK[Square.of(0, 7)] &= ~BLACK_KING_SIDE;
+		CASTLING_MASK[Square.of(0, 0)] &= ~BLACK_QUEEN_SIDE;
+	}
+
+	private final BitBoard bitBoard = new BitBoard();
+	private GameColor sideToMove = GameColor.WHITE;
+	private int castling;
+	private int enPassantSquare = -1;
+
+	@Getter(AccessLevel.NONE)
+	private long[] undoStack = new long[64];
+	private int ply;
+
+	/**
+	 * Loads a game board with the indicated side to move, castling string (e.g.,
+	 * "KQkq") and en passant target square (e.g., "E3"; null or empty if none).
+	 */
+	public void load(PieceNotation[][] board, GameColor sideToMove, String castling, String enPassantSquare) {
+		bitBoard.load(board);
+		this.sideToMove = sideToMove;
+		this.castling = getCastlingMask(castling);
+		this.enPassantSquare = Square.of(enPassantSquare);
+		ply = 0;
+	}
+
+	/**
+	 * Parses Forsyth-Edwards Notation (piece placement, side to move, castling and
+	 * en passant fields; move clocks are ignored). Cats are noted as 'C'.
+	 */
+	public static Position fromFen(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		String[] rows = fields[0].split("/");
+		PieceNotation[][] board = new PieceNotation[8][8];
+
+		if (rows.length != 8) {
+			throw new IllegalArgumentException("Invalid FEN: " + fen);
+		}
+
+		for (int row = 0; row < 8; row++) {
+			int col = 0;
+			for (char c : rows[row].toCharArray()) {
+				if (Character.isDigit(c)) {
+					col += c - '0';
+				} else {
+					board[row][col++] = PieceNotation.valueOf(String.valueOf(c));
+				}
+			}
+		}
+
+		Position position = new Position();
+		position.load(board, fields.length > 1 && fields[1].equals("b") ? GameColor.BLACK : GameColor.WHITE,
+				fields.length > 2 ? fields[2] : "-", fields.length > 3 ? fields[3] : "-");
+		return position;
+	}
+
+	public boolean isInCheck() {
+		int kingSquare = bitBoard.getKingSquare(sideToMove);
+		return kingSquare >= 0 && bitBoard.isAttacked(kingSquare, getOpponent());
+	}
+
+	/**
+	 * Whether the king of the player that just moved is attacked, i.e., whether
+	 * the last move made was illegal.
+	 */
+	public boolean isOpponentInCheck() {
+		int kingSquare = bitBoard.getKingSquare(getOpponent());
+		return kingSquare >= 0 && bitBoard.isAttacked(kingSquare, sideToMove);
+	}
+
+	public GameColor getOpponent() {
+		return sideToMove == GameColor.WHITE ? GameColor.BLACK : GameColor.WHITE;
+	}
+
+	public void makeMove(int move) {
+		int from = PackedMove.getFrom(move);
+		int to = PackedMove.getTo(move);
+		int row = Square.getRow(from);
+		int sideEffectUndo = -1;
+
+		if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+			sideEffectUndo = bitBoard.applyMove(Square.of(row, Square.getColumn(to)), -1, null);
+		} else if (PackedMove.hasFlag(move, PackedMove.KING_SIDE_CASTLE)) {
+			sideEffectUndo = bitBoard.applyMove(Square.of(row, 7), Square.of(row, 5), null);
+		} else if (PackedMove.hasFlag(move, PackedMove.QUEEN_SIDE_CASTLE)) {
+			sideEffectUndo = bitBoard.applyMove(Square.of(row, 0), Square.of(row, 3), null);
+		}
+
+		int undo = bitBoard.applyMove(from, to, PackedMove.getPromotion(move));
+
+		if (ply == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, ply * 2);
+		}
+		undoStack[ply++] = undo | ((long) (sideEffectUndo + 1) << 21) | ((long) castling << 43)
+				| ((long) (enPassantSquare + 1) << 47);
+
+		castling &= CASTLING_MASK[from] & CASTLING_MASK[to];
+		enPassantSquare = PackedMove.hasFlag(move, PackedMove.DOUBLE_PUSH) ? (from + to) / 2 : -1;
+		sideToMove = getOpponent();
+	}
+
+	public void unmakeMove() {
+		long state = undoStack[--ply];
+		int sideEffectUndo = (int) ((state >>> 21) & 0x3FFFFF) - 1;
+
+		bitBoard.undoMove((int) (state & 0x1FFFFF));
+		if (sideEffectUndo != -1) {
+			bitBoard.undoMove(sideEffectUndo);
+		}
+
+		castling = (int) ((state >>> 43) & 15);
+		enPassantSquare = (int) ((state >>> 47) & 127) - 1;
+		sideToMove = getOpponent();
+	}
+
+	/**
+	 * Castling rights bit mask of a castling string, e.g., "KQkq".
+	 */
+	public static int getCastlingMask(String castling) {
+		int mask = 0;
+
+		if (castling != null) {
+			mask |= castling.contains("K") ? WHITE_KING_SIDE : 0;
+			mask |= castling.contains("Q") ? WHITE_QUEEN_SIDE : 0;
+			mask |= castling.contains("k") ? BLACK_KING_SIDE : 0;
+			mask |= castling.contains("q") ? BLACK_QUEEN_SIDE : 0;
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,134 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Occurrence count per position hash (Zobrist key) for evaluating repetition.
+ * Open addressing hash table of primitive longs, such that counting a position
+ * requires neither boxing nor string keys; the highest count is tracked, such
+ * that threefold repetition is evaluated in O(1).
+ *
+ * Serialized to a compact byte[] (entry count, followed by key and count per
+ * entry) for persistence.
+ */
+public class RepetitionTable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private long[] keys;
+	private byte[] counts;
+	private int size;
+	private int maxCount;
+
+	public RepetitionTable() {
+		keys = new long[INITIAL_CAPACITY];
+		counts = new byte[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Increments and returns the number of occurrences of the position.
+	 */
+	public int increment(long key) {
+		int index = indexOf(key);
+
+		if (counts[index] == 0) {
+			keys[index] = key;
+			size++;
+		}
+
+		int count = ++counts[index];
+		maxCount = Math.max(maxCount, count);
+
+		if (size * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		return count;
+	}
+
+	public int getCount(long key) {
+		return counts[indexOf(key)];
+	}
+
+	public int getMaxCount() {
+		return maxCount;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all positions, e.g., after an irreversible move (capture or pawn
+	 * move) after which prior positions cannot recur.
+	 */
+	public void clear() {
+		keys = new long[INITIAL_CAPACITY];
+		counts = new byte[INITIAL_CAPACITY];
+		size = 0;
+		maxCount = 0;
+	}
+
+	public byte[] toBytes() {
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + size * (Long.BYTES + 1));
+		buffer.putInt(size);
+
+		for (int i = 0; i < keys.length; i++) {
+			if (counts[i] != 0) {
+				buffer.putLong(keys[i]);
+				buffer.put(counts[i]);
+			}
+		}
+		return buffer.array();
+	}
+
+	public static RepetitionTable fromBytes(byte[] bytes) {
+		RepetitionTable table = new RepetitionTable();
+
+		if (bytes == null || bytes.length == 0) {
+			return table;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int size = buffer.getInt();
+
+		for (int i = 0; i < size; i++) {
+			long key = buffer.getLong();
+			byte count = buffer.get();
+
+			for (int j = 0; j < count; j++) {
+				table.increment(key);
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Linear probing from the mixed key; returns the slot holding the key or the
+	 * empty slot where it would be inserted.
+	 */
+	private int indexOf(long key) {
+		int mask = keys.length - 1;
+		int index = (int) (key ^ (key >>> 32)) * 0x9E3779B9 & mask;
+
+		while (counts[index] != 0 && keys[index] != key) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		byte[] oldCounts = counts;
+
+		keys = new long[capacity];
+		counts = new byte[capacity];
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldCounts[i] != 0) {
+				int index = indexOf(oldKeys[i]);
+				keys[index] = oldKeys[i];
+				counts[index] = oldCounts[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.Arrays;
+
+/**
+ * Int-encoded board squares: square = row * 8 + col of the PieceNotation[][]
+ * board, i.e., 0 = "A8" and 63 = "H1" (identical to BitBoard bit indices).
+ *
+ * Square names are converted by char arithmetic via precomputed row/column
+ * tables indexed by char, and squares are converted to a table of interned
+ * names, such that no boxing or map lookups are required during validation.
+ */
+public final class Square {
+
+	public static final int A8 = 0;
+	public static final int C8 = 2;
+	public static final int E8 = 4;
+	public static final int G8 = 6;
+	public static final int A1 = 56;
+	public static final int C1 = 58;
+	public static final int E1 = 60;
+	public static final int G1 = 62;
+
+	private static final String[] NAMES = new String[64];
+
+	/**
+	 * Board index by rank ('1'-'8') and file ('A'-'H', 'a'-'h') char; -1 if
+	 * invalid.
+	 */
+	private static final byte[] ROWS = new byte[128];
+	private static final byte[] COLUMNS = new byte[128];
+
+	static {
+		Arrays.fill(ROWS, (byte) -1);
+		Arrays.fill(COLUMNS, (byte) -1);
+
+		for (int i = 0; i < 8; i++) {
+			ROWS['8' - i] = (byte) i;
+			COLUMNS['A' + i] = (byte) i;
+			COLUMNS['a' + i] = (byte) i;
+		}
+
+		for (int square = 0; square < 64; square++) {
+			NAMES[square] = ("" + (char) ('A' + getColumn(square)) + (char) ('8' - getRow(square))).intern();
+		}
+	}
+
+	private Square() {
+	}
+
+	public static int of(int row, int col) {
+		return (row << 3) | col;
+	}
+
+	/**
+	 * Square of a name (e.g., "E4" or "e4"); -1 if null or not a valid square.
+	 */
+	public static int of(String name) {
+		if (name == null || name.length() != 2) {
+			return -1;
+		}
+
+		int row = getRow(name);
+		int col = getColumn(name);
+		return row < 0 || col < 0 ? -1 : of(row, col);
+	}
+
+	public static int getRow(int square) {
+		return square >>> 3;
+	}
+
+	public static int getColumn(int square) {
+		return square & 7;
+	}
+
+	public static int getRow(String name) {
+		char rank = name.charAt(1);
+		return rank < 128 ? ROWS[rank] : -1;
+	}
+
+	public static int getColumn(String name) {
+		char file = name.charAt(0);
+		return file < 128 ? COLUMNS[file] : -1;
+	}
+
+	public static String getName(int square) {
+		return NAMES[square];
+	}
+
+	public static String getName(int row, int col) {
+		return NAMES[of(row, col)];
+	}
+}
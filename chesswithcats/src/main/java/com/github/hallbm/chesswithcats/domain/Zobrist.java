@@ -0,0 +1,84 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.SplittableRandom;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+/**
+ * Zobrist keys for hashing positions into a 64-bit long: one key per
+ * PieceNotation (including cats) and square, plus keys for black to move, each
+ * castling rights combination and each en passant file. The hash of the piece
+ * placement is updated incrementally by XOR-ing the keys of pieces removed
+ * from/placed on a square.
+ *
+ * Keys are generated from a fixed seed, such that persisted hashes remain
+ * comparable across application restarts.
+ */
+public final class Zobrist {
+
+	private static final long SEED = 0x43686573734361L;
+
+	private static final long[][] PIECE_KEYS = new long[PieceNotation.values().length][64];
+	private static final long[] CASTLING_KEYS = new long[16];
+	private static final long[] EN_PASSANT_KEYS = new long[8];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	static {
+		SplittableRandom random = new SplittableRandom(SEED);
+
+		for (long[] keys : PIECE_KEYS) {
+			for (int square = 0; square < 64; square++) {
+				keys[square] = random.nextLong();
+			}
+		}
+
+		// no castling rights hash to 0
+		for (int i = 1; i < 16; i++) {
+			CASTLING_KEYS[i] = random.nextLong();
+		}
+
+		for (int i = 0; i < 8; i++) {
+			EN_PASSANT_KEYS[i] = random.nextLong();
+		}
+
+		BLACK_TO_MOVE_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	public static long pieceKey(PieceNotation piece, int square) {
+		return piece == null ? 0L : PIECE_KEYS[piece.ordinal()][square];
+	}
+
+	/**
+	 * Full computation of the piece placement hash of a board.
+	 */
+	public static long hash(PieceNotation[][] board) {
+		long hash = 0L;
+
+		for (int row = 0; row < 8; row++) {
+			for (int col = 0; col < 8; col++) {
+				hash ^= pieceKey(board[row][col], Square.of(row, col));
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Position hash combining the piece placement hash with side to move, castling
+	 * rights (Position castling mask) and en passant square (-1 if none).
+	 */
+	public static long positionKey(long pieceHash, boolean isBlackToMove, int castling, int enPassantSquare) {
+		long key = pieceHash ^ CASTLING_KEYS[castling & 15];
+
+		if (isBlackToMove) {
+			key ^= BLACK_TO_MOVE_KEY;
+		}
+
+		if (enPassantSquare >= 0) {
+			key ^= EN_PASSANT_KEYS[Square.getColumn(enPassantSquare)];
+		}
+		return key;
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.hallbm.chesswithcats.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for fanning out a move (serialized MoveResponseDTO) to the subscribers of
+ * a game via the MoveEventBus; eventId is the half move number of the move
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveEventDTO {
+	private String gameId;
+	private String playerColor;
+	private String data;
+	private Long eventId;
+}
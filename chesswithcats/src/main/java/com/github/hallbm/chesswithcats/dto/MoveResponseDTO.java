@@ -23,5 +23,7 @@ public class MoveResponseDTO {
 	private List<String[]> pieceMoves = new ArrayList<>();
 	private String moveNotation = "";
 	private GameOutcome gameOutcome;
+	private String playerColor;
+	private Integer halfMove;
 	
 }
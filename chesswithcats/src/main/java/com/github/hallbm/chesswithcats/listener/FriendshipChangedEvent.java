@@ -0,0 +1,18 @@
+package com.github.hallbm.chesswithcats.listener;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when the relationship (friend request) between two players is created,
+ * changed or deleted, such that cached relationships of both players are discarded
+ */
+
+@Getter
+@AllArgsConstructor
+public class FriendshipChangedEvent {
+
+	private final String username;
+
+	private final String otherUsername;
+}
@@ -5,21 +5,26 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.security.authentication.event.LogoutSuccessEvent;
 import org.springframework.stereotype.Component;
 
-import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+import com.github.hallbm.chesswithcats.service.MatchmakingServices;
+import com.github.hallbm.chesswithcats.service.PresenceServices;
 
 /**
- * Player logout event updates player 'isLogged' status to indicate to other players that
- * the user is no longer online 
+ * Player logout event signs the player out of PresenceServices to indicate to other players
+ * that the user is no longer online, and withdraws the player from matchmaking
  */
 
 @Component
 public class LogoutListener implements ApplicationListener<LogoutSuccessEvent> {
     
     @Autowired
-    private PlayerRepository playerRepo;
+    private PresenceServices presenceServ;
+
+    @Autowired
+    private MatchmakingServices matchmakingServ;
     
     @Override
     public void onApplicationEvent(LogoutSuccessEvent event) {
-    	playerRepo.logoutPlayerByUsername(event.getAuthentication().getName());
+    	presenceServ.signOut(event.getAuthentication().getName());
+    	matchmakingServ.cancel(event.getAuthentication().getName());
     }
 }
@@ -0,0 +1,74 @@
+package com.github.hallbm.chesswithcats.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persists the PieceNotation[][] board as 32 bytes: one 4-bit nibble per square
+ * (PieceNotation ordinal + 1, 0 = empty square), two squares per byte in
+ * row-major order starting at "A8".
+ *
+ * Boards persisted prior to this encoding (Java serialized PieceNotation[][])
+ * are still read.
+ */
+@Converter
+public class BoardConverter implements AttributeConverter<PieceNotation[][], byte[]> {
+
+	public static final int ENCODED_LENGTH = 32;
+
+	private static final PieceNotation[] PIECES = PieceNotation.values();
+
+	private static final ObjectInputFilter LEGACY_FILTER = ObjectInputFilter.Config
+			.createFilter(PieceNotation.class.getName() + ";java.lang.Enum;!*");
+
+	@Override
+	public byte[] convertToDatabaseColumn(PieceNotation[][] board) {
+		if (board == null) {
+			return null;
+		}
+
+		byte[] bytes = new byte[ENCODED_LENGTH];
+
+		for (int square = 0; square < 64; square++) {
+			PieceNotation piece = board[square >>> 3][square & 7];
+			int code = piece == null ? 0 : piece.ordinal() + 1;
+			bytes[square >>> 1] |= (square & 1) == 0 ? code : code << 4;
+		}
+		return bytes;
+	}
+
+	@Override
+	public PieceNotation[][] convertToEntityAttribute(byte[] bytes) {
+		if (bytes == null) {
+			return null;
+		}
+
+		if (bytes.length != ENCODED_LENGTH) {
+			return readSerializedBoard(bytes);
+		}
+
+		PieceNotation[][] board = new PieceNotation[8][8];
+
+		for (int square = 0; square < 64; square++) {
+			int code = (square & 1) == 0 ? bytes[square >>> 1] & 15 : (bytes[square >>> 1] >>> 4) & 15;
+			board[square >>> 3][square & 7] = code == 0 ? null : PIECES[code - 1];
+		}
+		return board;
+	}
+
+	private PieceNotation[][] readSerializedBoard(byte[] bytes) {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			in.setObjectInputFilter(LEGACY_FILTER);
+			return (PieceNotation[][]) in.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalArgumentException("Unreadable persisted board", e);
+		}
+	}
+}
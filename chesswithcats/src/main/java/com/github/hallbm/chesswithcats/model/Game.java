@@ -1,6 +1,8 @@
 package com.github.hallbm.chesswithcats.model;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.github.hallbm.chesswithcats.domain.AmbiguousMoveValidator;
 import com.github.hallbm.chesswithcats.domain.DefiantMoveValidator;
@@ -26,6 +28,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -88,9 +91,20 @@ public class Game{
 
 	@Column(name = "full_move_history", length = 3072)
 	private String moves = null;
+
+	@Version
+	@Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+	private Long version = 0L;
 	
 	@Transient
 	private MoveValidator moveValidator;
+
+	/**
+	 * Moves made since the game was last saved, inserted into the GameMove log
+	 * with the next save.
+	 */
+	@Transient
+	private List<GameMove> unsavedMoves = new ArrayList<>();
 	
 	@PostLoad
 	public void setValidator(){
@@ -101,4 +115,15 @@ public class Game{
 		case CLASSIC -> moveValidator = new MoveValidator();
 		}
 	}
+
+	/**
+	 * Color ("white" / "black") played by @Param username, or null if not a
+	 * player of this game (e.g., a spectator).
+	 */
+	public String colorOf(String username) {
+		if (white.getUsername().equals(username)) {
+			return "white";
+		}
+		return black.getUsername().equals(username) ? "black" : null;
+	}
 }
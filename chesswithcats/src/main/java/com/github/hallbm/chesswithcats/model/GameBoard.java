@@ -1,23 +1,16 @@
 package com.github.hallbm.chesswithcats.model;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.hibernate.annotations.OnDelete;
-import org.hibernate.annotations.OnDeleteAction;
-
+import com.github.hallbm.chesswithcats.domain.BitBoard;
 import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.Square;
+import com.github.hallbm.chesswithcats.domain.Zobrist;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Embeddable;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.MapKeyClass;
-import jakarta.persistence.MapKeyColumn;
-import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,8 +18,13 @@ import lombok.Setter;
 
 /**
  * Short-term persistence of active game states, including 1) board state
- * comprised of a 8x8 matrix of piece enums: PieceNotation[][] 2) hashmap of
- * current square mapping associated PieceNotation enum, e.g., "A5":"Q"
+ * comprised of a 8x8 matrix of piece enums: PieceNotation[][], persisted as a
+ * 32 byte encoding (BoardConverter) 2) Zobrist hash of the piece placement.
+ * The square to piece mapping used by the front end, e.g., "A5":"Q", is derived
+ * from the board.
+ * 
+ * Board state can be converted to bitboards (BitBoard) for attack and
+ * occupancy tests during move validation.
  */
 
 @Getter
@@ -36,19 +34,55 @@ import lombok.Setter;
 @Embeddable
 public class GameBoard {
 
-	@Column(length = 1024)
-	@Size(max = 1024)
+	@Convert(converter = BoardConverter.class)
+	@Column(length = BoardConverter.ENCODED_LENGTH)
 	private PieceNotation[][] board = new PieceNotation[8][8];
 
-	@ElementCollection
-	@CollectionTable(name = "piece_map")
-	@MapKeyColumn(name = "position", columnDefinition = "CHAR(2)")
-	@MapKeyClass(String.class)
-	@Column(name = "piece_type", columnDefinition = "VARCHAR(2)")
-	@Enumerated(EnumType.STRING)
-	@JoinColumn(name = "game_plays_id", referencedColumnName = "id")
-	@OnDelete(action = OnDeleteAction.CASCADE)
-	@Size(max = 36)
-	private Map<String, PieceNotation> pieceMap = new HashMap<>();;
+	/**
+	 * Zobrist hash of the piece placement (including cats), updated incrementally
+	 * as pieces are moved.
+	 */
+	@Column(name = "piece_hash")
+	private Long pieceHash;
+
+	public BitBoard toBitBoard() {
+		return BitBoard.fromBoard(board);
+	}
+
+	/**
+	 * Square to piece mapping (e.g., "A5":"Q") for the front end, derived from the
+	 * board on demand.
+	 */
+	public Map<String, PieceNotation> getPieceMap() {
+		Map<String, PieceNotation> pieceMap = new LinkedHashMap<>();
+
+		for (int row = 0; row < 8; row++) {
+			for (int col = 0; col < 8; col++) {
+				if (board[row][col] != null) {
+					pieceMap.put(Square.getName(row, col), board[row][col]);
+				}
+			}
+		}
+		return pieceMap;
+	}
+
+	/**
+	 * Computed from the board if not yet available (e.g., boards persisted prior to
+	 * hashing).
+	 */
+	public long getPieceHash() {
+		if (pieceHash == null) {
+			pieceHash = Zobrist.hash(board);
+		}
+		return pieceHash;
+	}
+
+	/**
+	 * Toggles a piece on a square in the piece placement hash; called for each
+	 * piece removed from or placed on the board.
+	 */
+	public void updatePieceHash(PieceNotation piece, int square) {
+		pieceHash = getPieceHash() ^ Zobrist.pieceKey(piece, square);
+	}
 
 }
@@ -0,0 +1,94 @@
+package com.github.hallbm.chesswithcats.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.ChessMove;
+import com.github.hallbm.chesswithcats.domain.Square;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only log of the moves of a game, one row per ply: squares as board
+ * index (row * 8 + column), the to square being the square the piece actually
+ * went to (e.g., defiant moves), ChessMove flags as bit set, the Zobrist hash of the
+ * resulting position, and the extended piece notation of the move. Rows are only
+ * ever inserted, such that the cost of persisting a move does not grow with the
+ * length of the game; the move history of GamePlay and Game is derived from it.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "game_moves", uniqueConstraints = @UniqueConstraint(columnNames = { "game_id", "ply" }))
+public class GameMove {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "game_id", nullable = false, updatable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	@NotNull
+	private Game game;
+
+	/**
+	 * Half move the move was made on, starting at 1 (white's first move).
+	 */
+	@Column(nullable = false)
+	private Short ply;
+
+	@Column(name = "from_square", nullable = false)
+	private Byte fromSquare;
+
+	@Column(name = "to_square", nullable = false)
+	private Byte toSquare;
+
+	@Column(length = 1)
+	private String promotion;
+
+	@Column(nullable = false)
+	private Short flags = 0;
+
+	@Column(name = "position_key", nullable = false)
+	private Long positionKey;
+
+	@Column(length = 24, nullable = false)
+	private String notation;
+
+	public GameMove(Game game, int ply, String startPos, String endPos, String promotion, Iterable<ChessMove> chessMoves,
+			String notation) {
+		this.game = game;
+		this.ply = (short) ply;
+		this.fromSquare = (byte) Square.of(startPos);
+		this.toSquare = (byte) Square.of(endPos);
+		this.promotion = promotion;
+		this.notation = notation;
+
+		short bits = 0;
+
+		for (ChessMove chessMove : chessMoves) {
+			bits |= 1 << chessMove.ordinal();
+		}
+		this.flags = bits;
+	}
+
+	public boolean hasFlag(ChessMove chessMove) {
+		return (flags & (1 << chessMove.ordinal())) != 0;
+	}
+}
@@ -1,28 +1,23 @@
 package com.github.hallbm.chesswithcats.model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-import org.hibernate.annotations.OnDelete;
-import org.hibernate.annotations.OnDeleteAction;
 
+import com.github.hallbm.chesswithcats.domain.Position;
+import com.github.hallbm.chesswithcats.domain.RepetitionTable;
+import com.github.hallbm.chesswithcats.domain.Square;
+import com.github.hallbm.chesswithcats.domain.Zobrist;
 import com.github.hallbm.chesswithcats.service.GameBoardServices;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.MapKeyClass;
-import jakarta.persistence.MapKeyColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -35,8 +30,7 @@ import lombok.Setter;
  * tracking moves. GamePlay data (and other associated connections other than
  * 'Game') are deleted upon game completion. When a game is finished, only game
  * moves (extended piece notation move string) are transmitted to Game class for
- * long-term persistence (and can be used to recreate game move history with
- * future 'game replay' functionality).
+ * long-term persistence, from which positions are recreated by GameReplay.
  * 
  */
 
@@ -71,41 +65,88 @@ public class GamePlay {
 
 	private Boolean isInCheck = false;
 
-	@ElementCollection(fetch = FetchType.EAGER)
-	@CollectionTable(name = "fen_list")
-	@Column(length = 100)
-	@JoinColumn(name = "game_plays_id", referencedColumnName = "id")
-	@OnDelete(action = OnDeleteAction.CASCADE)
-	private List<String> fenList = new ArrayList<>();
-
-	@ElementCollection
-	@CollectionTable(name = "fen_map")
-	@MapKeyColumn(name = "partial_fen", columnDefinition = "VARCHAR(90)")
-	@MapKeyClass(String.class)
-	@Column(name = "count")
-	@JoinColumn(name = "game_plays_id", referencedColumnName = "id")
-	@OnDelete(action = OnDeleteAction.CASCADE)
-	private Map<String, Integer> fenRepetitionSet = new HashMap<>();
-
-	@Column(length = 3072)
-	private StringBuffer moves = new StringBuffer();
+	/**
+	 * Positions (FEN history) since the game was last saved, inserted into
+	 * game_positions with the next save; see GamePositionRepository for reading
+	 * the history.
+	 */
+	@Transient
+	private List<GamePosition> unsavedPositions = new ArrayList<>();
+
+	/**
+	 * Occurrences of positions (Zobrist hash) since the last irreversible move,
+	 * serialized RepetitionTable.
+	 */
+	@Column(name = "repetitions", length = 1024)
+	private byte[] repetitions;
+
+	@Transient
+	private RepetitionTable repetitionTable;
+
+	/**
+	 * Move history (extended piece notation), derived from the GameMove log when
+	 * the game is loaded into the ActiveGameCache.
+	 */
+	@Transient
+	private StringBuilder moves = new StringBuilder();
+
+	/**
+	 * Move history stored by versions prior to the GameMove log; read only.
+	 */
+	@Column(name = "moves", length = 3072, insertable = false, updatable = false)
+	private String legacyMoves;
 
 	@Column(length = 30)
 	private String drawRequestedBy;
 
 	private Integer moveAttempts = null;
 
+	@Version
+	@Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+	private Long version = 0L;
+
+	/**
+	 * Counts the current position in the repetition table and appends its FEN to
+	 * the FEN history. Positions prior to an irreversible move (capture or pawn move,
+	 * i.e., fifty move clock reset) cannot recur and are cleared.
+	 */
 	public String updateFenSet() {
+		RepetitionTable table = getRepetitionTable();
+
+		if (fiftyMoveClock == 0) {
+			table.clear();
+		}
+
+		table.increment(getPositionKey());
+		repetitions = table.toBytes();
+
 		String fen = GameBoardServices.getFenPositions(gameBoard.getBoard()) + " " + (halfMoves % 2 == 1 ? "w" : "b")
 				+ " " + (castling == null ? "-" : castling) + " "
-				+ (enPassantTargetSquare == null ? "-" : enPassantTargetSquare);
+				+ (enPassantTargetSquare == null ? "-" : enPassantTargetSquare) + " " + String.valueOf(fiftyMoveClock)
+				+ " " + String.valueOf((halfMoves - 1) / 2 + 1);
+		unsavedPositions.add(new GamePosition(this, halfMoves, fen));
 
-		fenRepetitionSet.put(fen, fenRepetitionSet.getOrDefault(fen, 0) + 1);
+		return fen;
+	}
 
-		fen += " " + String.valueOf(fiftyMoveClock) + " " + String.valueOf((halfMoves - 1) / 2 + 1);
-		fenList.add(fen);
+	/**
+	 * Zobrist hash of the current position: piece placement (including cats), side
+	 * to move, castling rights and en passant square.
+	 */
+	public long getPositionKey() {
+		return Zobrist.positionKey(gameBoard.getPieceHash(), halfMoves % 2 == 0, Position.getCastlingMask(castling),
+				Square.of(enPassantTargetSquare));
+	}
 
-		return fen;
+	public RepetitionTable getRepetitionTable() {
+		if (repetitionTable == null) {
+			repetitionTable = RepetitionTable.fromBytes(repetitions);
+		}
+		return repetitionTable;
+	}
+
+	public boolean isThreefoldRepetition() {
+		return getRepetitionTable().getMaxCount() >= 3;
 	}
 
 	public void incrementHalfMoves() {
@@ -0,0 +1,61 @@
+package com.github.hallbm.chesswithcats.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * FEN history of an active game, one row per position: the opening position at
+ * ply 1 and the position after each move at the following half move. Loaded
+ * only on demand (by ply or last N positions, see GamePositionRepository), and
+ * deleted with the GamePlay upon game completion.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "game_positions", uniqueConstraints = @UniqueConstraint(columnNames = { "game_plays_id", "ply" }))
+public class GamePosition {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "game_plays_id", nullable = false, updatable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	@NotNull
+	private GamePlay gamePlay;
+
+	/**
+	 * Half move to be played from this position, starting at 1.
+	 */
+	@Column(nullable = false)
+	private Short ply;
+
+	@Column(length = 100, nullable = false)
+	private String fen;
+
+	public GamePosition(GamePlay gamePlay, int ply, String fen) {
+		this.gamePlay = gamePlay;
+		this.ply = (short) ply;
+		this.fen = fen;
+	}
+}
@@ -0,0 +1,62 @@
+package com.github.hallbm.chesswithcats.model;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Leaderboard entry of a player for a game style: Elo rating (see
+ * RatingServices) and score, i.e., wins minus losses (draws not counted), both
+ * updated when a game is completed.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "leaderboard_scores", uniqueConstraints = @UniqueConstraint(columnNames = { "username", "style" }),
+		indexes = @Index(columnList = "style, rating"))
+public class LeaderboardScore {
+
+	public static final int INITIAL_RATING = 1200;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(length = 30, nullable = false)
+	@NotNull
+	private String username;
+
+	@Column(length = 20, nullable = false)
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	private GameStyle style;
+
+	@Column(nullable = false)
+	private int score;
+
+	@Column(nullable = false, columnDefinition = "INT NOT NULL DEFAULT 1200")
+	private int rating = INITIAL_RATING;
+
+	/**
+	 * Rated games (decided and drawn).
+	 */
+	@Column(nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+	private int games;
+}
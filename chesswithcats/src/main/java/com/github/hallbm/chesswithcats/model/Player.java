@@ -23,6 +23,7 @@ import jakarta.persistence.TemporalType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -79,7 +80,14 @@ public class Player implements UserDetails, AuthenticatedPrincipal {
 	@Temporal(TemporalType.TIMESTAMP)
 	private LocalDateTime lastLogin;
 
-	private boolean isOnline = false;
+	/**
+	 * Online status stored by versions prior to PresenceServices; no longer
+	 * maintained, mapped such that inserts satisfy the existing column.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@Column(name = "is_online", nullable = false, updatable = false)
+	private boolean legacyOnline = false;
 	
 	private boolean isEnabled = true;
 	
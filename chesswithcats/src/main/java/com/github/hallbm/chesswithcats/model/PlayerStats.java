@@ -0,0 +1,65 @@
+package com.github.hallbm.chesswithcats.model;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Counters of completed games of a player per game style: against all opponents
+ * (opponent ALL_OPPONENTS) and against each opponent. Updated when a game is
+ * completed, such that profile statistics are read without reading any game.
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "player_stats", uniqueConstraints = @UniqueConstraint(columnNames = { "username", "opponent",
+		"style" }))
+public class PlayerStats {
+
+	public static final String ALL_OPPONENTS = "*";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(length = 30, nullable = false)
+	@NotNull
+	private String username;
+
+	@Column(length = 30, nullable = false)
+	@NotNull
+	private String opponent;
+
+	@Column(length = 20, nullable = false)
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	private GameStyle style;
+
+	@Column(nullable = false)
+	private int total;
+
+	@Column(nullable = false)
+	private int wins;
+
+	@Column(nullable = false)
+	private int draws;
+
+	@Column(nullable = false)
+	private int losses;
+}
@@ -0,0 +1,19 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import com.github.hallbm.chesswithcats.domain.FriendEnums.BlockedBy;
+import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
+
+/**
+ * Projection of a friend request as a relationship between two usernames,
+ * without loading either player.
+ */
+public interface FriendConnection {
+
+	String getSender();
+
+	String getReceiver();
+
+	FriendRequestStatus getStatus();
+
+	BlockedBy getBlockedBy();
+}
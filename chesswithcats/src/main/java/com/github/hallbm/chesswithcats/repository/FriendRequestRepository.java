@@ -18,6 +18,16 @@ public interface FriendRequestRepository extends JpaRepository<FriendRequest, Lo
 	@Query(value = "SELECT * FROM friend_requests f "
 			+ "WHERE (f.sender_username = :username OR f.receiver_username = :username)", nativeQuery = true)
 	public List<FriendRequest> getByUsername(String username);
+
+	/**
+	 * Relationships of a player as sender or receiver; a union rather than a
+	 * disjunction, such that each side is read through its own index.
+	 */
+	@Query(value = "SELECT f.sender_username AS sender, f.receiver_username AS receiver, f.status AS status, "
+			+ "f.blocked_by AS blockedBy FROM friend_requests f WHERE f.sender_username = :username "
+			+ "UNION ALL SELECT f.sender_username, f.receiver_username, f.status, f.blocked_by "
+			+ "FROM friend_requests f WHERE f.receiver_username = :username", nativeQuery = true)
+	public List<FriendConnection> getConnectionsByUsername(String username);
 	
 	public FriendRequest findByReceiverUsernameAndSenderUsername(String receiver, String sender);
 
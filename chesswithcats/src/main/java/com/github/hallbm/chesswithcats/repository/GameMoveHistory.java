@@ -0,0 +1,18 @@
+package com.github.hallbm.chesswithcats.repository;
+
+/**
+ * Projection of a game to its players, opening position and move history, as
+ * read by the game replay.
+ */
+public interface GameMoveHistory {
+
+	String getWhite();
+
+	String getBlack();
+
+	String getWinner();
+
+	String getOpeningFen();
+
+	String getMoves();
+}
@@ -0,0 +1,21 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.github.hallbm.chesswithcats.model.GameMove;
+
+public interface GameMoveRepository extends JpaRepository<GameMove, Long> {
+
+	@Query("SELECT m FROM GameMove m WHERE m.game.id = :gameId ORDER BY m.ply")
+	List<GameMove> findByGameId(Long gameId);
+
+	/**
+	 * Extended piece notation of the moves of a game prior to the given half move,
+	 * in order.
+	 */
+	@Query("SELECT m.notation FROM GameMove m WHERE m.game.id = :gameId AND m.ply < :halfMove ORDER BY m.ply")
+	List<String> findNotationsByGameIdBefore(Long gameId, short halfMove);
+}
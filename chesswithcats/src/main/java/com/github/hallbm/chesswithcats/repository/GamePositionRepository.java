@@ -0,0 +1,27 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.github.hallbm.chesswithcats.model.GamePosition;
+
+public interface GamePositionRepository extends JpaRepository<GamePosition, Long> {
+
+	@Query("SELECT p.fen FROM GamePosition p WHERE p.gamePlay.id = :gamePlayId AND p.ply = :ply")
+	Optional<String> findFen(Long gamePlayId, short ply);
+
+	/**
+	 * Positions prior to the given half move, most recent first; e.g., the last N
+	 * positions with PageRequest.of(0, N).
+	 */
+	@Query("SELECT p.fen FROM GamePosition p WHERE p.gamePlay.id = :gamePlayId AND p.ply < :ply ORDER BY p.ply DESC")
+	List<String> findFensBefore(Long gamePlayId, short ply, Pageable pageable);
+
+	@Query("SELECT p FROM GamePosition p WHERE p.gamePlay.id = :gamePlayId")
+	Page<GamePosition> findByGamePlayId(Long gamePlayId, Pageable pageable);
+}
@@ -3,14 +3,31 @@ package com.github.hallbm.chesswithcats.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.github.hallbm.chesswithcats.model.Game;
 
+import jakarta.persistence.QueryHint;
+
 public interface GameRepository extends JpaRepository<Game, Long>{
 	
+	/**
+	 * Loads game including players, such that the game remains usable once
+	 * detached (e.g., held by ActiveGameCache).
+	 */
+	@EntityGraph(attributePaths = { "white", "black" })
+	Optional<Game> findWithPlayersById(Long id);
+
+	@Query(value = "SELECT g.white_username AS white, g.black_username AS black, g.winner AS winner, "
+			+ "g.opening_fen AS openingFen, g.full_move_history AS moves FROM games g "
+			+ "WHERE g.id = :id", nativeQuery = true)
+	Optional<GameMoveHistory> findMoveHistoryById(Long id);
+
 	@Query(value = "SELECT * FROM games g "
 			+ "WHERE (g.white_username = :username OR g.black_username = :username) AND g.winner IS NULL "
 			+ "ORDER BY g.id DESC", nativeQuery = true)
@@ -21,6 +38,27 @@ public interface GameRepository extends JpaRepository<Game, Long>{
 			+ "ORDER BY g.id DESC", nativeQuery = true)
 	List<Game> getCompleteByUsername(String username);
 
+	String SUMMARY_SELECT = "SELECT g.id AS id, g.style AS style, g.outcome AS outcome, g.winner AS winner, "
+			+ "CASE WHEN g.white_username = :username THEN g.black_username ELSE g.white_username END AS opponent, "
+			+ "CASE WHEN g.white_username = :username THEN 'WHITE' ELSE 'BLACK' END AS color, "
+			+ "gp.half_moves AS halfMoves "
+			+ "FROM games g LEFT JOIN game_plays gp ON gp.id = g.game_play_id ";
+
+	@Query(value = SUMMARY_SELECT
+			+ "WHERE (g.white_username = :username OR g.black_username = :username) AND g.winner IS NULL "
+			+ "ORDER BY g.id DESC", nativeQuery = true)
+	List<GameSummary> getActiveSummariesByUsername(String username);
+
+	/**
+	 * Page of completed games with an id below beforeId (keyset pagination), most
+	 * recent first.
+	 */
+	@Query(value = SUMMARY_SELECT
+			+ "WHERE (g.white_username = :username OR g.black_username = :username) AND g.winner IS NOT NULL "
+			+ "AND g.id < :beforeId "
+			+ "ORDER BY g.id DESC LIMIT :limit", nativeQuery = true)
+	List<GameSummary> getCompleteSummariesByUsername(String username, Long beforeId, int limit);
+
 	@Query(value = "SELECT * FROM games g "
 			+ "WHERE (g.white_username = :username OR g.black_username = :username) "
 			+ "AND g.winner IS NOT NULL "
@@ -37,6 +75,16 @@ public interface GameRepository extends JpaRepository<Game, Long>{
 	@Query(value = "SELECT * FROM games g "
 			+ "WHERE g.winner IS NOT NULL AND g.winner <> 'Draw' AND g.style =:style", nativeQuery = true)
 	Optional<List<Game>> getWonOrLostGamesByStyle(String style);
+
+	/**
+	 * Results of the completed games of a style in order of creation, streamed
+	 * row by row (MySQL streams a result set with fetch size Integer.MIN_VALUE);
+	 * must be consumed within a transaction and closed.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+	@Query(value = "SELECT g.white_username AS white, g.black_username AS black, g.winner AS winner FROM games g "
+			+ "WHERE g.style = :style AND g.winner IS NOT NULL ORDER BY g.id", nativeQuery = true)
+	Stream<GameResult> streamResultsByStyle(String style);
 	
 	
 }
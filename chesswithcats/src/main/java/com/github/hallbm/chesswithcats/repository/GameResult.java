@@ -0,0 +1,14 @@
+package com.github.hallbm.chesswithcats.repository;
+
+/**
+ * Projection of a completed game to its result, as read by the rating
+ * recomputation.
+ */
+public interface GameResult {
+
+	String getWhite();
+
+	String getBlack();
+
+	String getWinner();
+}
@@ -0,0 +1,26 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameOutcome;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+
+/**
+ * Projection of a game from the perspective of one player (color and opponent),
+ * as listed on the games page; half moves is null for completed games.
+ */
+public interface GameSummary {
+
+	Long getId();
+
+	GameStyle getStyle();
+
+	GameOutcome getOutcome();
+
+	String getWinner();
+
+	String getOpponent();
+
+	GameColor getColor();
+
+	Short getHalfMoves();
+}
@@ -0,0 +1,78 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+
+import jakarta.persistence.LockModeType;
+
+public interface LeaderboardScoreRepository extends JpaRepository<LeaderboardScore, Long> {
+
+	/**
+	 * Adds to the score of a player, creating the score if absent; atomic, such
+	 * that concurrently completed games of a player are all counted.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO leaderboard_scores (username, style, score) VALUES (:username, :style, :delta) "
+			+ "ON DUPLICATE KEY UPDATE score = score + :delta", nativeQuery = true)
+	int addScore(String username, String style, int delta);
+
+	/**
+	 * Creates the entry of a player (initial rating) if absent.
+	 */
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO leaderboard_scores (username, style, score) VALUES (:username, :style, 0)",
+			nativeQuery = true)
+	int ensure(String username, String style);
+
+	/**
+	 * Entries of the given players, locked until the end of the transaction; rows
+	 * locked in username order, such that concurrent updates do not deadlock.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM LeaderboardScore s WHERE s.style = :style AND s.username IN :usernames "
+			+ "ORDER BY s.username")
+	List<LeaderboardScore> lockByStyleAndUsernames(GameStyle style, List<String> usernames);
+
+	Optional<LeaderboardScore> findByUsernameAndStyle(String username, GameStyle style);
+
+	boolean existsByGamesGreaterThan(int games);
+
+	@Query("SELECT s FROM LeaderboardScore s WHERE s.style = :style ORDER BY s.rating DESC, s.username ASC")
+	List<LeaderboardScore> findTopByStyle(GameStyle style, Pageable pageable);
+
+	@Modifying
+	@Query(value = "UPDATE leaderboard_scores SET rating = :rating, games = 0 WHERE style = :style",
+			nativeQuery = true)
+	int resetRatings(String style, int rating);
+
+	@Modifying
+	@Query(value = "INSERT INTO leaderboard_scores (username, style, score, rating, games) "
+			+ "VALUES (:username, :style, 0, :rating, :games) "
+			+ "ON DUPLICATE KEY UPDATE rating = VALUES(rating), games = VALUES(games)", nativeQuery = true)
+	int setRating(String username, String style, int rating, int games);
+
+	/**
+	 * Scores of all players summed from completed games; a plain (consistent)
+	 * read, such that within a transaction it sees the same games as the
+	 * statements before it.
+	 */
+	@Query(value = "SELECT s.username AS username, s.style AS style, SUM(s.score) AS score FROM ("
+			+ "SELECT g.white_username AS username, g.style AS style, "
+			+ "CASE WHEN g.winner = g.white_username THEN 1 ELSE -1 END AS score FROM games g "
+			+ "WHERE g.winner IS NOT NULL AND g.winner <> 'Draw' "
+			+ "UNION ALL "
+			+ "SELECT g.black_username, g.style, "
+			+ "CASE WHEN g.winner = g.black_username THEN 1 ELSE -1 END FROM games g "
+			+ "WHERE g.winner IS NOT NULL AND g.winner <> 'Draw'"
+			+ ") s GROUP BY s.username, s.style", nativeQuery = true)
+	List<ScoreTotal> sumScores();
+}
@@ -1,7 +1,7 @@
 package com.github.hallbm.chesswithcats.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,14 +19,14 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
 
     public Set<Player> findTop20ByOrderByLastLoginDesc();
 
-    @Query("SELECT p.username FROM Player p WHERE p.username LIKE :search ORDER BY p.username ASC")
-    public Optional<List<String>> searchNewFriends(@Param("search") String search);
+    @Query("SELECT p.username FROM Player p WHERE p.isEnabled = true")
+    public List<String> findEnabledUsernames();
 
     public boolean existsByUsername(String username);
 
     @Modifying
     @Transactional
-    @Query("UPDATE Player p SET p.isOnline = false WHERE p.username = :username")
-    public void logoutPlayerByUsername(@Param("username") String username);
+    @Query("UPDATE Player p SET p.lastLogin = :lastLogin WHERE p.username = :username")
+    public void updateLastLogin(@Param("username") String username, @Param("lastLogin") LocalDateTime lastLogin);
 
 }
@@ -0,0 +1,77 @@
+package com.github.hallbm.chesswithcats.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.github.hallbm.chesswithcats.model.PlayerStats;
+
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+
+	/**
+	 * Statistics of a player per style, against an opponent or against all
+	 * opponents (PlayerStats.ALL_OPPONENTS).
+	 */
+	List<PlayerStats> findByUsernameAndOpponent(String username, String opponent);
+
+	/**
+	 * Counts a completed game for both players, overall and head to head, in a
+	 * single atomic statement; results are 1 or 0 from white's perspective.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO player_stats (username, opponent, style, total, wins, draws, losses) VALUES "
+			+ "(:white, '*', :style, 1, :whiteWin, :draw, :blackWin), "
+			+ "(:black, '*', :style, 1, :blackWin, :draw, :whiteWin), "
+			+ "(:white, :black, :style, 1, :whiteWin, :draw, :blackWin), "
+			+ "(:black, :white, :style, 1, :blackWin, :draw, :whiteWin) "
+			+ "ON DUPLICATE KEY UPDATE total = total + 1, wins = wins + VALUES(wins), "
+			+ "draws = draws + VALUES(draws), losses = losses + VALUES(losses)", nativeQuery = true)
+	int addResult(String white, String black, String style, int whiteWin, int draw, int blackWin);
+
+	/**
+	 * Completed games from the perspective of each player: result 1 or 0 as win,
+	 * draw and loss.
+	 */
+	String RESULTS_SELECT = "SELECT g.white_username AS username, g.black_username AS opponent, g.style AS style, "
+			+ "CASE WHEN g.winner = g.white_username THEN 1 ELSE 0 END AS win, "
+			+ "CASE WHEN g.winner = 'Draw' THEN 1 ELSE 0 END AS draw, "
+			+ "CASE WHEN g.winner = g.black_username THEN 1 ELSE 0 END AS loss "
+			+ "FROM games g WHERE g.winner IS NOT NULL "
+			+ "UNION ALL "
+			+ "SELECT g.black_username, g.white_username, g.style, "
+			+ "CASE WHEN g.winner = g.black_username THEN 1 ELSE 0 END, "
+			+ "CASE WHEN g.winner = 'Draw' THEN 1 ELSE 0 END, "
+			+ "CASE WHEN g.winner = g.white_username THEN 1 ELSE 0 END "
+			+ "FROM games g WHERE g.winner IS NOT NULL";
+
+	/**
+	 * Head to head statistics summed from completed games; a plain (consistent)
+	 * read, such that within a transaction it sees the same games as the
+	 * statements before it.
+	 */
+	@Query(value = "SELECT s.username AS username, s.opponent AS opponent, s.style AS style, COUNT(*) AS total, "
+			+ "SUM(s.win) AS wins, SUM(s.draw) AS draws, SUM(s.loss) AS losses FROM (" + RESULTS_SELECT + ") s "
+			+ "GROUP BY s.username, s.opponent, s.style", nativeQuery = true)
+	List<PlayerStatsTotals> sumHeadToHead();
+
+	/**
+	 * Overall statistics summed from completed games (see sumHeadToHead).
+	 */
+	@Query(value = "SELECT s.username AS username, '*' AS opponent, s.style AS style, COUNT(*) AS total, "
+			+ "SUM(s.win) AS wins, SUM(s.draw) AS draws, SUM(s.loss) AS losses FROM (" + RESULTS_SELECT + ") s "
+			+ "GROUP BY s.username, s.style", nativeQuery = true)
+	List<PlayerStatsTotals> sumOverall();
+
+	/**
+	 * Adds to the statistics of a player, creating them if absent; merges with
+	 * games counted concurrently (addResult) rather than failing on their key.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO player_stats (username, opponent, style, total, wins, draws, losses) "
+			+ "VALUES (:username, :opponent, :style, :total, :wins, :draws, :losses) "
+			+ "ON DUPLICATE KEY UPDATE total = total + VALUES(total), wins = wins + VALUES(wins), "
+			+ "draws = draws + VALUES(draws), losses = losses + VALUES(losses)", nativeQuery = true)
+	int addTotals(String username, String opponent, String style, int total, int wins, int draws, int losses);
+}
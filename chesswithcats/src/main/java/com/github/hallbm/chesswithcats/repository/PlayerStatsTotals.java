@@ -0,0 +1,22 @@
+package com.github.hallbm.chesswithcats.repository;
+
+/**
+ * Projection of the completed games of a player per style, against an opponent
+ * or against all opponents, as summed by the statistics backfill.
+ */
+public interface PlayerStatsTotals {
+
+	String getUsername();
+
+	String getOpponent();
+
+	String getStyle();
+
+	Integer getTotal();
+
+	Integer getWins();
+
+	Integer getDraws();
+
+	Integer getLosses();
+}
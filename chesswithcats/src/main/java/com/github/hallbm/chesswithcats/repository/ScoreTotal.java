@@ -0,0 +1,14 @@
+package com.github.hallbm.chesswithcats.repository;
+
+/**
+ * Projection of the won and lost games of a player per style to their score, as
+ * summed by the leaderboard backfill.
+ */
+public interface ScoreTotal {
+
+	String getUsername();
+
+	String getStyle();
+
+	Integer getScore();
+}
@@ -0,0 +1,303 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+import com.github.hallbm.chesswithcats.repository.GameMoveRepository;
+import com.github.hallbm.chesswithcats.repository.GamePositionRepository;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, least recently used cache of active games keyed by game id. Cached
+ * games hold the live GamePlay and MoveValidator, such that moves on a hot game
+ * are validated and applied without loading and merging the game per move.
+ *
+ * Persistence is write-behind: games updated by a move are marked dirty and
+ * saved in batches by a scheduled flush. A game is saved synchronously and
+ * evicted when it is completed. Only clean games, not in use (game lock free),
+ * are evicted for capacity: dirty games remain cached until flushed, such that
+ * a game is never evicted with unsaved state, nor while a move is applied to it.
+ * Only active games (winner not set) are cached.
+ *
+ * Games are saved under the game's GameMoveExecutor lock, together with their
+ * unsaved GameMove and GamePosition rows in one transaction, such that a move is never persisted
+ * half applied. Versions of the saved game are copied back to
+ * the cached game; a game whose save fails the optimistic version check (i.e.,
+ * updated elsewhere) is evicted, such that it is reloaded on next access.
+ *
+ * Moves not flushed yet are kept in the MoveJournal; each flush rotates the
+ * journal first and deletes the closed segments once all dirty games are saved.
+ * Segments are retained until the next startup (recovery) if a dirty game is no
+ * longer cached, i.e., its moves may only be in the journal.
+ */
+@Slf4j
+@Service
+public class ActiveGameCache {
+
+	@Autowired
+	private GameRepository gameRepo;
+
+	@Autowired
+	private GameMoveRepository gameMoveRepo;
+
+	@Autowired
+	private GamePositionRepository gamePositionRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private GameMoveExecutor moveExecutor;
+
+	@Autowired
+	private MoveJournal moveJournal;
+
+	@Value("${chesswithcats.game-cache.capacity:1000}")
+	private int capacity;
+
+	private final Map<Long, Game> games = new LinkedHashMap<>(16, 0.75f, true);
+	private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Returns the cached game, or loads the game on a cache miss; null if no such
+	 * game exists.
+	 */
+	public Game get(Long id) {
+		Game game = getIfPresent(id);
+
+		if (game != null) {
+			return game;
+		}
+
+		game = gameRepo.findWithPlayersById(id).orElse(null);
+
+		if (game == null || game.getWinner() != null) {
+			return game;
+		}
+
+		loadMoves(game);
+
+		synchronized (games) {
+			Game cached = games.putIfAbsent(id, game);
+
+			if (cached != null) {
+				return cached;
+			}
+		}
+		evictOverCapacity(id);
+		return game;
+	}
+
+	public Game getIfPresent(Long id) {
+		synchronized (games) {
+			return games.get(id);
+		}
+	}
+
+	/**
+	 * Adds a newly persisted game to the cache.
+	 */
+	public void put(Game game) {
+		synchronized (games) {
+			games.put(game.getId(), game);
+		}
+		evictOverCapacity(game.getId());
+	}
+
+	/**
+	 * Schedules the (cached) game to be saved by the next flush.
+	 */
+	public void markDirty(Game game) {
+		dirtyIds.add(game.getId());
+	}
+
+	/**
+	 * Journals a move about to be applied to the cached game, under the game's
+	 * lock. The game is marked dirty before the move is appended, such that a
+	 * flush rotating the journal past the entry also saves the game (waiting for
+	 * the lock, i.e., for the move to be applied) before deleting the segment.
+	 */
+	public void journalMove(Game game, int halfMove, MoveDTO moveDTO, String actualEndPos) {
+		markDirty(game);
+		moveJournal.append(game.getId(), halfMove, moveDTO, actualEndPos);
+	}
+
+	/**
+	 * Saves a completed (or otherwise changed outside of move processing) game
+	 * synchronously and removes it from the cache.
+	 */
+	public Game complete(Game game) {
+		evict(game.getId());
+		return save(game);
+	}
+
+	/**
+	 * Removes the game from the cache without saving it, e.g., prior to deleting
+	 * the game.
+	 */
+	public void evict(Long id) {
+		dirtyIds.remove(id);
+
+		synchronized (games) {
+			games.remove(id);
+		}
+	}
+
+	/**
+	 * Saves all dirty games, each in its own transaction, such that a stale game
+	 * does not roll back the others.
+	 */
+	@Scheduled(fixedDelayString = "${chesswithcats.game-cache.flush-interval-ms:2000}")
+	public synchronized void flush() {
+		List<Path> segments = moveJournal.rotate();
+
+		if (dirtyIds.isEmpty() && segments.isEmpty()) {
+			return;
+		}
+
+		int count = 0;
+		boolean failed = false;
+		boolean orphaned = false;
+
+		for (Iterator<Long> it = dirtyIds.iterator(); it.hasNext();) {
+			Long id = it.next();
+			it.remove();
+
+			Game game = getIfPresent(id);
+
+			if (game == null) {
+				log.error("dirty game {} no longer cached, retaining journal for recovery on restart", id);
+				orphaned = true;
+				continue;
+			}
+
+			try {
+				save(game);
+				count++;
+			} catch (ObjectOptimisticLockingFailureException e) {
+				log.warn("game {} updated elsewhere, discarding cached state", id);
+				evict(id);
+			} catch (RuntimeException e) {
+				log.error("unable to save game {}, retrying on next flush", id, e);
+				dirtyIds.add(id);
+				failed = true;
+			}
+		}
+
+		if (orphaned) {
+			moveJournal.retain(segments);
+		} else if (!failed) {
+			moveJournal.delete(segments);
+		}
+		log.debug("flushed {} active games", count);
+		evictOverCapacity(null);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	public int size() {
+		synchronized (games) {
+			return games.size();
+		}
+	}
+
+	private Game save(Game game) {
+		return moveExecutor.execute(game.getId(), () -> transactionTemplate.execute(status -> {
+			if (!game.getUnsavedMoves().isEmpty()) {
+				gameMoveRepo.saveAll(game.getUnsavedMoves());
+			}
+
+			GamePlay gamePlay = game.getGamePlay();
+
+			// positions of a completed game are deleted with its game play
+			if (gamePlay != null && !gamePlay.getUnsavedPositions().isEmpty()) {
+				gamePositionRepo.saveAll(gamePlay.getUnsavedPositions());
+			}
+
+			Game saved = gameRepo.saveAndFlush(game);
+
+			game.setVersion(saved.getVersion());
+			game.getUnsavedMoves().clear();
+
+			if (gamePlay != null && saved.getGamePlay() != null) {
+				gamePlay.setVersion(saved.getGamePlay().getVersion());
+				gamePlay.getUnsavedPositions().clear();
+			}
+			return saved;
+		}));
+	}
+
+	/**
+	 * Derives the move history of an active game from the GameMove log (preceded
+	 * by the history stored prior to the log, if any).
+	 */
+	private void loadMoves(Game game) {
+		GamePlay gamePlay = game.getGamePlay();
+
+		if (gamePlay == null) {
+			return;
+		}
+
+		StringBuilder moves = new StringBuilder(gamePlay.getLegacyMoves() == null ? "" : gamePlay.getLegacyMoves());
+		gameMoveRepo.findNotationsByGameIdBefore(game.getId(), gamePlay.getHalfMoves()).forEach(moves::append);
+		gamePlay.setMoves(moves);
+	}
+
+	/**
+	 * Evicts least recently used games while over capacity, skipping dirty games
+	 * (evicted once flushed), games in use and the game just added (@Param keepId).
+	 * The state of a game is checked under its lock, without waiting for it.
+	 */
+	private void evictOverCapacity(Long keepId) {
+		List<Game> candidates;
+
+		synchronized (games) {
+			if (games.size() <= capacity) {
+				return;
+			}
+			candidates = new ArrayList<>(games.values());
+		}
+
+		for (Game game : candidates) {
+			if (size() <= capacity) {
+				return;
+			}
+
+			Long id = game.getId();
+
+			if (id.equals(keepId)) {
+				continue;
+			}
+
+			moveExecutor.tryExecute(id, () -> {
+				if (!dirtyIds.contains(id)) {
+					synchronized (games) {
+						games.remove(id, game);
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MoveEventBus across nodes: events are published (as JSON) to a single broker
+ * channel, which every node subscribes to and delivers to its own listeners.
+ * The publishing node receives its own events through the broker as well, such
+ * that delivery is identical on all nodes.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "chesswithcats.move-events.bus", havingValue = "redis")
+public class BrokerMoveEventBus implements MoveEventBus {
+
+	public static final String CHANNEL = "chesswithcats:moves";
+
+	@Autowired
+	private EventBroker broker;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<Consumer<MoveEventDTO>> listeners = new CopyOnWriteArrayList<>();
+
+	@PostConstruct
+	public void init() {
+		broker.subscribe(CHANNEL, this::receive);
+	}
+
+	@Override
+	public void publish(MoveEventDTO event) {
+		try {
+			broker.publish(CHANNEL, objectMapper.writeValueAsString(event));
+		} catch (JsonProcessingException e) {
+			log.error("unable to encode move event for game {}", event.getGameId(), e);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<MoveEventDTO> listener) {
+		listeners.add(listener);
+	}
+
+	private void receive(String message) {
+		MoveEventDTO event;
+
+		try {
+			event = objectMapper.readValue(message, MoveEventDTO.class);
+		} catch (JsonProcessingException e) {
+			log.warn("discarding malformed move event: {}", message);
+			return;
+		}
+
+		for (Consumer<MoveEventDTO> listener : listeners) {
+			listener.accept(event);
+		}
+	}
+}
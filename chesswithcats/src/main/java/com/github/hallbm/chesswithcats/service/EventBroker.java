@@ -0,0 +1,15 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe message broker shared between nodes; a message published
+ * to a channel is received by the listeners of that channel on every node,
+ * including the publishing node.
+ */
+public interface EventBroker {
+
+	void publish(String channel, String message);
+
+	void subscribe(String channel, Consumer<String> listener);
+}
@@ -1,23 +1,31 @@
 package com.github.hallbm.chesswithcats.service;
 
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
-import com.github.hallbm.chesswithcats.model.FriendRequest;
-import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.domain.FriendEnums.BlockedBy;
+import com.github.hallbm.chesswithcats.listener.FriendshipChangedEvent;
+import com.github.hallbm.chesswithcats.repository.FriendConnection;
 import com.github.hallbm.chesswithcats.repository.FriendRequestRepository;
 
-import jakarta.transaction.Transactional;
-
 /**
  * Services for maintaining player relationships.
+ *
+ * The relationships of a player (friends, sent and received pending requests,
+ * blocks) are read with a single query and held in memory, for up to the
+ * cache capacity of most recently used players. Cached relationships of both
+ * players are discarded on any change (FriendshipChangedEvent), and expire
+ * after the cache time to live, e.g., when changed on another node.
  */
 
 @Service
@@ -26,105 +34,130 @@ public class FriendServices {
 	@Autowired
 	private FriendRequestRepository friendReqRepo;
 
+	@Value("${chesswithcats.friends.cache-capacity:10000}")
+	private int capacity;
+
+	@Value("${chesswithcats.friends.cache-ttl-ms:300000}")
+	private long ttlMs;
+
+	private final Map<String, Connections> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Connections> eldest) {
+			return size() > capacity;
+		}
+	};
+
+	/**
+	 * Incremented on every change, such that relationships read before a change
+	 * are not cached after it.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Relationships of a player by username, sorted for display.
+	 */
+	private static class Connections {
+		private final Set<String> friends = new TreeSet<>();
+		private final Set<String> sentPending = new TreeSet<>();
+		private final Set<String> receivedPending = new TreeSet<>();
+		private final Set<String> blockedByPlayer = new TreeSet<>();
+		private final Set<String> blocked = new HashSet<>();
+		private final Set<String> all = new HashSet<>();
+		private final long loadedAt = System.currentTimeMillis();
+
+		private Connections(String username, Iterable<FriendConnection> connections) {
+			for (FriendConnection connection : connections) {
+				boolean isSender = connection.getSender().equals(username);
+				String other = isSender ? connection.getReceiver() : connection.getSender();
+
+				switch (connection.getStatus()) {
+				case ACCEPTED -> friends.add(other);
+				case PENDING -> (isSender ? sentPending : receivedPending).add(other);
+				case BLOCKED -> {
+					blocked.add(other);
+
+					if (connection.getBlockedBy() == (isSender ? BlockedBy.SENDER : BlockedBy.RECEIVER)) {
+						blockedByPlayer.add(other);
+					}
+				}
+				}
+				all.add(other);
+			}
+			all.add(username);
+		}
+	}
+
 	/**
 	 * Returns a set of usernames that have sent friend requests to the @Param currentUsername.
 	 */
-	@Transactional
 	public Set<String> getReceivedFriendRequestUsernames(String currentUsername){
-		List<FriendRequest> receivedPendingRequests =
-				friendReqRepo.findByReceiverUsernameAndStatus(currentUsername, FriendRequestStatus.PENDING);
-		Set<String> requestingPlayerUsernames = receivedPendingRequests.stream()
-					.map(FriendRequest::getSender)
-					.map(Player::getUsername)
-					.collect(Collectors.toCollection(TreeSet::new));
-		return requestingPlayerUsernames;
+		return Collections.unmodifiableSet(getConnections(currentUsername).receivedPending);
 	}
 
 	/**
 	 * Returns a set of usernames that have been sent friend requests by the @Param currentUsername.
 	 */
-	@Transactional
 	public Set<String> getPendingFriendRequestUsernames(String currentUsername) {
-		List<FriendRequest> sentPendingRequests =
-				friendReqRepo.findBySenderUsernameAndStatus(currentUsername, FriendRequestStatus.PENDING);
-		Set<String> requestedPlayerUsernames = sentPendingRequests.stream()
-				.map(FriendRequest::getReceiver)
-				.map(Player::getUsername)
-				.collect(Collectors.toCollection(TreeSet::new));
-		return requestedPlayerUsernames;
+		return Collections.unmodifiableSet(getConnections(currentUsername).sentPending);
 	}
 
 	/**
 	 * Returns a set of usernames that have been blocked by the @Param currentUsername.
 	 */
-	@Transactional
 	public Set<String> getBlockedUsernames (String currentUsername) {
-		List<FriendRequest> blockedFriendRequests =
-				friendReqRepo.getBlockedByUsername(currentUsername);
-		
-		Set<String> blockedUsernames = new TreeSet<>();
-		
-		for (FriendRequest fr : blockedFriendRequests) {
-			blockedUsernames.add(fr.getSender().getUsername());
-			blockedUsernames.add(fr.getReceiver().getUsername());
-		}
-		
-		blockedUsernames.remove(currentUsername);
-		
-		return blockedUsernames;
+		return Collections.unmodifiableSet(getConnections(currentUsername).blockedByPlayer);
 	}
-	
-	@Transactional
-	public Set<Player> getBlockedPlayers (String currentUsername) {
-		List<FriendRequest> blockedFriendRequests =
-				friendReqRepo.getByUsernameAndStatus(currentUsername,FriendRequestStatus.BLOCKED.toString());
-		
-		Set<Player> blockedPlayers = new HashSet<>();
-		
-		for (FriendRequest fr : blockedFriendRequests) {
-			blockedPlayers.add(fr.getSender());
-			blockedPlayers.add(fr.getReceiver());
-		}
-		
-		return blockedPlayers;
+
+	/**
+	 * Returns a set of usernames blocked by or blocking the @Param currentUsername.
+	 */
+	public Set<String> getAllBlockedUsernames (String currentUsername) {
+		return Collections.unmodifiableSet(getConnections(currentUsername).blocked);
 	}
-	
+
 	/**
 	 * Returns a set of usernames that have been befriended by the @Param currentUsername.
 	 */
-	@Transactional
 	public Set<String> getFriendUsernames (String currentUsername){
-
-		List<FriendRequest> acceptedFriendRequests =
-				friendReqRepo.getByUsernameAndStatus(currentUsername, FriendRequestStatus.ACCEPTED.toString());
-		Set<String> friendsUsernames = new TreeSet<>();
-		
-		for (FriendRequest fr : acceptedFriendRequests) {
-			friendsUsernames.add(fr.getSender().getUsername());
-			friendsUsernames.add(fr.getReceiver().getUsername());
-		}
-		
-		friendsUsernames.remove(currentUsername);
-		return friendsUsernames;
+		return Collections.unmodifiableSet(getConnections(currentUsername).friends);
 	}
 
 	/**
 	 * Returns a set of usernames for all associated 'friend requests' in the database regardless of status for the @Param currentUsername.
 	 * Includes accepted, sent/received pending requests, and blocked status (either party).
 	 */
-	@Transactional
 	public Set<String> getAllConnectionUsernamesAndSelf (String currentUsername){
-		List<FriendRequest> connections =
-				friendReqRepo.getByUsername(currentUsername);
-		Set<String> connectionUsernames = connections.stream()
-				.map(FriendRequest::getSender)
-				.map(Player::getUsername)
-				.collect(Collectors.toSet());
-		connectionUsernames.addAll(connections.stream()
-				.map(FriendRequest::getReceiver)
-				.map(Player::getUsername)
-				.collect(Collectors.toSet()));
-		connectionUsernames.add(currentUsername);
-		return connectionUsernames;
+		return Collections.unmodifiableSet(getConnections(currentUsername).all);
+	}
+
+	@EventListener
+	public void onFriendshipChanged(FriendshipChangedEvent event) {
+		synchronized (cache) {
+			generation.incrementAndGet();
+			cache.remove(event.getUsername());
+			cache.remove(event.getOtherUsername());
+		}
+	}
+
+	private Connections getConnections(String username) {
+		long loadGeneration;
+
+		synchronized (cache) {
+			Connections connections = cache.get(username);
+
+			if (connections != null && System.currentTimeMillis() - connections.loadedAt < ttlMs) {
+				return connections;
+			}
+			loadGeneration = generation.get();
+		}
+
+		Connections connections = new Connections(username, friendReqRepo.getConnectionsByUsername(username));
+
+		synchronized (cache) {
+			if (generation.get() == loadGeneration) {
+				cache.put(username, connections);
+			}
+		}
+		return connections;
 	}
 }
@@ -1,15 +1,15 @@
 package com.github.hallbm.chesswithcats.service;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
 import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.Square;
+import com.github.hallbm.chesswithcats.domain.Zobrist;
 import com.github.hallbm.chesswithcats.model.Game;
 import com.github.hallbm.chesswithcats.model.GameBoard;
 
@@ -21,73 +21,24 @@ import com.github.hallbm.chesswithcats.model.GameBoard;
 public final class GameBoardServices {
 
 	/**
-	 * Square positions of the corresponding PieceNotation[][] board: e.g., [0][0] =
+	 * Square names and board indices are derived via domain.Square, e.g., [0][0] =
 	 * "A8".
 	 */
-	private final static String[][] squares = { { "A8", "B8", "C8", "D8", "E8", "F8", "G8", "H8" },
-			{ "A7", "B7", "C7", "D7", "E7", "F7", "G7", "H7" }, { "A6", "B6", "C6", "D6", "E6", "F6", "G6", "H6" },
-			{ "A5", "B5", "C5", "D5", "E5", "F5", "G5", "H5" }, { "A4", "B4", "C4", "D4", "E4", "F4", "G4", "H4" },
-			{ "A3", "B3", "C3", "D3", "E3", "F3", "G3", "H3" }, { "A2", "B2", "C2", "D2", "E2", "F2", "G2", "H2" },
-			{ "A1", "B1", "C1", "D1", "E1", "F1", "G1", "H1" } };
-
-	/**
-	 * Mapping of column letter to PieceNotation[][] board index.
-	 */
-	private final static Map<Character, Integer> columnMap = new HashMap<>() {
-
-		private static final long serialVersionUID = 1L;
-
-		{
-			put('A', 0);
-			put('B', 1);
-			put('C', 2);
-			put('D', 3);
-			put('E', 4);
-			put('F', 5);
-			put('G', 6);
-			put('H', 7);
-		}
-	};
-
-	/**
-	 * Mapping of row number to PieceNotation[][] board index.
-	 */
-	private final static Map<Character, Integer> rowMap = new HashMap<>() {
-
-		private static final long serialVersionUID = 1L;
-
-		{
-			put('1', 7);
-			put('2', 6);
-			put('3', 5);
-			put('4', 4);
-			put('5', 3);
-			put('6', 2);
-			put('7', 1);
-			put('8', 0);
-		}
-	};
-
 	public static String getPosition(int row, int col) {
-		return squares[row][col];
+		return Square.getName(row, col);
 	}
 
 	public static int getColumn(String location) {
-		return columnMap.get(location.charAt(0));
+		return Square.getColumn(location);
 	}
 
 	public static int getRow(String location) {
-		return rowMap.get(location.charAt(1));
+		return Square.getRow(location);
 	}
 
-	public static int[] getCoordinates (String location) {
-		return new int[] {rowMap.get(location.charAt(1)), columnMap.get(location.charAt(0))};
-	}
-	
 	/**
 	 * Initial game setup of classic chess game. String[] pieces converted to
-	 * PieceNotation. PieceNotation [][] board and HashMap<String,PieceNotation>
-	 * pieceMap assigned pieces.
+	 * PieceNotation. PieceNotation [][] board assigned pieces.
 	 */
 	public static void setupGameBoard(Game game) {
 
@@ -96,21 +47,21 @@ public final class GameBoardServices {
 
 		for (int row : new int[] { 0, 1, 6, 7 }) {
 			for (int col = 0; col < 8; col++) {
-				game.getGamePlay().getGameBoard().getBoard()[row][col] = PieceNotation.valueOf(pieces[index]);
-				game.getGamePlay().getGameBoard().getPieceMap().put(GameBoardServices.getPosition(row, col),
-						PieceNotation.valueOf(pieces[index++]));
+				game.getGamePlay().getGameBoard().getBoard()[row][col] = PieceNotation.valueOf(pieces[index++]);
 			}
 		}
 
 		if (game.getStyle() == GameStyle.OBSTRUCTIVE) {
 			addFourCats(game);
 		}
+
+		GameBoard gameBoard = game.getGamePlay().getGameBoard();
+		gameBoard.setPieceHash(Zobrist.hash(gameBoard.getBoard()));
 	}
 
 	/**
 	 * For 'obstructive' game, 4 cats added to the game board (1 per quadrant)
-	 * PieceNotation [][] board and HashMap<String,PieceNotation> pieceMap assigned
-	 * cats. Cats do not overlap on rank or file.
+	 * PieceNotation [][] board assigned cats. Cats do not overlap on rank or file.
 	 */
 	public static void addFourCats(Game game) {
 		int[][] quads = new int[4][2];
@@ -139,8 +90,6 @@ public final class GameBoardServices {
 		// Add cats to the board
 		for (int[] q : quads) {
 			game.getGamePlay().getGameBoard().getBoard()[q[0]][q[1]] = PieceNotation.C;
-			game.getGamePlay().getGameBoard().getPieceMap().put(GameBoardServices.getPosition(q[0], q[1]),
-					PieceNotation.C);
 		}
 	}
 
@@ -195,8 +144,7 @@ public final class GameBoardServices {
 	/**
 	 * Movement of chess pieces on the persisted board
 	 * 
-	 * @Param GameBoard provides PieceNotation[][] board and
-	 *        HashMap<String,PieceNotation> pieceMap to be updated
+	 * @Param GameBoard provides PieceNotation[][] board to be updated
 	 * @param List<String[]> moves from moveResponseDTO; String[2] represents either
 	 *                       [startPos, endPos] for any move (e.g., ["A2","A4"]) or
 	 *                       represents [en passant capture position, null] for an
@@ -207,8 +155,8 @@ public final class GameBoardServices {
 	 *                       castling or removal of ep captured pawn) followed by 2)
 	 *                       the original move made by the player.
 	 * @param String         promotionPiece from moveDTO to indicate which piece to
-	 *                       replace the promoted pawn PieceNotation [][] board and
-	 *                       HashMap<String,PieceNotation> pieceMap updated.
+	 *                       replace the promoted pawn PieceNotation [][] board
+	 *                       updated.
 	 */
 	public static void movePiece(GameBoard board, List<String[]> moves, String promotionPiece) {
 		int start_row, start_col, end_row, end_col;
@@ -218,27 +166,27 @@ public final class GameBoardServices {
 			start_col = getColumn(move[0]);
 
 			if (move[1].equals("ep")) { // en passant capture
+				board.updatePieceHash(board.getBoard()[start_row][start_col], Square.of(start_row, start_col));
 				board.getBoard()[start_row][start_col] = null;
-				board.getPieceMap().remove(move[0]);
 				continue;
 			}
 
 			end_row = getRow(move[1]);
 			end_col = getColumn(move[1]);
 
+			// remove moved and captured piece from hash prior to updating board
+			board.updatePieceHash(board.getBoard()[start_row][start_col], Square.of(start_row, start_col));
+			board.updatePieceHash(board.getBoard()[end_row][end_col], Square.of(end_row, end_col));
+
 			if (promotionPiece != null) {
 				board.getBoard()[end_row][end_col] = PieceNotation.valueOf(promotionPiece);
 				board.getBoard()[start_row][start_col] = null;
-
-				board.getPieceMap().remove(move[0]);
-				board.getPieceMap().put(move[1], board.getBoard()[end_row][end_col]);
 			} else {
 				board.getBoard()[end_row][end_col] = board.getBoard()[start_row][start_col];
 				board.getBoard()[start_row][start_col] = null;
-
-				board.getPieceMap().remove(move[0]);
-				board.getPieceMap().put(move[1], board.getBoard()[end_row][end_col]);
 			}
+
+			board.updatePieceHash(board.getBoard()[end_row][end_col], Square.of(end_row, end_col));
 		}
 	}
 
@@ -0,0 +1,78 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Serializes processing of moves (and any other change to the state of an
+ * active game) per game, while moves of different games run in parallel.
+ *
+ * Game ids are mapped onto a fixed number of lock stripes, such that memory is
+ * bounded regardless of the number of active games; locks are reentrant, such
+ * that a task may complete/save its own game. Tasks must not acquire the lock
+ * of another game.
+ */
+@Service
+public class GameMoveExecutor {
+
+	private static final int STRIPE_BITS = 8;
+
+	private final ReentrantLock[] locks = new ReentrantLock[1 << STRIPE_BITS];
+
+	public GameMoveExecutor() {
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	public <T> T execute(Long gameId, Supplier<T> task) {
+		ReentrantLock lock = getLock(gameId);
+		lock.lock();
+
+		try {
+			return task.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void execute(Long gameId, Runnable task) {
+		execute(gameId, () -> {
+			task.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Runs the task only if the game's lock is available without waiting, e.g.,
+	 * for housekeeping of games not in use; returns whether the task ran.
+	 */
+	public boolean tryExecute(Long gameId, Runnable task) {
+		ReentrantLock lock = getLock(gameId);
+
+		if (!lock.tryLock()) {
+			return false;
+		}
+
+		try {
+			task.run();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean isHeldByCurrentThread(Long gameId) {
+		return getLock(gameId).isHeldByCurrentThread();
+	}
+
+	/**
+	 * Fibonacci hashing of the game id, such that sequential ids are spread over
+	 * all stripes.
+	 */
+	private ReentrantLock getLock(Long gameId) {
+		return locks[(Long.hashCode(gameId) * 0x9E3779B9) >>> (32 - STRIPE_BITS)];
+	}
+}
@@ -0,0 +1,158 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.hallbm.chesswithcats.domain.GameReplay;
+import com.github.hallbm.chesswithcats.repository.GameMoveHistory;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+
+/**
+ * Positions of completed games, reconstructed from the opening position and
+ * move history kept with the game (positions are deleted with the game play).
+ *
+ * A game is replayed once in full, recording a keyframe (FEN and offset in the
+ * move history) every keyframe interval half moves; any position is then found
+ * by replaying at most an interval of moves from the nearest keyframe before
+ * it. Keyframes are held in memory for up to the cache capacity of most
+ * recently replayed games; completed games do not change, such that keyframes
+ * do not expire.
+ */
+@Service
+public class GameReplayServices {
+
+	@Autowired
+	private GameRepository gameRepo;
+
+	@Value("${chesswithcats.replay.keyframe-interval:16}")
+	private int keyframeInterval;
+
+	@Value("${chesswithcats.replay.cache-capacity:256}")
+	private int capacity;
+
+	private final Map<Long, Keyframes> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Keyframes> eldest) {
+			return size() > capacity;
+		}
+	};
+
+	/**
+	 * Players and moves of a completed game, and the FEN and move offset of
+	 * positions 1, 1 + interval, 1 + 2 * interval, etc.
+	 */
+	private static class Keyframes {
+		private final String white;
+		private final String black;
+		private final String moves;
+		private final int interval;
+		private final List<String> fens = new ArrayList<>();
+		private final List<Integer> offsets = new ArrayList<>();
+		private final int plies;
+
+		private Keyframes(GameMoveHistory game, int interval) {
+			this.white = game.getWhite();
+			this.black = game.getBlack();
+			this.moves = game.getMoves();
+			this.interval = interval;
+
+			GameReplay replay = new GameReplay(game.getOpeningFen(), moves);
+
+			while (true) {
+				if ((replay.getHalfMoves() - 1) % interval == 0) {
+					fens.add(replay.getFen());
+					offsets.add(replay.getOffset());
+				}
+
+				if (!replay.hasNext()) {
+					break;
+				}
+				replay.next();
+			}
+			plies = replay.getHalfMoves();
+		}
+
+		private GameReplay replayFrom(int ply) {
+			int keyframe = Math.min((ply - 1) / interval, fens.size() - 1);
+			return new GameReplay(fens.get(keyframe), moves, offsets.get(keyframe));
+		}
+	}
+
+	/**
+	 * FEN of the position at the given half move (1 = opening position) of a
+	 * completed game played by @Param username; null if no such game or position.
+	 */
+	public String getPosition(Long gameId, String username, int ply) {
+		Keyframes keyframes = getKeyframes(gameId, username);
+
+		if (keyframes == null || ply < 1 || ply > keyframes.plies) {
+			return null;
+		}
+
+		GameReplay replay = keyframes.replayFrom(ply);
+		replay.advanceTo(ply);
+		return replay.getFen();
+	}
+
+	/**
+	 * FEN of (up to) count positions of a completed game played by @Param
+	 * username, from the given half move on; empty if no such game.
+	 */
+	public List<String> getPositions(Long gameId, String username, int fromPly, int count) {
+		Keyframes keyframes = getKeyframes(gameId, username);
+		List<String> positions = new ArrayList<>();
+
+		if (keyframes == null || fromPly < 1 || fromPly > keyframes.plies) {
+			return positions;
+		}
+
+		GameReplay replay = keyframes.replayFrom(fromPly);
+		replay.advanceTo(fromPly);
+		positions.add(replay.getFen());
+
+		while (positions.size() < count && replay.hasNext()) {
+			replay.next();
+			positions.add(replay.getFen());
+		}
+		return positions;
+	}
+
+	/**
+	 * Number of the last half move (position) of a completed game played by
+	 * @Param username; 0 if no such game.
+	 */
+	public int getPlies(Long gameId, String username) {
+		Keyframes keyframes = getKeyframes(gameId, username);
+		return keyframes == null ? 0 : keyframes.plies;
+	}
+
+	private Keyframes getKeyframes(Long gameId, String username) {
+		Keyframes keyframes;
+
+		synchronized (cache) {
+			keyframes = cache.get(gameId);
+		}
+
+		if (keyframes == null) {
+			GameMoveHistory game = gameRepo.findMoveHistoryById(gameId).orElse(null);
+
+			if (game == null || game.getWinner() == null || game.getMoves() == null) {
+				return null;
+			}
+
+			keyframes = new Keyframes(game, keyframeInterval);
+
+			synchronized (cache) {
+				cache.put(gameId, keyframes);
+			}
+		}
+
+		return keyframes.white.equals(username) || keyframes.black.equals(username) ? keyframes : null;
+	}
+}
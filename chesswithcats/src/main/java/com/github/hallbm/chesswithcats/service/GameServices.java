@@ -3,16 +3,16 @@ package com.github.hallbm.chesswithcats.service;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.github.hallbm.chesswithcats.domain.GameEnums.ChessMove;
 import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
@@ -27,14 +27,17 @@ import com.github.hallbm.chesswithcats.dto.GameRequestDTO;
 import com.github.hallbm.chesswithcats.dto.MoveDTO;
 import com.github.hallbm.chesswithcats.dto.MoveResponseDTO;
 import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GameMove;
 import com.github.hallbm.chesswithcats.model.GamePlay;
+import com.github.hallbm.chesswithcats.model.GamePosition;
 import com.github.hallbm.chesswithcats.model.GameRequest;
 import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.model.PlayerStats;
+import com.github.hallbm.chesswithcats.repository.GamePositionRepository;
 import com.github.hallbm.chesswithcats.repository.GameRepository;
 import com.github.hallbm.chesswithcats.repository.GameRequestRepository;
-import com.github.hallbm.chesswithcats.repository.PlayerRepository;
-
-import jakarta.transaction.Transactional;
+import com.github.hallbm.chesswithcats.repository.GameSummary;
+import com.github.hallbm.chesswithcats.repository.PlayerStatsRepository;
 
 /**
  * Services associated with CRUD for GameRequests long-term persisted Games.
@@ -49,10 +52,30 @@ public class GameServices {
 	private GameRepository gameRepo;
 
 	@Autowired
-	private PlayerRepository playerRepo;
+	private GamePositionRepository gamePositionRepo;
+
+	@Autowired
+	private PlayerStatsRepository statsRepo;
+
+	@Autowired
+	private ActiveGameCache gameCache;
+
+	@Autowired
+	private GameMoveExecutor moveExecutor;
 
 	@Autowired
-	private FriendServices friendServ;
+	private RatingServices ratingServ;
+
+	@Autowired
+	private LeaderboardServices leaderboardServ;
+
+	@Autowired
+	private PlayerStatsServices playerStatsServ;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static final int MAX_ATTEMPTS = 3;
 	
 	/**
 	 * Returns GameRequestDTO created from pending gameRequests sent from @Param
@@ -81,7 +104,7 @@ public class GameServices {
 	 * player for front end display
 	 */
 	public List<GameDTO> getActiveGameDTOs(String username) {
-		List<Game> activeList = gameRepo.getActiveByUsername(username);
+		List<GameSummary> activeList = gameRepo.getActiveSummariesByUsername(username);
 		List<GameDTO> activeListDTO = activeList.stream().map(game -> createGameDTO(game, username))
 				.collect(Collectors.toList());
 		return activeListDTO;
@@ -89,10 +112,12 @@ public class GameServices {
 
 	/**
 	 * Returns GameDTO created from completed games with @Param username listed as a
-	 * player for front end display
+	 * player for front end display; one page of (up to) pageSize games with an id
+	 * below beforeId (null for the most recent games).
 	 */
-	public List<GameDTO> getCompletedGameDTOs(String username) {
-		List<Game> completedList = gameRepo.getCompleteByUsername(username);
+	public List<GameDTO> getCompletedGameDTOs(String username, Long beforeId, int pageSize) {
+		List<GameSummary> completedList = gameRepo.getCompleteSummariesByUsername(username,
+				beforeId == null ? Long.MAX_VALUE : beforeId, pageSize);
 		List<GameDTO> completedListDTO = completedList.stream().map(game -> createGameDTO(game, username))
 				.collect(Collectors.toList());
 		return completedListDTO;
@@ -113,23 +138,28 @@ public class GameServices {
 	}
 
 	/**
-	 * Helper function for converting persisted Game into GameDTO
+	 * Helper function for converting a game summary (projection of a persisted
+	 * Game) into GameDTO
 	 */
-	private GameDTO createGameDTO(Game game, String username) {
+	private GameDTO createGameDTO(GameSummary game, String username) {
 
 		if (game == null) {
 			return null;
 		}
 
 		GameDTO gameDTO = new GameDTO();
-		boolean isCurrentWhite = username.equals(game.getWhite().getUsername());
+		boolean isCurrentWhite = game.getColor() == GameColor.WHITE;
 		gameDTO.setId(String.format("%06d", game.getId()));
-		gameDTO.setColor(isCurrentWhite ? GameColor.WHITE : GameColor.BLACK);
-		gameDTO.setOpponent(isCurrentWhite ? game.getBlack().getUsername() : game.getWhite().getUsername());
+		gameDTO.setColor(game.getColor());
+		gameDTO.setOpponent(game.getOpponent());
 		gameDTO.setStyle(game.getStyle());
 		gameDTO.setOutcome(game.getOutcome());
 		if (gameDTO.getOutcome() == GameOutcome.ACCEPTED || gameDTO.getOutcome() == GameOutcome.INCOMPLETE) {
-			boolean isWhiteTurn = game.getGamePlay().getHalfMoves() % 2 == 1 ? true : false;
+			// persisted state may lag behind the cached game until the next flush
+			Game liveGame = gameCache.getIfPresent(game.getId());
+			GamePlay liveGamePlay = liveGame != null ? liveGame.getGamePlay() : null;
+			int halfMoves = liveGamePlay != null ? liveGamePlay.getHalfMoves() : game.getHalfMoves();
+			boolean isWhiteTurn = halfMoves % 2 == 1 ? true : false;
 			gameDTO.setTurn((isCurrentWhite == isWhiteTurn) ? "YOURS" : "THEIRS");
 		} else {
 			if (game.getWinner().equals("Draw")) {
@@ -141,38 +171,19 @@ public class GameServices {
 		return gameDTO;
 	}
 
-	/**
-	 * Method for matching user with a random player. List of random players
-	 * prioritized by last login, with preference towards those logged in but not
-	 * actively playing. Returns random player or null if no players can be found.
-	 */
-	public Player findRandomOpponent(Player sender, GameStyle style) {
-
-		Set<Player> potentialOpponent = playerRepo.findTop20ByOrderByLastLoginDesc();
-		potentialOpponent.remove(sender);
-		potentialOpponent.removeAll(friendServ.getBlockedPlayers(sender.getUsername()));
-		potentialOpponent.removeAll(gameReqRepo.getReceiverBySenderAndStyle(sender, style));
-
-		if (potentialOpponent != null) {
-			for (Player p : potentialOpponent) {
-				return p;
-			}
-		}
-
-		return null;
-	}
-
 	/**
 	 * Method for forfeiting game. If no moves are made, game is simply deleted.
 	 * Otherwise, game outcome updated as 'resignation', and player requesting
 	 * forfeit take a loss, and opponent take a win.
 	 */
 	public void forfeitGame(Long id, String username) {
-		Game activeGame = gameRepo.findById(id).get();
+		executeOnActiveGame(id, username, activeGame -> {
+			if (activeGame.getOutcome() == GameOutcome.ACCEPTED) {
+				gameCache.evict(id);
+				gameRepo.delete(activeGame);
+				return;
+			}
 
-		if (activeGame.getOutcome() == GameOutcome.ACCEPTED) {
-			gameRepo.delete(activeGame);
-		} else {
 			activeGame.setOutcome(GameOutcome.RESIGNATION);
 
 			if (activeGame.getWhite().getUsername().equals(username)) {
@@ -181,10 +192,8 @@ public class GameServices {
 				activeGame.setWinner(activeGame.getWhite().getUsername());
 			}
 
-			activeGame.setMoves(activeGame.getGamePlay().getMoves().toString());
-			activeGame.setGamePlay(null);
-			gameRepo.save(activeGame);
-		}
+			completeGame(activeGame);
+		});
 	}
 
 	/**
@@ -194,12 +203,59 @@ public class GameServices {
 	 * stalemate, 50 move rule, etc.
 	 */
 	public void drawGame(Long id, String username) {
-		Game activeGame = gameRepo.findById(id).get();
-		activeGame.setOutcome(GameOutcome.AGREEMENT);
-		activeGame.setWinner("Draw");
-		activeGame.setMoves(activeGame.getGamePlay().getMoves().toString());
-		activeGame.setGamePlay(null);
-		gameRepo.save(activeGame);
+		executeOnActiveGame(id, username, activeGame -> {
+			activeGame.setOutcome(GameOutcome.AGREEMENT);
+			activeGame.setWinner("Draw");
+			completeGame(activeGame);
+		});
+	}
+
+	/**
+	 * Runs the task on the cached instance of an active game, holding the game's
+	 * lock; no effect if there is no such game (or it is completed), or if
+	 * @Param username is not one of its players (e.g., a spectator). A game
+	 * evicted (and reloaded) while waiting for the lock is retried on the cached
+	 * game, as moves are (see GameController.validateAJAXMove), such that a stale
+	 * copy never overwrites moves applied to the reloaded game.
+	 */
+	private void executeOnActiveGame(Long id, String username, Consumer<Game> task) {
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			Game game = gameCache.get(id);
+
+			if (game == null || game.getWinner() != null || game.colorOf(username) == null) {
+				return;
+			}
+
+			boolean executed = moveExecutor.execute(id, () -> {
+				if (gameCache.getIfPresent(id) != game) {
+					return false;
+				}
+				task.accept(game);
+				return true;
+			});
+
+			if (executed) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finalizes a game for which outcome and winner are set: the move history is
+	 * transferred to the game for long-term persistence, short-term game play data
+	 * removed, and the game saved synchronously and evicted from the active game
+	 * cache. Ratings, leaderboard scores and player statistics are updated in the
+	 * same transaction.
+	 */
+	public void completeGame(Game game) {
+		moveExecutor.execute(game.getId(), () -> transactionTemplate.executeWithoutResult(status -> {
+			game.setMoves(game.getGamePlay().getMoves().toString());
+			game.setGamePlay(null);
+			gameCache.complete(game);
+			ratingServ.recordResult(game);
+			leaderboardServ.recordResult(game);
+			playerStatsServ.recordResult(game);
+		}));
 	}
 
 	/**
@@ -208,10 +264,21 @@ public class GameServices {
 	 */
 	public Game createGameFromRequest(Long requestId) {
 
-		Game newGame = new Game();
-
 		GameRequest gameReq = gameReqRepo.findById(requestId).get();
-		newGame.setStyle(gameReq.getStyle());
+		Game newGame = createGame(gameReq.getSender(), gameReq.getReceiver(), gameReq.getStyle());
+		gameReqRepo.delete(gameReq);
+
+		return newGame;
+	}
+
+	/**
+	 * Creates and persists a new game between two players, colors assigned at
+	 * random (e.g., from a game request or a matchmaking pair). Returns new game.
+	 */
+	public Game createGame(Player player, Player opponent, GameStyle style) {
+
+		Game newGame = new Game();
+		newGame.setStyle(style);
 
 		if (newGame.getStyle() == GameStyle.AMBIGUOUS) {
 			newGame.getGamePlay().setMoveAttempts(0);
@@ -220,11 +287,11 @@ public class GameServices {
 		double randNum = Math.random();
 
 		if (randNum < 0.5) {
-			newGame.setWhite(gameReq.getSender());
-			newGame.setBlack(gameReq.getReceiver());
+			newGame.setWhite(player);
+			newGame.setBlack(opponent);
 		} else {
-			newGame.setWhite(gameReq.getReceiver());
-			newGame.setBlack(gameReq.getSender());
+			newGame.setWhite(opponent);
+			newGame.setBlack(player);
 		}
 
 		// TODO only include if opponent is not human:
@@ -235,30 +302,83 @@ public class GameServices {
 		newGame.setOpeningFen(openingFen);
 		newGame.setValidator();
 		gameRepo.save(newGame);
-		gameReqRepo.delete(gameReq);
+		// opening position saved with the next flush (marked first, such that the game is not evicted before)
+		gameCache.markDirty(newGame);
+		gameCache.put(newGame);
 		
 		return newGame;
 	}
 
 	/**
-	 * Method for generating game statistics for user's own profile page. Calculates
-	 * Total games, and Win,Lose,Draw percentages of completed games for user
-	 * Returns HashMap of GameStyle and an integer array of [Total games, Win%,
-	 * Draw%, Lose%]
+	 * FEN of the position at the given half move (1 = opening position) of an
+	 * active game; null if no such position.
+	 */
+	public String getPosition(Game game, int ply) {
+		return moveExecutor.execute(game.getId(), () -> {
+			GamePlay gamePlay = game.getGamePlay();
+
+			if (gamePlay == null) {
+				return null;
+			}
+
+			for (GamePosition position : gamePlay.getUnsavedPositions()) {
+				if (position.getPly() == ply) {
+					return position.getFen();
+				}
+			}
+			return gamePositionRepo.findFen(gamePlay.getId(), (short) ply).orElse(null);
+		});
+	}
+
+	/**
+	 * FEN of the last (up to) count positions of an active game, oldest first.
+	 * Positions not saved yet are taken from the game play, the remainder loaded
+	 * as a single page.
+	 */
+	public List<String> getLastPositions(Game game, int count) {
+		return moveExecutor.execute(game.getId(), () -> {
+			GamePlay gamePlay = game.getGamePlay();
+			List<String> positions = new ArrayList<>();
+
+			if (gamePlay == null) {
+				return positions;
+			}
+
+			List<GamePosition> unsaved = gamePlay.getUnsavedPositions();
+			int firstUnsavedPly = unsaved.isEmpty() ? gamePlay.getHalfMoves() + 1 : unsaved.get(0).getPly();
+
+			for (int i = unsaved.size() - 1; i >= 0 && positions.size() < count; i--) {
+				positions.add(unsaved.get(i).getFen());
+			}
+
+			if (positions.size() < count) {
+				positions.addAll(gamePositionRepo.findFensBefore(gamePlay.getId(), (short) firstUnsavedPly,
+						PageRequest.of(0, count - positions.size())));
+			}
+
+			Collections.reverse(positions);
+			return positions;
+		});
+	}
+
+	/**
+	 * Method for generating game statistics for user's own profile page. Reads
+	 * Total games, and Win,Lose,Draw counts of completed games for user (see
+	 * PlayerStats). Returns HashMap of GameStyle and an integer array of [Total
+	 * games, Win%, Draw%, Lose%]
 	 */
 	public Map<GameStyle, Integer[]> getWinDrawLosePercentageByPlayer(String username) {
-		return getWinDrawLosePercentage(gameRepo.getCompleteByUsernameOrderByStyle(username), username);
+		return getWinDrawLosePercentage(statsRepo.findByUsernameAndOpponent(username, PlayerStats.ALL_OPPONENTS));
 	}
 
 	/**
-	 * Method for generating game statistics for other user's profile page.
-	 * Calculates Total games, and Win,Lose,Draw percentages of completed games in
-	 * which both indicated users have played against each other Returns HashMap of
-	 * GameStyle and an integer array of [Total games, Win%, Draw%, Lose%]
+	 * Method for generating game statistics for other user's profile page. Reads
+	 * Total games, and Win,Lose,Draw counts of completed games in which both
+	 * indicated users have played against each other Returns HashMap of GameStyle
+	 * and an integer array of [Total games, Win%, Draw%, Lose%]
 	 */
 	public Map<GameStyle, Integer[]> getWinDrawLosePercentageByOpponents(String currentUsername, String username2) {
-		return getWinDrawLosePercentage(gameRepo.getCompleteByOpponentsOrderByStyle(currentUsername, username2),
-				currentUsername);
+		return getWinDrawLosePercentage(statsRepo.findByUsernameAndOpponent(currentUsername, username2));
 	}
 
 	/**
@@ -266,103 +386,36 @@ public class GameServices {
 	 * Returns HashMap of GameStyle and an integer array of [Total games, Win%,
 	 * Draw%, Lose%]
 	 */
-	public Map<GameStyle, Integer[]> getWinDrawLosePercentage(List<Game> databaseResults, String currentUsername) {
+	public Map<GameStyle, Integer[]> getWinDrawLosePercentage(List<PlayerStats> playerStats) {
 
 		Map<GameStyle, Integer[]> stats = new HashMap<>();
 
 		for (GameStyle gs : GameStyle.values()) {
 			stats.put(gs, new Integer[] { 0, 0, 0, 0 }); // TWDL
 		}
-		for (Game game : databaseResults) {
-			GameStyle gs = game.getStyle();
-			stats.get(gs)[0] += 1;
-			if (game.getWinner().equals("Draw")) {
-				stats.get(gs)[2] += 1;
-			} else if (game.getWinner().equals(currentUsername)) {
-				stats.get(gs)[1] += 1;
-			} else {
-				stats.get(gs)[3] += 1;
-			}
-		}
+		for (PlayerStats styleStats : playerStats) {
+			int total = styleStats.getTotal();
 
-		for (GameStyle gs : stats.keySet()) {
-			if (stats.get(gs)[0] == 0) {
+			if (total == 0) {
 				continue;
 			}
-			stats.get(gs)[1] = Math.round((float) stats.get(gs)[1] / (float) stats.get(gs)[0] * 100);
-			stats.get(gs)[2] = Math.round((float) stats.get(gs)[2] / (float) stats.get(gs)[0] * 100);
-			stats.get(gs)[3] = Math.round((float) stats.get(gs)[3] / (float) stats.get(gs)[0] * 100);
+			stats.put(styleStats.getStyle(),
+					new Integer[] { total, Math.round((float) styleStats.getWins() / (float) total * 100),
+							Math.round((float) styleStats.getDraws() / (float) total * 100),
+							Math.round((float) styleStats.getLosses() / (float) total * 100) });
 		}
 		return stats;
 	}
 
-	/**
-	 * Method for calculating leaderboard stats, i.e., top 5 players for a given
-	 * game style. Player scores calculated by total wins minus total losses per
-	 * game style (WIN +1, DRAW 0, LOSS -1).
-	 * 
-	 * @Param GameStyle Returns an ArrayList of up to 5 Object[], representing
-	 *        [Player, score]
-	 */
-	public List<Object[]> getTopPlayers(GameStyle style) {
-		List<Game> games = gameRepo.getWonOrLostGamesByStyle(style.toString()).orElse(null);
-
-		if (games == null) {
-			return null;
-		}
-
-		Map<String, Integer> rankMap = new HashMap<>();
-
-		for (Game game : games) {
-			String white = game.getWhite().getUsername();
-			String black = game.getBlack().getUsername();
-			String winner = game.getWinner();
-
-			rankMap.putIfAbsent(white, 0);
-			rankMap.putIfAbsent(black, 0);
-
-			if (white.equals(winner)) {
-				rankMap.put(white, rankMap.get(white) + 1);
-				rankMap.put(black, rankMap.get(black) - 1);
-			} else if (black.equals(winner)) {
-				rankMap.put(white, rankMap.get(white) - 1);
-				rankMap.put(black, rankMap.get(black) + 1);
-			} else {
-
-			}
-		}
-
-		List<Map.Entry<String, Integer>> top5Players = new ArrayList<>(rankMap.entrySet());
-
-		Collections.sort(top5Players, new Comparator<Map.Entry<String, Integer>>() {
-			@Override
-			public int compare(Map.Entry<String, Integer> o1, Map.Entry<String, Integer> o2) {
-				return o2.getValue().compareTo(o1.getValue());
-			}
-		});
-
-		List<Object[]> ranking = new ArrayList<>();
-
-		int index = 0;
-		for (Map.Entry<String, Integer> rank : top5Players.subList(0, Math.min(top5Players.size(), 5))) {
-			index++;
-			ranking.add(new Object[] { index, rank.getKey(), rank.getValue() });
-		}
-
-		return ranking;
-
-	}
-
 	/**
 	 * Game controller will evaluate response of the above function, and if valid,
 	 * will call this function to finalize game state and persist move and effects:
 	 * Pieces moved within board of persisted gameplay object. Official chess move
 	 * added to gameplay object. 50 move clock reset if pawn moved or if capture
-	 * occurred. FEN updated in gameplay. Move count incremented. GamePlay object
-	 * saved.
+	 * occurred. FEN updated in gameplay. Move count incremented. Game marked dirty
+	 * in the active game cache (saved by write-behind), or saved synchronously if
+	 * the move ends the game; no database access otherwise.
 	 */
-	@Modifying
-	@Transactional
 	public MoveResponseDTO updateGameState(Game game, MoveDTO moveDTO) {
 
 		GamePlay gamePlay = game.getGamePlay();
@@ -386,7 +439,7 @@ public class GameServices {
 		gamePlay.setIsInCheck(moveVal.getChessMoves().contains(ChessMove.CHECK));
 
 		boolean isCaptureMove = moveVal.getChessMoves().contains(ChessMove.CAPTURE);
-		boolean isPawnMove = moveResponseDTO.getMoveNotation().toLowerCase().startsWith("p");
+		boolean isPawnMove = moveVal.getMovedPiece().getType() == PieceType.PAWN;
 
 		if (isCaptureMove || isPawnMove) {
 			gamePlay.resetFiftyMoveClock();
@@ -415,17 +468,21 @@ public class GameServices {
 
 		gamePlay.setEnPassantTargetSquare(moveVal.getEnPassantSquare());
 
+		// the square the piece actually went to (defiant moves), such that the log matches the board
+		GameMove gameMove = new GameMove(game, gamePlay.getHalfMoves(), moveDTO.getStartPos(),
+				moveVal.getActualEndPos(), moveDTO.getPromotionPiece(), moveVal.getChessMoves(),
+				moveResponseDTO.getMoveNotation());
 		gamePlay.addMove(moveResponseDTO.getMoveNotation());
 		gamePlay.incrementHalfMoves();
 		gamePlay.updateFenSet();
+		gameMove.setPositionKey(gamePlay.getPositionKey());
+		game.getUnsavedMoves().add(gameMove);
 		
 		if (moveResponseDTO.getGameOutcome() == GameOutcome.CHECKMATE) {
 			game.setOutcome(moveResponseDTO.getGameOutcome());
 			game.setWinner(
 					gamePlay.getHalfMoves() % 2 == 0 ? game.getWhite().getUsername() : game.getBlack().getUsername());
-			game.setMoves(gamePlay.getMoves().toString());
-			game.setGamePlay(null);
-			gameRepo.save(game);
+			completeGame(game);
 			return moveResponseDTO;
 		}
 		
@@ -437,20 +494,18 @@ public class GameServices {
 			moveResponseDTO.setGameOutcome(GameOutcome.EXCESSIVE_MOVE_RULE);
 		}
 		
-		if (gamePlay.getFenRepetitionSet().containsValue(3)) {
+		if (gamePlay.isThreefoldRepetition()) {
 			moveResponseDTO.setGameOutcome(GameOutcome.REPETITION);
 		}
 		
 		if (moveResponseDTO.getGameOutcome() != null) {
 			game.setOutcome(moveResponseDTO.getGameOutcome());
 			game.setWinner("Draw");
-			game.setMoves(gamePlay.getMoves().toString());
-			game.setGamePlay(null);
-			gameRepo.save(game);
+			completeGame(game);
 			return moveResponseDTO;
 		}
 		
-		gameRepo.save(game);
+		gameCache.markDirty(game);
 		return moveResponseDTO;
 	}
 
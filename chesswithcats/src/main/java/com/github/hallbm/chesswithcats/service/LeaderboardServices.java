@@ -0,0 +1,224 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+import com.github.hallbm.chesswithcats.repository.LeaderboardScoreRepository;
+import com.github.hallbm.chesswithcats.repository.ScoreTotal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leaderboard: top players per game style, ranked by Elo rating (see
+ * RatingServices). A score of total wins minus total losses (WIN +1, DRAW 0,
+ * LOSS -1) is kept and shown alongside.
+ *
+ * Ratings and scores are persisted per player and style (LeaderboardScore),
+ * updated in the transaction completing a game. The top players of each style
+ * are held in memory and updated from the committed ratings of the two players
+ * of a completed game, such that the leaderboard is served without reading any
+ * game; a top player losing rating may be overtaken by a player not held, in
+ * which case the top players of the style are reloaded (a single page query).
+ */
+@Slf4j
+@Service
+public class LeaderboardServices {
+
+	@Autowired
+	private LeaderboardScoreRepository scoreRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private NamedLockServices namedLockServ;
+
+	@Value("${chesswithcats.leaderboard.size:5}")
+	private int size;
+
+	private static final String BACKFILL_LOCK = "chesswithcats.leaderboard_scores.backfill";
+	private static final int BACKFILL_LOCK_TIMEOUT_S = 600;
+
+	private final Map<GameStyle, Leaders> leaders = new EnumMap<>(GameStyle.class);
+
+	private static final Comparator<LeaderboardScore> RANKING = Comparator
+			.comparingInt(LeaderboardScore::getRating).reversed().thenComparing(LeaderboardScore::getUsername);
+
+	/**
+	 * Top players of a style, held in memory; loaded on first access.
+	 */
+	private static class Leaders {
+		private final TreeSet<LeaderboardScore> ranking = new TreeSet<>(RANKING);
+		private final Map<String, LeaderboardScore> byUsername = new HashMap<>();
+		private boolean loaded;
+	}
+
+	/**
+	 * Computes the scores from completed games if the score table is empty (i.e.,
+	 * newly created).
+	 *
+	 * Nodes starting together backfill one at a time (named lock, released once
+	 * the backfill is committed); the emptiness
+	 * check and the sums read the same snapshot of the games, such that games
+	 * completed concurrently are scored either by the backfill or by recordResult,
+	 * never both (see PlayerStatsServices.backfill). Sums are added to the scores
+	 * of the latter.
+	 */
+	@PostConstruct
+	public void init() {
+		boolean locked = namedLockServ.runExclusively(BACKFILL_LOCK, BACKFILL_LOCK_TIMEOUT_S,
+				() -> transactionTemplate.executeWithoutResult(status -> {
+					if (scoreRepo.count() == 0) {
+						List<ScoreTotal> scores = scoreRepo.sumScores();
+
+						for (ScoreTotal score : scores) {
+							scoreRepo.addScore(score.getUsername(), score.getStyle(), score.getScore());
+						}
+						log.info("computed {} leaderboard scores from completed games", scores.size());
+					}
+				}));
+
+		if (!locked) {
+			log.warn("leaderboard scores not backfilled: backfill of another node still running");
+		}
+	}
+
+	/**
+	 * Records the result of a completed game (ratings updated by RatingServices);
+	 * called within the transaction saving the completed game. Draws do not change
+	 * scores.
+	 */
+	public void recordResult(Game game) {
+		String winner = game.getWinner();
+
+		if (winner == null) {
+			return;
+		}
+
+		String white = game.getWhite().getUsername();
+		String black = game.getBlack().getUsername();
+
+		if (!winner.equals("Draw")) {
+			scoreRepo.addScore(winner, game.getStyle().toString(), 1);
+			scoreRepo.addScore(winner.equals(white) ? black : white, game.getStyle().toString(), -1);
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					refresh(game.getStyle(), white, black);
+				}
+			});
+		} else {
+			refresh(game.getStyle(), white, black);
+		}
+	}
+
+	/**
+	 * Discards the top players held, e.g., after ratings were recomputed.
+	 */
+	public void reload() {
+		synchronized (leaders) {
+			leaders.clear();
+		}
+	}
+
+	/**
+	 * Method for leaderboard stats, i.e., top players for a given game style.
+	 * Returns an ArrayList of Object[], representing [rank, username, rating,
+	 * score]
+	 */
+	public List<Object[]> getTopPlayers(GameStyle style) {
+		Leaders styleLeaders = getLeaders(style);
+		List<Object[]> ranking = new ArrayList<>();
+
+		synchronized (styleLeaders) {
+			int index = 0;
+
+			for (LeaderboardScore score : styleLeaders.ranking) {
+				ranking.add(new Object[] { ++index, score.getUsername(), score.getRating(), score.getScore() });
+			}
+		}
+		return ranking;
+	}
+
+	/**
+	 * Updates the top players from the committed ratings; ratings are read while
+	 * holding the lock of the style, such that the last update applied reflects
+	 * the last commit.
+	 */
+	private void refresh(GameStyle style, String... usernames) {
+		Leaders styleLeaders = getLeaders(style);
+
+		synchronized (styleLeaders) {
+			for (String username : usernames) {
+				LeaderboardScore current = scoreRepo.findByUsernameAndStyle(username, style).orElse(null);
+				LeaderboardScore previous = styleLeaders.byUsername.get(username);
+
+				if (current == null) {
+					continue;
+				}
+
+				if (previous != null && current.getRating() < previous.getRating()) {
+					load(style, styleLeaders);
+					continue;
+				}
+
+				if (previous != null) {
+					styleLeaders.ranking.remove(previous);
+				}
+
+				styleLeaders.ranking.add(current);
+				styleLeaders.byUsername.put(username, current);
+
+				if (styleLeaders.ranking.size() > size) {
+					styleLeaders.byUsername.remove(styleLeaders.ranking.pollLast().getUsername());
+				}
+			}
+		}
+	}
+
+	private Leaders getLeaders(GameStyle style) {
+		Leaders styleLeaders;
+
+		synchronized (leaders) {
+			styleLeaders = leaders.computeIfAbsent(style, key -> new Leaders());
+		}
+
+		synchronized (styleLeaders) {
+			if (!styleLeaders.loaded) {
+				load(style, styleLeaders);
+				styleLeaders.loaded = true;
+			}
+		}
+		return styleLeaders;
+	}
+
+	private void load(GameStyle style, Leaders styleLeaders) {
+		styleLeaders.ranking.clear();
+		styleLeaders.byUsername.clear();
+
+		for (LeaderboardScore score : scoreRepo.findTopByStyle(style, PageRequest.of(0, size))) {
+			styleLeaders.ranking.add(score);
+			styleLeaders.byUsername.put(score.getUsername(), score);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+/**
+ * In-JVM MoveEventBus: events are delivered directly to the listeners of this
+ * node.
+ */
+@Service
+@ConditionalOnProperty(name = "chesswithcats.move-events.bus", havingValue = "local", matchIfMissing = true)
+public class LocalMoveEventBus implements MoveEventBus {
+
+	private final List<Consumer<MoveEventDTO>> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(MoveEventDTO event) {
+		for (Consumer<MoveEventDTO> listener : listeners) {
+			listener.accept(event);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<MoveEventDTO> listener) {
+		listeners.add(listener);
+	}
+}
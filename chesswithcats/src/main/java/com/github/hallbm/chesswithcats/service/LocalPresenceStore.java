@@ -0,0 +1,41 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-JVM PresenceStore: expiry time per online player; expired entries are
+ * ignored when read and removed periodically.
+ */
+@Service
+@ConditionalOnProperty(name = "chesswithcats.presence.store", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceStore implements PresenceStore {
+
+	private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+	@Override
+	public void touch(String username, long ttlMs) {
+		expiries.put(username, System.currentTimeMillis() + ttlMs);
+	}
+
+	@Override
+	public void remove(String username) {
+		expiries.remove(username);
+	}
+
+	@Override
+	public boolean isOnline(String username) {
+		Long expiry = expiries.get(username);
+		return expiry != null && expiry > System.currentTimeMillis();
+	}
+
+	@Scheduled(fixedDelayString = "${chesswithcats.presence.renew-interval-ms:60000}")
+	public void evictExpired() {
+		long now = System.currentTimeMillis();
+		expiries.values().removeIf(expiry -> expiry <= now);
+	}
+}
@@ -0,0 +1,389 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.GameRequest;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.GameRequestRepository;
+import com.github.hallbm.chesswithcats.repository.LeaderboardScoreRepository;
+import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Matchmaking of players requesting a game against a random opponent.
+ *
+ * Players seeking a game are queued in memory per game style, bucketed by
+ * rating, such that seeking (and cancelling on logout or from the games page)
+ * is a constant time operation. Seekers gone offline (e.g., their session
+ * expired without logout, see PresenceServices) are dropped by the background
+ * matcher, before pairing. Seekers are paired in batches by a background
+ * matcher, oldest seeker first, with the first compatible seeker of the same
+ * rating bucket; the range of buckets searched widens the longer a seeker
+ * waits. Players blocking each other are never paired (blocked players are
+ * read once, when seeking, from the cached relationships). Paired players still online are given a new game;
+ * a seeker gone offline is dropped, while their opponent seeks again, unless
+ * they cancelled since being paired. A seeker
+ * not paired in time is sent a game request to a recently logged in player
+ * instead, as random opponents were matched before.
+ */
+@Slf4j
+@Service
+public class MatchmakingServices {
+
+	@Autowired
+	private LeaderboardScoreRepository scoreRepo;
+
+	@Autowired
+	private PlayerRepository playerRepo;
+
+	@Autowired
+	private GameRequestRepository gameReqRepo;
+
+	@Autowired
+	private FriendServices friendServ;
+
+	@Autowired
+	private GameServices gameServ;
+
+	@Autowired
+	private PresenceServices presenceServ;
+
+	@Value("${chesswithcats.matchmaking.bucket-width:100}")
+	private int bucketWidth;
+
+	@Value("${chesswithcats.matchmaking.widen-interval-ms:10000}")
+	private long widenIntervalMs;
+
+	@Value("${chesswithcats.matchmaking.fallback-after-ms:60000}")
+	private long fallbackAfterMs;
+
+	private final Map<GameStyle, Queue> queues = new EnumMap<>(GameStyle.class);
+
+	/**
+	 * Player seeking a game: rating bucket and players blocked, as of seeking.
+	 */
+	private static class Seeker {
+		private final String username;
+		private final int bucket;
+		private final Set<String> blocked;
+		private final long since;
+
+		private Seeker(String username, int bucket, Set<String> blocked, long since) {
+			this.username = username;
+			this.bucket = bucket;
+			this.blocked = blocked;
+			this.since = since;
+		}
+
+		private boolean compatible(Seeker other) {
+			return !blocked.contains(other.username) && !other.blocked.contains(username);
+		}
+	}
+
+	/**
+	 * Seekers of a style, in order of seeking and by rating bucket, and seekers
+	 * paired but not yet given a game (until then, cancelling removes them from
+	 * paired).
+	 */
+	private static class Queue {
+		private final LinkedHashMap<String, Seeker> seekers = new LinkedHashMap<>();
+		private final Map<Integer, LinkedHashMap<String, Seeker>> buckets = new HashMap<>();
+		private final Set<String> paired = new HashSet<>();
+
+		private void add(Seeker seeker) {
+			seekers.put(seeker.username, seeker);
+			buckets.computeIfAbsent(seeker.bucket, key -> new LinkedHashMap<>()).put(seeker.username, seeker);
+		}
+
+		private Seeker remove(String username) {
+			Seeker seeker = seekers.remove(username);
+
+			if (seeker != null) {
+				Map<String, Seeker> bucket = buckets.get(seeker.bucket);
+				bucket.remove(username);
+
+				if (bucket.isEmpty()) {
+					buckets.remove(seeker.bucket);
+				}
+			}
+			return seeker;
+		}
+
+		private Seeker findOpponent(Seeker seeker, int reach) {
+			for (int distance = 0; distance <= reach; distance++) {
+				Seeker opponent = findOpponent(seeker, buckets.get(seeker.bucket - distance));
+
+				if (opponent == null && distance > 0) {
+					opponent = findOpponent(seeker, buckets.get(seeker.bucket + distance));
+				}
+
+				if (opponent != null) {
+					return opponent;
+				}
+			}
+			return null;
+		}
+
+		private static Seeker findOpponent(Seeker seeker, Map<String, Seeker> bucket) {
+			if (bucket != null) {
+				for (Seeker candidate : bucket.values()) {
+					if (candidate != seeker && seeker.compatible(candidate)) {
+						return candidate;
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Queues a player seeking a game of the given style against a random opponent;
+	 * no effect if already queued for the style.
+	 */
+	public void seek(Player player, GameStyle style) {
+		Queue queue = getQueue(style);
+
+		synchronized (queue) {
+			if (queue.seekers.containsKey(player.getUsername())) {
+				return;
+			}
+		}
+
+		int rating = scoreRepo.findByUsernameAndStyle(player.getUsername(), style).map(LeaderboardScore::getRating)
+				.orElse(LeaderboardScore.INITIAL_RATING);
+		Set<String> blocked = friendServ.getAllBlockedUsernames(player.getUsername());
+
+		Seeker seeker = new Seeker(player.getUsername(), Math.floorDiv(rating, bucketWidth), blocked,
+				System.currentTimeMillis());
+
+		synchronized (queue) {
+			if (!queue.seekers.containsKey(player.getUsername())) {
+				queue.add(seeker);
+			}
+		}
+	}
+
+	/**
+	 * Removes a player from all queues, e.g., on logout.
+	 */
+	public void cancel(String username) {
+		for (GameStyle style : GameStyle.values()) {
+			cancel(username, style);
+		}
+	}
+
+	/**
+	 * Removes a player from the queue of the given style, e.g., when cancelled from
+	 * the games page. A player paired by the matcher but not yet given a game is
+	 * neither given the game nor queued again.
+	 */
+	public void cancel(String username, GameStyle style) {
+		Queue queue = getQueue(style);
+
+		synchronized (queue) {
+			queue.remove(username);
+			queue.paired.remove(username);
+		}
+	}
+
+	public boolean isSeeking(String username, GameStyle style) {
+		Queue queue = getQueue(style);
+
+		synchronized (queue) {
+			return queue.seekers.containsKey(username);
+		}
+	}
+
+	/**
+	 * Styles for which a player is queued, i.e., still waiting for a random
+	 * opponent.
+	 */
+	public List<GameStyle> getSeekingStyles(String username) {
+		List<GameStyle> styles = new ArrayList<>();
+
+		for (GameStyle style : GameStyle.values()) {
+			if (isSeeking(username, style)) {
+				styles.add(style);
+			}
+		}
+		return styles;
+	}
+
+	@Scheduled(fixedDelayString = "${chesswithcats.matchmaking.match-interval-ms:1000}")
+	public void matchAll() {
+		long now = System.currentTimeMillis();
+
+		for (GameStyle style : GameStyle.values()) {
+			match(style, now);
+		}
+	}
+
+	/**
+	 * Pairs the seekers of a style as of the given time; games and requests are
+	 * created once the queue is released. Returns the number of games created.
+	 */
+	int match(GameStyle style, long now) {
+		Queue queue = getQueue(style);
+		dropOffline(queue);
+
+		List<Seeker[]> pairs = new ArrayList<>();
+		List<Seeker> unpaired = new ArrayList<>();
+
+		synchronized (queue) {
+			for (Seeker seeker : new ArrayList<>(queue.seekers.values())) {
+				if (!queue.seekers.containsKey(seeker.username)) {
+					continue;
+				}
+
+				long waited = now - seeker.since;
+				Seeker opponent = queue.findOpponent(seeker, (int) (waited / widenIntervalMs));
+
+				if (opponent != null) {
+					queue.remove(seeker.username);
+					queue.remove(opponent.username);
+					queue.paired.add(seeker.username);
+					queue.paired.add(opponent.username);
+					pairs.add(new Seeker[] { seeker, opponent });
+				} else if (waited >= fallbackAfterMs) {
+					queue.remove(seeker.username);
+					unpaired.add(seeker);
+				}
+			}
+		}
+
+		int games = 0;
+
+		for (Seeker[] pair : pairs) {
+			Player player = findOnline(pair[0].username);
+			Player opponent = findOnline(pair[1].username);
+			boolean playerReady;
+			boolean opponentReady;
+
+			// a seeker gone offline (or removed) since seeking, or cancelled since pairing: the other seeks again
+			synchronized (queue) {
+				playerReady = queue.paired.remove(pair[0].username) && player != null;
+				opponentReady = queue.paired.remove(pair[1].username) && opponent != null;
+
+				if (playerReady != opponentReady) {
+					Seeker seeker = playerReady ? pair[0] : pair[1];
+
+					if (!queue.seekers.containsKey(seeker.username)) {
+						queue.add(seeker);
+					}
+				}
+			}
+
+			if (!playerReady || !opponentReady) {
+				continue;
+			}
+
+			try {
+				gameServ.createGame(player, opponent, style);
+				games++;
+			} catch (RuntimeException e) {
+				log.warn("unable to create matched game of {} and {}", player.getUsername(), opponent.getUsername(), e);
+			}
+		}
+
+		for (Seeker seeker : unpaired) {
+			sendRequest(seeker, style);
+		}
+		return games;
+	}
+
+	/**
+	 * Removes the seekers no longer online. Presence is looked up with the queue
+	 * released; a player seeking again meanwhile is kept.
+	 */
+	private void dropOffline(Queue queue) {
+		List<Seeker> seekers;
+
+		synchronized (queue) {
+			seekers = new ArrayList<>(queue.seekers.values());
+		}
+
+		List<Seeker> offline = new ArrayList<>();
+
+		for (Seeker seeker : seekers) {
+			if (!presenceServ.isOnline(seeker.username)) {
+				offline.add(seeker);
+			}
+		}
+
+		synchronized (queue) {
+			for (Seeker seeker : offline) {
+				if (queue.seekers.get(seeker.username) == seeker) {
+					queue.remove(seeker.username);
+				}
+			}
+		}
+	}
+
+	private Player findOnline(String username) {
+		return presenceServ.isOnline(username) ? playerRepo.findByUsername(username) : null;
+	}
+
+	/**
+	 * Sends a game request from an unpaired seeker to a random recently logged in
+	 * player, preferring players online, neither blocked nor already requested.
+	 */
+	private void sendRequest(Seeker seeker, GameStyle style) {
+		Player sender = playerRepo.findByUsername(seeker.username);
+
+		if (sender == null) {
+			return;
+		}
+
+		Set<String> requested = new HashSet<>();
+
+		for (Player receiver : gameReqRepo.getReceiverBySenderAndStyle(sender, style)) {
+			requested.add(receiver.getUsername());
+		}
+
+		List<Player> online = new ArrayList<>();
+		List<Player> offline = new ArrayList<>();
+
+		for (Player player : playerRepo.findTop20ByOrderByLastLoginDesc()) {
+			String username = player.getUsername();
+
+			if (username.equals(seeker.username) || seeker.blocked.contains(username) || requested.contains(username)) {
+				continue;
+			}
+			(presenceServ.isOnline(username) ? online : offline).add(player);
+		}
+
+		List<Player> candidates = online.isEmpty() ? offline : online;
+
+		if (candidates.isEmpty()) {
+			return;
+		}
+
+		GameRequest gameReq = new GameRequest();
+		gameReq.setSender(sender);
+		gameReq.setReceiver(candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())));
+		gameReq.setStyle(style);
+		gameReqRepo.save(gameReq);
+	}
+
+	private Queue getQueue(GameStyle style) {
+		synchronized (queues) {
+			return queues.computeIfAbsent(style, key -> new Queue());
+		}
+	}
+}
@@ -0,0 +1,364 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.github.hallbm.chesswithcats.config.VirtualThreads;
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per game set of SSE subscribers on this node: any number of devices per
+ * player as well as spectators. Players receive the moves of their opponent
+ * (subscribed by the mover color), spectators receive all moves.
+ *
+ * Each move event received from the MoveEventBus is encoded once into an
+ * SseFrame and the same frame queued to every subscriber of the game. Frames
+ * are written by a shared pool of delivery threads, one subscriber at a time,
+ * such that a slow subscriber neither blocks the publisher nor other
+ * subscribers; a subscriber whose queue is full (slow consumer) or whose
+ * connection fails is evicted.
+ *
+ * Move events carry the epoch of the game's channel and the half move number
+ * as event id ("epoch:halfMove"), and the most recent events of each game are
+ * kept in a ring buffer: a client reconnecting with 'Last-Event-ID' is
+ * replayed the moves it missed, or sent a 'resync' event if they are no longer
+ * buffered. Channels are held in memory per node, such that a client
+ * reconnecting to another node, or after the channel was dropped, cannot tell
+ * what it missed: its epoch does not match, and it is sent a 'resync' event. Subscribers are removed on completion, timeout
+ * or error of their emitter, and kept alive by heartbeats; games without
+ * subscribers are dropped after the replay retention period.
+ */
+@Slf4j
+@Service
+public class MoveBroadcaster {
+
+	private static final long TIMEOUT_MS = 5 * 60 * 1000; // 5 min
+
+	private static final SseFrame HEARTBEAT = SseFrame.ofComment("heartbeat");
+	private static final SseFrame RESYNC = new SseFrame("resync", null);
+
+	@Autowired
+	private MoveEventBus moveEventBus;
+
+	@Value("${chesswithcats.sse.max-queued-events:32}")
+	private int maxQueuedEvents;
+
+	@Value("${chesswithcats.sse.delivery-threads:4}")
+	private int deliveryThreads;
+
+	@Value("${chesswithcats.virtual-threads.enabled:false}")
+	private boolean isVirtualThreads;
+
+	@Value("${chesswithcats.sse.replay-events:16}")
+	private int replayEvents;
+
+	@Value("${chesswithcats.sse.replay-retention-ms:60000}")
+	private long replayRetentionMs;
+
+	private final Map<String, GameChannel> channels = new ConcurrentHashMap<>();
+	private ExecutorService deliveryExecutor;
+
+	@PostConstruct
+	public void init() {
+		// a virtual thread per drain, such that blocked writes do not hold a pool thread
+		deliveryExecutor = isVirtualThreads && VirtualThreads.isSupported()
+				? VirtualThreads.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(deliveryThreads);
+		moveEventBus.subscribe(this::broadcast);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		deliveryExecutor.shutdownNow();
+	}
+
+	/**
+	 * Subscribes to the moves of a game; moves made by @Param playerColor, or all
+	 * moves if null (spectator). Moves after @Param lastEventId (if any) are
+	 * replayed.
+	 */
+	public SseEmitter subscribe(String gameId, String playerColor, String lastEventId) {
+		return subscribe(gameId, playerColor, lastEventId, null);
+	}
+
+	/**
+	 * Subscribes as above; @Param onClose (if any) is run once the subscriber is
+	 * removed, e.g., to track the connections of a player.
+	 */
+	public SseEmitter subscribe(String gameId, String playerColor, String lastEventId, Runnable onClose) {
+		SseEmitter emitter = createEmitter();
+
+		try {
+			emitter.send(SseEmitter.event().name("INIT"));
+		} catch (IOException e) {
+			emitter.completeWithError(e);
+			return emitter;
+		}
+
+		String lastId = lastEventId == null || lastEventId.isBlank() ? null : lastEventId.trim();
+
+		while (true) {
+			GameChannel channel = channels.computeIfAbsent(gameId, GameChannel::new);
+
+			synchronized (channel) {
+				// dropped concurrently by the heartbeat
+				if (channel.isClosed) {
+					continue;
+				}
+
+				Subscriber subscriber = new Subscriber(channel, playerColor, emitter,
+						maxQueuedEvents + (lastId == null ? 0 : replayEvents + 1), onClose);
+
+				if (lastId != null) {
+					channel.replay(subscriber, lastId);
+				}
+
+				channel.subscribers.add(subscriber);
+				emitter.onCompletion(() -> channel.remove(subscriber));
+				emitter.onTimeout(() -> {
+					channel.remove(subscriber);
+					emitter.complete();
+				});
+				emitter.onError(e -> channel.remove(subscriber));
+				return emitter;
+			}
+		}
+	}
+
+	/**
+	 * Delivers a move event to the subscribers of the game on this node, and
+	 * retains it for replay.
+	 */
+	public void broadcast(MoveEventDTO event) {
+		GameChannel channel = channels.computeIfAbsent(event.getGameId(), GameChannel::new);
+		SseFrame frame = new SseFrame(event.getEventId() == null ? null : channel.epoch + ":" + event.getEventId(),
+				"move", event.getData());
+
+		synchronized (channel) {
+			channel.record(event, frame);
+
+			for (Subscriber subscriber : channel.subscribers) {
+				if (subscriber.accepts(event.getPlayerColor())) {
+					subscriber.enqueue(frame);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Heartbeat to all subscribers, which also detects closed connections, and
+	 * removal of games without subscribers beyond the replay retention.
+	 */
+	@Scheduled(fixedDelayString = "${chesswithcats.sse.heartbeat-interval-ms:15000}")
+	public void heartbeat() {
+		long now = System.currentTimeMillis();
+
+		for (GameChannel channel : channels.values()) {
+			synchronized (channel) {
+				if (channel.subscribers.isEmpty()) {
+					if (now - channel.lastActivity > replayRetentionMs) {
+						channel.isClosed = true;
+						channels.remove(channel.gameId, channel);
+					}
+					continue;
+				}
+
+				for (Subscriber subscriber : channel.subscribers) {
+					subscriber.enqueue(HEARTBEAT);
+				}
+			}
+		}
+	}
+
+	public int getSubscriberCount(String gameId) {
+		GameChannel channel = channels.get(gameId);
+		return channel == null ? 0 : channel.subscribers.size();
+	}
+
+	public int getChannelCount() {
+		return channels.size();
+	}
+
+	SseEmitter createEmitter() {
+		return new SseEmitter(TIMEOUT_MS);
+	}
+
+	/**
+	 * Half move number of an event id of the given epoch; null if of another
+	 * epoch (or malformed).
+	 */
+	private static Long parseEventId(String eventId, String epoch) {
+		int separator = eventId.lastIndexOf(':');
+
+		if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+			return null;
+		}
+
+		try {
+			return Long.parseLong(eventId.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static final class RecentEvent {
+
+		private final long id;
+		private final String playerColor;
+		private final SseFrame frame;
+
+		private RecentEvent(long id, String playerColor, SseFrame frame) {
+			this.id = id;
+			this.playerColor = playerColor;
+			this.frame = frame;
+		}
+	}
+
+	/**
+	 * Subscribers and ring buffer of recent events of a game; guarded by its own
+	 * monitor, such that replayed and live events are queued in order. The epoch
+	 * is random, i.e., distinct per node and per channel created for the game.
+	 */
+	private class GameChannel {
+
+		private final String gameId;
+		private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+		private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+		private final RecentEvent[] recentEvents = new RecentEvent[replayEvents];
+		private int next;
+		private int count;
+		private long lastActivity = System.currentTimeMillis();
+		private boolean isClosed;
+
+		private GameChannel(String gameId) {
+			this.gameId = gameId;
+		}
+
+		private void record(MoveEventDTO event, SseFrame frame) {
+			lastActivity = System.currentTimeMillis();
+
+			if (event.getEventId() == null || recentEvents.length == 0) {
+				return;
+			}
+
+			recentEvents[next] = new RecentEvent(event.getEventId(), event.getPlayerColor(), frame);
+			next = (next + 1) % recentEvents.length;
+			count = Math.min(count + 1, recentEvents.length);
+		}
+
+		/**
+		 * Queues buffered events after @Param lastEventId; an event id of another
+		 * epoch, or a gap between it and the oldest buffered event, cannot be
+		 * replayed and requests a resync instead.
+		 */
+		private void replay(Subscriber subscriber, String lastEventId) {
+			Long lastId = parseEventId(lastEventId, epoch);
+			int oldest = (next - count + recentEvents.length) % Math.max(recentEvents.length, 1);
+
+			if (lastId == null || count > 0 && recentEvents[oldest].id > lastId + 1) {
+				subscriber.enqueue(RESYNC);
+				return;
+			}
+
+			for (int i = 0; i < count; i++) {
+				RecentEvent event = recentEvents[(oldest + i) % recentEvents.length];
+
+				if (event.id > lastId && subscriber.accepts(event.playerColor)) {
+					subscriber.enqueue(event.frame);
+				}
+			}
+		}
+
+		private void remove(Subscriber subscriber) {
+			boolean isRemoved;
+
+			synchronized (this) {
+				isRemoved = subscribers.remove(subscriber);
+				lastActivity = System.currentTimeMillis();
+			}
+
+			if (isRemoved && subscriber.onClose != null) {
+				subscriber.onClose.run();
+			}
+		}
+	}
+
+	private class Subscriber {
+
+		private final GameChannel channel;
+		private final String playerColor;
+		private final SseEmitter emitter;
+		private final Queue<SseFrame> queue;
+		private final Runnable onClose;
+		private final AtomicBoolean isDraining = new AtomicBoolean();
+
+		private Subscriber(GameChannel channel, String playerColor, SseEmitter emitter, int capacity,
+				Runnable onClose) {
+			this.channel = channel;
+			this.playerColor = playerColor;
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+			this.onClose = onClose;
+		}
+
+		private boolean accepts(String moverColor) {
+			return playerColor == null || playerColor.equals(moverColor);
+		}
+
+		private void enqueue(SseFrame frame) {
+			if (!queue.offer(frame)) {
+				log.info("evicting slow subscriber of game {}", channel.gameId);
+				evict();
+				return;
+			}
+
+			if (isDraining.compareAndSet(false, true)) {
+				deliveryExecutor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			try {
+				SseFrame frame;
+
+				while ((frame = queue.poll()) != null) {
+					emitter.send(frame);
+				}
+			} catch (IOException | IllegalStateException e) {
+				evict();
+				return;
+			} finally {
+				isDraining.set(false);
+			}
+
+			// frame queued after the last poll but before the flag was cleared
+			if (!queue.isEmpty() && isDraining.compareAndSet(false, true)) {
+				deliveryExecutor.execute(this::drain);
+			}
+		}
+
+		private void evict() {
+			channel.remove(this);
+			queue.clear();
+			emitter.complete();
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.function.Consumer;
+
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+/**
+ * Fan-out of move events to the node(s) holding the subscriptions of a game.
+ * Any node may publish; every subscribed listener (i.e., the SSE delivery of
+ * each node) receives every event and delivers it to its own subscribers.
+ *
+ * Implementation selected with 'chesswithcats.move-events.bus': 'local'
+ * (default, single node) or 'redis' (broker-backed, multiple nodes).
+ */
+public interface MoveEventBus {
+
+	void publish(MoveEventDTO event);
+
+	void subscribe(Consumer<MoveEventDTO> listener);
+}
@@ -0,0 +1,259 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable, append-only journal of accepted moves, such that moves acknowledged
+ * to players but not yet saved by the ActiveGameCache write-behind are not lost
+ * on a crash. A move is forced to disk before the move request is answered;
+ * concurrent appends share a single force (group commit).
+ *
+ * Only accepted moves are made durable. Failed move attempts of AMBIGUOUS
+ * games are saved by the next flush only: a crash before then resets the
+ * three-strike attempt counter.
+ *
+ * The journal is written in segments (one line per move: game id, half move,
+ * start, end, promotion, actual end square). The actual end square records the
+ * outcome of a defiant move, such that it replays as played. A segment is
+ * closed (rotated) by each flush of the ActiveGameCache and deleted once the
+ * flush saved all games. Segments left by a previous run are replayed on
+ * startup (MoveJournalRecovery).
+ */
+@Slf4j
+@Service
+public class MoveJournal {
+
+	private static final String PREFIX = "moves-";
+	private static final String SUFFIX = ".journal";
+
+	@Value("${chesswithcats.move-journal.directory:journal}")
+	private String directory;
+
+	private final Object syncLock = new Object();
+
+	private Path directoryPath;
+	private FileChannel channel;
+	private Path currentSegment;
+	private long nextSegment;
+	private final List<Path> unrecoveredSegments = new ArrayList<>();
+	private final List<Path> closedSegments = new ArrayList<>();
+
+	private long written;
+	private volatile long synced;
+
+	@Getter
+	@AllArgsConstructor
+	public static class Entry {
+		private final Long gameId;
+		private final int halfMove;
+		private final String startPos;
+		private final String endPos;
+		private final String promotionPiece;
+		private final String actualEndPos;
+
+		public MoveDTO toMoveDTO() {
+			return new MoveDTO(String.valueOf(gameId), promotionPiece, startPos, endPos);
+		}
+	}
+
+	@PostConstruct
+	public void open() throws IOException {
+		directoryPath = Paths.get(directory);
+		Files.createDirectories(directoryPath);
+
+		try (Stream<Path> files = Files.list(directoryPath)) {
+			files.filter(MoveJournal::isSegment).sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+					.forEach(unrecoveredSegments::add);
+		}
+
+		nextSegment = unrecoveredSegments.isEmpty() ? 0
+				: sequenceOf(unrecoveredSegments.get(unrecoveredSegments.size() - 1)) + 1;
+		openSegment();
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				channel.force(false);
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Appends the move, validated to end on @Param actualEndPos, and returns once
+	 * it is on disk.
+	 */
+	public void append(Long gameId, int halfMove, MoveDTO moveDTO, String actualEndPos) {
+		String line = gameId + "\t" + halfMove + "\t" + moveDTO.getStartPos() + "\t" + moveDTO.getEndPos() + "\t"
+				+ (moveDTO.getPromotionPiece() == null ? "-" : moveDTO.getPromotionPiece()) + "\t" + actualEndPos
+				+ "\n";
+		ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+		long sequence;
+
+		synchronized (this) {
+			try {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to journal move of game " + gameId, e);
+			}
+			sequence = ++written;
+		}
+
+		sync(sequence);
+	}
+
+	/**
+	 * Closes the current segment if it holds any moves; returns all closed
+	 * segments not deleted yet (replayed segments included once recovered).
+	 */
+	public List<Path> rotate() {
+		synchronized (syncLock) {
+			synchronized (this) {
+				try {
+					if (channel.size() > 0) {
+						channel.force(false);
+						channel.close();
+						synced = written;
+						closedSegments.add(currentSegment);
+						openSegment();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException("Unable to rotate move journal", e);
+				}
+				return new ArrayList<>(closedSegments);
+			}
+		}
+	}
+
+	/**
+	 * Deletes segments whose moves are persisted.
+	 */
+	public synchronized void delete(List<Path> segments) {
+		for (Path segment : segments) {
+			try {
+				Files.deleteIfExists(segment);
+				closedSegments.remove(segment);
+			} catch (IOException e) {
+				log.warn("unable to delete journal segment {}", segment, e);
+			}
+		}
+	}
+
+	/**
+	 * Keeps segments on disk for replay on the next startup, e.g., when moves
+	 * journaled may not be held by any cached game; they are no longer returned
+	 * by rotate, nor deleted by this run.
+	 */
+	public synchronized void retain(List<Path> segments) {
+		closedSegments.removeAll(segments);
+	}
+
+	/**
+	 * Segments left by a previous run, oldest first.
+	 */
+	public synchronized List<Path> getUnrecoveredSegments() {
+		return new ArrayList<>(unrecoveredSegments);
+	}
+
+	/**
+	 * Marks replayed segments, such that they are deleted after the next flush.
+	 */
+	public synchronized void markRecovered(List<Path> segments) {
+		unrecoveredSegments.removeAll(segments);
+		closedSegments.addAll(0, segments);
+	}
+
+	/**
+	 * Reads the moves of a segment; a line truncated by a crash is ignored. Lines
+	 * written without the actual end square are read with none recorded.
+	 */
+	public static List<Entry> read(Path segment) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+
+		for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+			String[] fields = line.split("\t");
+
+			if (fields.length != 5 && fields.length != 6) {
+				continue;
+			}
+
+			try {
+				entries.add(new Entry(Long.parseLong(fields[0]), Integer.parseInt(fields[1]), fields[2], fields[3],
+						fields[4].equals("-") ? null : fields[4], fields.length == 6 ? fields[5] : null));
+			} catch (NumberFormatException e) {
+				log.warn("skipping malformed journal entry in {}: {}", segment, line);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Group commit: the first thread to acquire the lock forces all moves written
+	 * so far, threads whose move was covered return without forcing again.
+	 */
+	private void sync(long sequence) {
+		if (synced >= sequence) {
+			return;
+		}
+
+		synchronized (syncLock) {
+			if (synced >= sequence) {
+				return;
+			}
+
+			long target;
+
+			synchronized (this) {
+				target = written;
+			}
+
+			try {
+				channel.force(false);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to force move journal", e);
+			}
+			synced = target;
+		}
+	}
+
+	private void openSegment() throws IOException {
+		currentSegment = directoryPath.resolve(PREFIX + String.format("%012d", nextSegment++) + SUFFIX);
+		channel = FileChannel.open(currentSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+	}
+
+	private static boolean isSegment(Path path) {
+		String name = path.getFileName().toString();
+		return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+	}
+
+	private static long sequenceOf(Path segment) {
+		String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+	}
+}
@@ -0,0 +1,98 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays moves journaled but not persisted by a previous run, before requests
+ * are served. Entries are applied in journal order; an entry is skipped unless
+ * its half move is the next half move of the persisted game, such that moves
+ * already persisted are not applied twice. A move is applied with the outcome
+ * recorded when it was played (e.g., the square a defiant piece went to).
+ */
+@Slf4j
+@Component
+public class MoveJournalRecovery implements SmartInitializingSingleton {
+
+	@Autowired
+	private MoveJournal moveJournal;
+
+	@Autowired
+	private ActiveGameCache gameCache;
+
+	@Autowired
+	private GameMoveExecutor moveExecutor;
+
+	@Autowired
+	private GameServices gameServ;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		List<Path> segments = moveJournal.getUnrecoveredSegments();
+
+		if (segments.isEmpty()) {
+			return;
+		}
+
+		int replayed = 0;
+
+		for (Path segment : segments) {
+			try {
+				for (MoveJournal.Entry entry : MoveJournal.read(segment)) {
+					if (replay(entry)) {
+						replayed++;
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to read journal segment " + segment, e);
+			}
+		}
+
+		moveJournal.markRecovered(segments);
+		gameCache.flush();
+		log.info("replayed {} journaled moves from {} segments", replayed, segments.size());
+	}
+
+	private boolean replay(MoveJournal.Entry entry) {
+		Game game = gameCache.get(entry.getGameId());
+
+		if (game == null) {
+			return false;
+		}
+
+		return moveExecutor.execute(game.getId(), () -> {
+			GamePlay gamePlay = game.getGamePlay();
+
+			if (gamePlay == null || gamePlay.getHalfMoves() != entry.getHalfMove()) {
+				return false;
+			}
+
+			MoveDTO moveDTO = entry.toMoveDTO();
+			game.getMoveValidator().setRecordedEndPos(entry.getActualEndPos());
+
+			if (!game.getMoveValidator().validateMove(moveDTO, gamePlay)) {
+				log.warn("journaled move {} of game {} no longer valid", entry.getHalfMove(), game.getId());
+				return false;
+			}
+
+			if (game.getStyle() == GameStyle.AMBIGUOUS) {
+				gamePlay.setMoveAttempts(0);
+			}
+			gameServ.updateGameState(game, moveDTO);
+			return true;
+		});
+	}
+}
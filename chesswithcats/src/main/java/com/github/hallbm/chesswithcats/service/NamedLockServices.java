@@ -0,0 +1,52 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mutual exclusion across nodes through MySQL named locks (GET_LOCK), e.g., for
+ * one-off work on startup.
+ *
+ * The lock is held by a connection of its own for the duration of the task, such
+ * that transactions of the task commit before the lock is released.
+ */
+@Service
+public class NamedLockServices {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Runs the task holding the named lock, waiting up to timeout seconds for it;
+	 * returns whether the lock was acquired (and the task run).
+	 */
+	public boolean runExclusively(String name, int timeoutSeconds, Runnable task) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+				lock.setString(1, name);
+				lock.setInt(2, timeoutSeconds);
+
+				try (ResultSet result = lock.executeQuery()) {
+					if (!result.next() || result.getInt(1) != 1) {
+						return false;
+					}
+				}
+			}
+
+			try {
+				task.run();
+				return true;
+			} finally {
+				try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+					release.setString(1, name);
+					release.executeQuery().close();
+				}
+			}
+		});
+	}
+}
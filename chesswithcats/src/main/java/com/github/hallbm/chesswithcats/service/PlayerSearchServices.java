@@ -0,0 +1,157 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prefix search of player usernames, case insensitive (as the database
+ * collation), served from memory.
+ *
+ * Usernames of enabled players are held in an array sorted by lower case
+ * username, such that the matches of a prefix are a contiguous range found by
+ * binary search. Searches read an immutable snapshot without locking;
+ * registrations and deactivations replace the snapshot (copy on write, as they
+ * are rare compared to searches). The index is rebuilt from the database
+ * periodically, to include players registered on other nodes.
+ */
+@Slf4j
+@Service
+public class PlayerSearchServices {
+
+	@Autowired
+	private PlayerRepository playerRepo;
+
+	private static final Comparator<String> ORDER = Comparator.comparing(PlayerSearchServices::key)
+			.thenComparing(Comparator.naturalOrder());
+
+	private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0]);
+
+	/**
+	 * Lower case keys in ascending order, and the username of each key.
+	 */
+	private static class Snapshot {
+		private final String[] keys;
+		private final String[] usernames;
+
+		private Snapshot(String[] keys, String[] usernames) {
+			this.keys = keys;
+			this.usernames = usernames;
+		}
+
+		private static Snapshot of(Collection<String> usernames) {
+			String[] sorted = usernames.stream().distinct().sorted(ORDER).toArray(String[]::new);
+			String[] keys = new String[sorted.length];
+
+			for (int i = 0; i < sorted.length; i++) {
+				keys[i] = key(sorted[i]);
+			}
+			return new Snapshot(keys, sorted);
+		}
+
+		/**
+		 * Index of the first key not less than @Param key.
+		 */
+		private int lowerBound(String key) {
+			int low = 0;
+			int high = keys.length;
+
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+
+				if (keys[mid].compareTo(key) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+
+	@PostConstruct
+	@Scheduled(initialDelayString = "${chesswithcats.player-search.refresh-interval-ms:600000}",
+			fixedDelayString = "${chesswithcats.player-search.refresh-interval-ms:600000}")
+	public synchronized void rebuild() {
+		snapshot = Snapshot.of(playerRepo.findEnabledUsernames());
+		log.debug("indexed {} usernames for player search", snapshot.usernames.length);
+	}
+
+	/**
+	 * Usernames starting with @Param prefix (ignoring case), in alphabetical
+	 * order, excluding @Param excluded; at most @Param limit.
+	 */
+	public List<String> search(String prefix, Set<String> excluded, int limit) {
+		Snapshot current = snapshot;
+		String key = key(prefix);
+		List<String> results = new ArrayList<>(Math.min(limit, 16));
+
+		for (int i = current.lowerBound(key); i < current.keys.length && results.size() < limit
+				&& current.keys[i].startsWith(key); i++) {
+			if (!excluded.contains(current.usernames[i])) {
+				results.add(current.usernames[i]);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Adds a newly registered player.
+	 */
+	public synchronized void add(String username) {
+		Snapshot current = snapshot;
+		int index = Arrays.binarySearch(current.usernames, username, ORDER);
+
+		if (index >= 0) {
+			return;
+		}
+
+		int insertion = -index - 1;
+		snapshot = new Snapshot(insert(current.keys, insertion, key(username)),
+				insert(current.usernames, insertion, username));
+	}
+
+	/**
+	 * Removes a deactivated player.
+	 */
+	public synchronized void remove(String username) {
+		Snapshot current = snapshot;
+		int index = Arrays.binarySearch(current.usernames, username, ORDER);
+
+		if (index >= 0) {
+			snapshot = new Snapshot(delete(current.keys, index), delete(current.usernames, index));
+		}
+	}
+
+	private static String[] insert(String[] array, int index, String value) {
+		String[] copy = new String[array.length + 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		copy[index] = value;
+		System.arraycopy(array, index, copy, index + 1, array.length - index);
+		return copy;
+	}
+
+	private static String[] delete(String[] array, int index) {
+		String[] copy = new String[array.length - 1];
+		System.arraycopy(array, 0, copy, 0, index);
+		System.arraycopy(array, index + 1, copy, index, copy.length - index);
+		return copy;
+	}
+
+	private static String key(String username) {
+		return username.toLowerCase(Locale.ROOT);
+	}
+}
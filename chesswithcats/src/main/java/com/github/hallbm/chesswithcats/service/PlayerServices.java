@@ -22,6 +22,9 @@ public class PlayerServices implements UserDetailsService{
 	
 	@Autowired
 	private BCryptPasswordEncoder passwordEncoder;
+
+	@Autowired
+	private PlayerSearchServices playerSearchServ;
 	
 	public Player registerPlayer(PlayerRegistrationDTO playerReg) {
 		Player player = new Player();
@@ -32,7 +35,9 @@ public class PlayerServices implements UserDetailsService{
 		player.setIconFile(playerReg.getIconFile());
 		player.setEmail(playerReg.getEmail());
 
-		return playerRepo.save(player);
+		player = playerRepo.save(player);
+		playerSearchServ.add(player.getUsername());
+		return player;
 	}
 	
     @Override
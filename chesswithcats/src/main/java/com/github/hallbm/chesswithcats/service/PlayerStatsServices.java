@@ -0,0 +1,89 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.repository.PlayerStatsRepository;
+import com.github.hallbm.chesswithcats.repository.PlayerStatsTotals;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per player statistics (PlayerStats) shown on profile pages.
+ */
+@Slf4j
+@Service
+public class PlayerStatsServices {
+
+	@Autowired
+	private PlayerStatsRepository statsRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private NamedLockServices namedLockServ;
+
+	private static final String BACKFILL_LOCK = "chesswithcats.player_stats.backfill";
+	private static final int BACKFILL_LOCK_TIMEOUT_S = 600;
+
+	/**
+	 * Backfill: computes the statistics from completed games if the statistics
+	 * table is empty (i.e., newly created).
+	 *
+	 * Nodes starting together backfill one at a time (named lock, released once
+	 * the backfill is committed), the others finding the table filled. The emptiness check and the sums read the same
+	 * snapshot of the games (plain reads, repeatable read), such that games
+	 * completed concurrently are counted either by the backfill (committed
+	 * before the check, i.e., before any game was counted) or by recordResult
+	 * (committed after it), never both; the sums are merged with the counters of
+	 * the latter.
+	 */
+	@PostConstruct
+	public void backfill() {
+		boolean locked = namedLockServ.runExclusively(BACKFILL_LOCK, BACKFILL_LOCK_TIMEOUT_S,
+				() -> transactionTemplate.executeWithoutResult(status -> {
+					if (statsRepo.count() == 0) {
+						int headToHead = addTotals(statsRepo.sumHeadToHead());
+						int overall = addTotals(statsRepo.sumOverall());
+						log.info("computed {} head to head and {} overall player statistics from completed games",
+								headToHead, overall);
+					}
+				}));
+
+		if (!locked) {
+			log.warn("player statistics not backfilled: backfill of another node still running");
+		}
+	}
+
+	private int addTotals(List<PlayerStatsTotals> totals) {
+		for (PlayerStatsTotals stats : totals) {
+			statsRepo.addTotals(stats.getUsername(), stats.getOpponent(), stats.getStyle(), stats.getTotal(),
+					stats.getWins(), stats.getDraws(), stats.getLosses());
+		}
+		return totals.size();
+	}
+
+	/**
+	 * Counts a completed game for both players; called within the transaction
+	 * saving the completed game.
+	 */
+	public void recordResult(Game game) {
+		String winner = game.getWinner();
+
+		if (winner == null) {
+			return;
+		}
+
+		String white = game.getWhite().getUsername();
+		String black = game.getBlack().getUsername();
+
+		statsRepo.addResult(white, black, game.getStyle().toString(), winner.equals(white) ? 1 : 0,
+				winner.equals("Draw") ? 1 : 0, winner.equals(black) ? 1 : 0);
+	}
+}
@@ -0,0 +1,99 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Online status of players, held by the PresenceStore rather than persisted
+ * with the player.
+ *
+ * A player is online from login until logout, or until no activity is seen for
+ * the presence time to live (e.g., their sessions ended or expired without
+ * logout: sessions are held by Spring Session JDBC, which publishes no session
+ * destroyed events). Activity is any authenticated request, and open SSE
+ * connections: players connected on this node are renewed periodically, such
+ * that a player watching a game remains online. Requests renew the store at
+ * most once per quarter of the time to live.
+ */
+@Service
+public class PresenceServices {
+
+	@Autowired
+	private PresenceStore presenceStore;
+
+	@Value("${chesswithcats.presence.ttl-ms:300000}")
+	private long ttlMs;
+
+	private final Map<String, AtomicInteger> connections = new ConcurrentHashMap<>();
+	private final Map<String, Long> lastRenewed = new ConcurrentHashMap<>();
+
+	public void signIn(String username) {
+		renew(username, System.currentTimeMillis());
+	}
+
+	/**
+	 * Logout: the player is offline at once, on all nodes and devices.
+	 */
+	public void signOut(String username) {
+		connections.remove(username);
+		lastRenewed.remove(username);
+		presenceStore.remove(username);
+	}
+
+	/**
+	 * Activity of a signed in player.
+	 */
+	public void touch(String username) {
+		long now = System.currentTimeMillis();
+		Long renewed = lastRenewed.get(username);
+
+		if (renewed == null || now - renewed >= ttlMs / 4) {
+			renew(username, now);
+		}
+	}
+
+	/**
+	 * SSE connection of a player opened on this node.
+	 */
+	public void connected(String username) {
+		connections.computeIfAbsent(username, key -> new AtomicInteger()).incrementAndGet();
+		touch(username);
+	}
+
+	/**
+	 * SSE connection of a player closed; the player remains online until the
+	 * time to live elapses, unless otherwise active.
+	 */
+	public void disconnected(String username) {
+		connections.computeIfPresent(username, (key, count) -> count.decrementAndGet() > 0 ? count : null);
+	}
+
+	public boolean isOnline(String username) {
+		return presenceStore.isOnline(username);
+	}
+
+	/**
+	 * Renews the players connected to this node, and forgets renewals older than
+	 * the time to live.
+	 */
+	@Scheduled(fixedDelayString = "${chesswithcats.presence.renew-interval-ms:60000}")
+	public void renewConnected() {
+		long now = System.currentTimeMillis();
+
+		for (String username : connections.keySet()) {
+			renew(username, now);
+		}
+		lastRenewed.values().removeIf(renewed -> now - renewed >= ttlMs);
+	}
+
+	private void renew(String username, long now) {
+		lastRenewed.put(username, now);
+		presenceStore.touch(username, ttlMs);
+	}
+}
@@ -0,0 +1,17 @@
+package com.github.hallbm.chesswithcats.service;
+
+/**
+ * Online players, each entry expiring after its time to live unless touched
+ * again; shared between nodes by the 'redis' implementation.
+ *
+ * Implementation selected with 'chesswithcats.presence.store': 'local'
+ * (default, single node) or 'redis' (multiple nodes).
+ */
+public interface PresenceStore {
+
+	void touch(String username, long ttlMs);
+
+	void remove(String username);
+
+	boolean isOnline(String username);
+}
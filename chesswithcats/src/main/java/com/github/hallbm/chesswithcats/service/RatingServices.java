@@ -0,0 +1,195 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.domain.EloRating;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+import com.github.hallbm.chesswithcats.repository.GameResult;
+import com.github.hallbm.chesswithcats.repository.LeaderboardScoreRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Elo ratings of players per game style, held by the leaderboard entries
+ * (LeaderboardScore).
+ *
+ * Ratings are updated incrementally when a game is completed (checkmate,
+ * forfeit, draw), within the transaction saving the game. Ratings may be
+ * recomputed from all completed games, e.g., after changing the rating
+ * parameters: styles are recomputed in parallel, each streaming its games in
+ * order, such that memory is bounded by the number of players rather than the
+ * number of games. Games completed while a recomputation runs may not be
+ * reflected until the next recomputation.
+ */
+@Slf4j
+@Service
+public class RatingServices implements SmartInitializingSingleton {
+
+	@Autowired
+	private LeaderboardScoreRepository scoreRepo;
+
+	@Autowired
+	private GameRepository gameRepo;
+
+	@Autowired
+	private LeaderboardServices leaderboardServ;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${chesswithcats.rating.k-factor:20}")
+	private int kFactor;
+
+	@Value("${chesswithcats.rating.provisional-k-factor:40}")
+	private int provisionalKFactor;
+
+	@Value("${chesswithcats.rating.provisional-games:30}")
+	private int provisionalGames;
+
+	@Value("${chesswithcats.rating.recompute-on-startup:false}")
+	private boolean recomputeOnStartup;
+
+	private EloRating eloRating;
+
+	@PostConstruct
+	public void init() {
+		eloRating = new EloRating(kFactor, provisionalKFactor, provisionalGames);
+	}
+
+	/**
+	 * Recomputes the ratings on startup if requested, or if no rating was ever
+	 * computed for existing leaderboard entries (e.g., entries computed from
+	 * completed games by the leaderboard backfill).
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (recomputeOnStartup || (scoreRepo.count() > 0 && !scoreRepo.existsByGamesGreaterThan(0))) {
+			recomputeAll();
+		}
+	}
+
+	/**
+	 * Updates the ratings of both players of a completed game; called within the
+	 * transaction saving the completed game.
+	 */
+	public void recordResult(Game game) {
+		String winner = game.getWinner();
+
+		if (winner == null) {
+			return;
+		}
+
+		String white = game.getWhite().getUsername();
+		String black = game.getBlack().getUsername();
+		String style = game.getStyle().toString();
+
+		scoreRepo.ensure(white, style);
+		scoreRepo.ensure(black, style);
+
+		LeaderboardScore whiteScore = null;
+		LeaderboardScore blackScore = null;
+
+		for (LeaderboardScore score : scoreRepo.lockByStyleAndUsernames(game.getStyle(), List.of(white, black))) {
+			if (score.getUsername().equals(white)) {
+				whiteScore = score;
+			} else {
+				blackScore = score;
+			}
+		}
+
+		double whiteResult = winner.equals(white) ? 1.0 : winner.equals(black) ? 0.0 : 0.5;
+		int whiteRating = whiteScore.getRating();
+		int blackRating = blackScore.getRating();
+
+		whiteScore.setRating(eloRating.update(whiteRating, whiteScore.getGames(), blackRating, whiteResult));
+		blackScore.setRating(eloRating.update(blackRating, blackScore.getGames(), whiteRating, 1.0 - whiteResult));
+		whiteScore.setGames(whiteScore.getGames() + 1);
+		blackScore.setGames(blackScore.getGames() + 1);
+	}
+
+	/**
+	 * Recomputes the ratings of all styles from all completed games, one style per
+	 * thread; returns the number of games rated.
+	 */
+	public int recomputeAll() {
+		ExecutorService executor = Executors.newFixedThreadPool(GameStyle.values().length);
+		List<Future<Integer>> results = new ArrayList<>();
+
+		try {
+			for (GameStyle style : GameStyle.values()) {
+				results.add(executor.submit(() -> recompute(style)));
+			}
+
+			int games = 0;
+
+			for (Future<Integer> result : results) {
+				games += result.get();
+			}
+			log.info("recomputed ratings from {} completed games", games);
+			return games;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Rating recomputation interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Rating recomputation failed", e.getCause());
+		} finally {
+			executor.shutdown();
+			leaderboardServ.reload();
+		}
+	}
+
+	/**
+	 * Replays the completed games of a style in order, holding only a rating and
+	 * game count per player, then replaces the persisted ratings of the style.
+	 */
+	private int recompute(GameStyle style) {
+		Map<String, int[]> ratings = new HashMap<>();
+
+		int games = transactionTemplate.execute(status -> {
+			int count = 0;
+
+			try (Stream<GameResult> results = gameRepo.streamResultsByStyle(style.toString())) {
+				for (GameResult result : (Iterable<GameResult>) results::iterator) {
+					int[] white = ratings.computeIfAbsent(result.getWhite(), key -> newRating());
+					int[] black = ratings.computeIfAbsent(result.getBlack(), key -> newRating());
+					double whiteResult = result.getWinner().equals(result.getWhite()) ? 1.0
+							: result.getWinner().equals(result.getBlack()) ? 0.0 : 0.5;
+					int whiteRating = white[0];
+
+					white[0] = eloRating.update(whiteRating, white[1]++, black[0], whiteResult);
+					black[0] = eloRating.update(black[0], black[1]++, whiteRating, 1.0 - whiteResult);
+					count++;
+				}
+			}
+			return count;
+		});
+
+		transactionTemplate.executeWithoutResult(status -> {
+			scoreRepo.resetRatings(style.toString(), LeaderboardScore.INITIAL_RATING);
+			ratings.forEach((username, rating) -> scoreRepo.setRating(username, style.toString(), rating[0], rating[1]));
+		});
+		return games;
+	}
+
+	private static int[] newRating() {
+		return new int[] { LeaderboardScore.INITIAL_RATING, 0 };
+	}
+}
@@ -0,0 +1,56 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * EventBroker on Redis pub/sub (connection configured via spring.data.redis.*).
+ */
+@Service
+@ConditionalOnProperty(name = "chesswithcats.move-events.bus", havingValue = "redis")
+public class RedisEventBroker implements EventBroker {
+
+	@Autowired
+	private RedisConnectionFactory connectionFactory;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	private RedisMessageListenerContainer container;
+
+	@PostConstruct
+	public void start() {
+		container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.afterPropertiesSet();
+		container.start();
+	}
+
+	@PreDestroy
+	public void stop() throws Exception {
+		container.destroy();
+	}
+
+	@Override
+	public void publish(String channel, String message) {
+		redisTemplate.convertAndSend(channel, message);
+	}
+
+	@Override
+	public void subscribe(String channel, Consumer<String> listener) {
+		container.addMessageListener(
+				(message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+				new ChannelTopic(channel));
+	}
+}
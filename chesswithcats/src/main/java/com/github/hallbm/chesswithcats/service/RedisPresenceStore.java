@@ -0,0 +1,37 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * PresenceStore on Redis (connection configured via spring.data.redis.*): a key
+ * per online player, expired by Redis.
+ */
+@Service
+@ConditionalOnProperty(name = "chesswithcats.presence.store", havingValue = "redis")
+public class RedisPresenceStore implements PresenceStore {
+
+	private static final String KEY_PREFIX = "chesswithcats:presence:";
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@Override
+	public void touch(String username, long ttlMs) {
+		redisTemplate.opsForValue().set(KEY_PREFIX + username, "1", Duration.ofMillis(ttlMs));
+	}
+
+	@Override
+	public void remove(String username) {
+		redisTemplate.delete(KEY_PREFIX + username);
+	}
+
+	@Override
+	public boolean isOnline(String username) {
+		return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + username));
+	}
+}
@@ -0,0 +1,87 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Server-sent event encoded once into its wire format, such that the same frame
+ * is sent to any number of emitters (SseEmitter's own builder appends to its
+ * buffer on every build and cannot be shared).
+ */
+public class SseFrame implements SseEventBuilder {
+
+	private final Set<DataWithMediaType> data;
+
+	public SseFrame(String name, String data) {
+		this(null, name, data);
+	}
+
+	public SseFrame(String id, String name, String data) {
+		StringBuilder sb = new StringBuilder();
+
+		if (id != null) {
+			sb.append("id:").append(id).append('\n');
+		}
+
+		if (name != null) {
+			sb.append("event:").append(name).append('\n');
+		}
+
+		if (data != null) {
+			sb.append("data:").append(data.replace("\n", "\ndata:")).append('\n');
+		}
+
+		sb.append('\n');
+		this.data = Set.of(new DataWithMediaType(sb.toString(), MediaType.TEXT_PLAIN));
+	}
+
+	private SseFrame(Set<DataWithMediaType> data) {
+		this.data = data;
+	}
+
+	/**
+	 * Comment frame, ignored by clients (e.g., heartbeat keeping the connection
+	 * alive).
+	 */
+	public static SseFrame ofComment(String comment) {
+		return new SseFrame(Set.of(new DataWithMediaType(":" + comment + "\n\n", MediaType.TEXT_PLAIN)));
+	}
+
+	@Override
+	public Set<DataWithMediaType> build() {
+		return data;
+	}
+
+	@Override
+	public SseEventBuilder id(String id) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+
+	@Override
+	public SseEventBuilder name(String eventName) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+
+	@Override
+	public SseEventBuilder reconnectTime(long reconnectTimeMillis) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+
+	@Override
+	public SseEventBuilder comment(String comment) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+
+	@Override
+	public SseEventBuilder data(Object object) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+
+	@Override
+	public SseEventBuilder data(Object object, MediaType mediaType) {
+		throw new UnsupportedOperationException("SseFrame is immutable");
+	}
+}
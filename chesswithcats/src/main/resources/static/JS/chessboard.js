@@ -12,6 +12,7 @@ let catSquares = [];
 
 let isWhiteTurn = document.getElementById("turn").classList.contains("white-turn");
 let isWhitePlayer = playerColor == "white";
+const isSpectator = playerColor == "spectate";
 
 let blackMoveHighlightSquareId = null;
 let whiteMoveHighlightSquareId = null;
@@ -110,7 +111,7 @@ function addGamePiecesWithDraggableFeatures(piecePath) {
 			pieceImage.setAttribute("draggable", isWhiteTurn && isWhitePlayer);
 		} else {
 			pieceImage.classList.add("black", "piece");
-			pieceImage.setAttribute("draggable", !isWhiteTurn && !isWhitePlayer);
+			pieceImage.setAttribute("draggable", !isWhiteTurn && !isWhitePlayer && !isSpectator);
 		}
 
 		document.getElementById(loc).appendChild(pieceImage);
@@ -242,6 +243,8 @@ async function drop(event) {
 				return response.json();
 			} else if (response.status === 409) {
 				throw new Error("Invalid move. Try again.");
+			} else if (response.status === 403) {
+				throw new Error("Not your move.");
 			} else if (response.status === 404 || response.status === 500) {
 				window.location.href = "/games";
 			} else {
@@ -312,7 +315,7 @@ function makeMove(moveResponse) {
 		whitePieces.forEach(w => {
 			w.draggable = isWhiteTurn && isWhitePlayer;
 		});
-	} else {
+	} else if (!isSpectator) {
 		blackPieces.forEach(b => {
 			b.draggable = !isWhiteTurn && !isWhitePlayer;
 		});
@@ -344,7 +347,9 @@ function makeMove(moveResponse) {
 		const popup = document.getElementById("checkmate-popup");
 		popup.style.display = "inline-flex";
 		const outcome = document.getElementById("outcome");
-		outcome.innerHTML = "Checkmate! You " + (!isWhiteTurn === isWhitePlayer ? "WIN" : "LOSE");
+		outcome.innerHTML = isSpectator ?
+			"Checkmate! " + (isWhiteTurn ? "Black" : "White") + " WINS" :
+			"Checkmate! You " + (!isWhiteTurn === isWhitePlayer ? "WIN" : "LOSE");
 
 		setTimeout(function() {
 			// Change the location of the current window to the new page
@@ -445,12 +450,14 @@ function setSquareSets() {
 	allSquares = document.querySelectorAll(".square");
 }
 
-const urlEndPoint = "http://localhost:8080/subscribe/" + gameId + "/" + (playerColor === "white" ? "black" : "white");
+// spectators receive the moves of both players
+const urlEndPoint = "http://localhost:8080/subscribe/" + gameId +
+	(isSpectator ? "" : "/" + (playerColor === "white" ? "black" : "white"));
 const eventSource = new EventSource(urlEndPoint);
 
 eventSource.onopen = function() {
 	console.log("connection is established");
-	document.getElementById("status").innerHTML = "Real-time gameplay";
+	document.getElementById("status").innerHTML = isSpectator ? "Spectating" : "Real-time gameplay";
 };
 
 eventSource.onerror = function(event) {
@@ -475,6 +482,11 @@ eventSource.addEventListener("move", function(event) {
 
 }, false);
 
+// moves missed while disconnected are no longer available for replay
+eventSource.addEventListener("resync", function(event) {
+	window.location.reload();
+}, false);
+
 eventSource.addEventListener("close", function(event) {
 	eventSource.close();
 	console.log("closed");//'id: ' + event.lastEventId + ', data: ' + event.data);
@@ -0,0 +1,30 @@
+package com.github.hallbm.chesswithcats.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsTest {
+
+	@Test
+	public void testSupportMatchesRuntime() throws Exception {
+		boolean isJava21 = Runtime.version().feature() >= 21;
+		Assertions.assertEquals(isJava21, VirtualThreads.isSupported());
+
+		if (!isJava21) {
+			Assertions.assertThrows(UnsupportedOperationException.class, VirtualThreads::newVirtualThreadPerTaskExecutor);
+			return;
+		}
+
+		ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+
+		try {
+			Assertions.assertTrue(executor.submit(() -> Thread.currentThread().toString().contains("Virtual")).get(5,
+					TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameColor;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+public class BitBoardTest {
+
+	private PieceNotation[][] board;
+
+	@BeforeEach
+	public void setUp() {
+		board = new PieceNotation[8][8];
+	}
+
+	@Test
+	public void testSquareIndexMatchesBoardArray() {
+		board[7][4] = PieceNotation.K; // E1
+		board[0][4] = PieceNotation.k; // E8
+
+		BitBoard bitBoard = BitBoard.fromBoard(board);
+
+		Assertions.assertEquals(60, bitBoard.getKingSquare(GameColor.WHITE));
+		Assertions.assertEquals(4, bitBoard.getKingSquare(GameColor.BLACK));
+		Assertions.assertEquals(PieceNotation.K, bitBoard.getPiece(BitBoard.square(7, 4)));
+		Assertions.assertNull(bitBoard.getPiece(BitBoard.square(4, 4)));
+	}
+
+	@Test
+	public void testKnightAttackTable() {
+		Assertions.assertEquals(2, Long.bitCount(BitBoard.knightAttacks(BitBoard.square(0, 0))));
+		Assertions.assertEquals(8, Long.bitCount(BitBoard.knightAttacks(BitBoard.square(3, 3))));
+	}
+
+	@Test
+	public void testRookAttackBlockedByCat() {
+		board[7][0] = PieceNotation.R; // A1
+		board[0][0] = PieceNotation.k; // A8
+		BitBoard bitBoard = BitBoard.fromBoard(board);
+
+		Assertions.assertTrue(bitBoard.isAttacked(BitBoard.square(0, 0), GameColor.WHITE));
+
+		board[3][0] = PieceNotation.C; // cat on A5
+		bitBoard = BitBoard.fromBoard(board);
+
+		Assertions.assertFalse(bitBoard.isAttacked(BitBoard.square(0, 0), GameColor.WHITE));
+		Assertions.assertFalse(bitBoard.isPathClear(BitBoard.square(7, 0), BitBoard.square(0, 0)));
+	}
+
+	@Test
+	public void testPawnAttackDirection() {
+		board[6][3] = PieceNotation.P; // D2
+		board[1][3] = PieceNotation.p; // D7
+		BitBoard bitBoard = BitBoard.fromBoard(board);
+
+		Assertions.assertTrue(bitBoard.isAttacked(BitBoard.square(5, 4), GameColor.WHITE)); // E3
+		Assertions.assertFalse(bitBoard.isAttacked(BitBoard.square(7, 4), GameColor.WHITE)); // E1
+		Assertions.assertTrue(bitBoard.isAttacked(BitBoard.square(2, 2), GameColor.BLACK)); // C6
+		Assertions.assertFalse(bitBoard.isAttacked(BitBoard.square(0, 2), GameColor.BLACK)); // C8
+	}
+
+	@Test
+	public void testDiagonalAttackers() {
+		board[4][4] = PieceNotation.K; // E4
+		board[1][1] = PieceNotation.b; // B7
+		board[0][0] = PieceNotation.q; // A8 (behind bishop)
+		BitBoard bitBoard = BitBoard.fromBoard(board);
+
+		long attackers = bitBoard.getAttackers(BitBoard.square(4, 4), GameColor.BLACK);
+
+		Assertions.assertEquals(BitBoard.bit(BitBoard.square(1, 1)), attackers);
+	}
+
+	@Test
+	public void testApplyAndUndoMove() {
+		board[6][4] = PieceNotation.P; // E2
+		board[1][3] = PieceNotation.r; // D7
+		BitBoard bitBoard = BitBoard.fromBoard(board);
+		long whiteBefore = bitBoard.getOccupancy(GameColor.WHITE);
+		long blackBefore = bitBoard.getOccupancy(GameColor.BLACK);
+
+		int capture = bitBoard.applyMove(BitBoard.square(6, 4), BitBoard.square(1, 3), PieceNotation.Q);
+		Assertions.assertEquals(PieceNotation.Q, bitBoard.getPiece(BitBoard.square(1, 3)));
+		Assertions.assertEquals(0L, bitBoard.getOccupancy(GameColor.BLACK));
+
+		int removal = bitBoard.applyMove(BitBoard.square(1, 3), -1, null);
+		Assertions.assertEquals(0L, bitBoard.getOccupancy());
+
+		bitBoard.undoMove(removal);
+		bitBoard.undoMove(capture);
+
+		Assertions.assertEquals(PieceNotation.P, bitBoard.getPiece(BitBoard.square(6, 4)));
+		Assertions.assertEquals(PieceNotation.r, bitBoard.getPiece(BitBoard.square(1, 3)));
+		Assertions.assertEquals(whiteBefore, bitBoard.getOccupancy(GameColor.WHITE));
+		Assertions.assertEquals(blackBefore, bitBoard.getOccupancy(GameColor.BLACK));
+		Assertions.assertEquals(0L, bitBoard.getPieces(PieceNotation.Q));
+	}
+}
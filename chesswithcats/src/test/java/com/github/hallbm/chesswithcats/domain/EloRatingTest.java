@@ -0,0 +1,27 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EloRatingTest {
+
+	private final EloRating eloRating = new EloRating(20, 40, 30);
+
+	@Test
+	public void testExpectedScore() {
+		Assertions.assertEquals(0.5, EloRating.expectedScore(1500, 1500), 1e-9);
+		Assertions.assertEquals(0.909, EloRating.expectedScore(1800, 1400), 1e-3);
+		Assertions.assertEquals(1.0, EloRating.expectedScore(1400, 1800) + EloRating.expectedScore(1800, 1400), 1e-9);
+	}
+
+	@Test
+	public void testUpdate() {
+		Assertions.assertEquals(1210, eloRating.update(1200, 30, 1200, 1.0));
+		Assertions.assertEquals(1190, eloRating.update(1200, 30, 1200, 0.0));
+		Assertions.assertEquals(1200, eloRating.update(1200, 30, 1200, 0.5));
+		// provisional players move twice as fast
+		Assertions.assertEquals(1220, eloRating.update(1200, 0, 1200, 1.0));
+		// upset against a much stronger opponent
+		Assertions.assertEquals(1418, eloRating.update(1400, 30, 1800, 1.0));
+	}
+}
@@ -0,0 +1,68 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+
+public class MoveGeneratorTest {
+
+	private final MoveGenerator classic = MoveGenerator.forStyle(GameStyle.CLASSIC);
+	private final MoveGenerator obstructive = MoveGenerator.forStyle(GameStyle.OBSTRUCTIVE);
+
+	@ParameterizedTest
+	@MethodSource("perftPositions")
+	public void testPerft(String fen, int depth, long expected) {
+		Position position = Position.fromFen(fen);
+
+		Assertions.assertEquals(expected, classic.perft(position, depth));
+		Assertions.assertEquals(0, position.getPly());
+	}
+
+	private static Stream<Arguments> perftPositions() {
+		return Stream.of(
+				Arguments.of("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", 4, 197281L),
+				Arguments.of("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 3, 97862L),
+				Arguments.of("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5, 674624L),
+				Arguments.of("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 4, 422333L),
+				Arguments.of("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 3, 62379L)
+		);
+	}
+
+	@Test
+	public void testPawnJumpsCatOnlyInObstructive() {
+		Position position = Position.fromFen("4k3/8/8/8/8/4C3/4P3/4K3 w - - 0 1");
+
+		Assertions.assertEquals(4, classic.perft(position, 1));
+		Assertions.assertEquals(5, obstructive.perft(position, 1));
+	}
+
+	@Test
+	public void testCatBlocksCheckAndCannotBeCaptured() {
+		Position position = Position.fromFen("4k3/8/8/8/4C3/8/8/4R2K b - - 0 1");
+
+		Assertions.assertFalse(position.isInCheck());
+		// king moves D8, F8, D7, E7, F7
+		Assertions.assertEquals(5, obstructive.perft(position, 1));
+
+		position = Position.fromFen("7k/8/8/8/8/8/6C1/7K w - - 0 1");
+		// king moves G1, H2 (G2 occupied by cat)
+		Assertions.assertEquals(2, classic.perft(position, 1));
+	}
+
+	@Test
+	public void testCheckmateAndStalemate() {
+		Position checkmate = Position.fromFen("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+		Assertions.assertTrue(checkmate.isInCheck());
+		Assertions.assertFalse(classic.hasLegalMove(checkmate));
+
+		Position stalemate = Position.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+		Assertions.assertFalse(stalemate.isInCheck());
+		Assertions.assertFalse(classic.hasLegalMove(stalemate));
+	}
+}
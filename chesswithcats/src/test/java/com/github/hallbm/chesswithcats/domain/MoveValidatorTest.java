@@ -0,0 +1,154 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.ChessMove;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameOutcome;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.GamePlay;
+import com.github.hallbm.chesswithcats.service.GameBoardServices;
+
+public class MoveValidatorTest {
+
+	private PieceNotation[][] board;
+	private GamePlay gamePlay;
+
+	@BeforeEach
+	public void setUp() {
+		board = new PieceNotation[8][8];
+		gamePlay = new GamePlay();
+		gamePlay.getGameBoard().setBoard(board);
+		gamePlay.setCastling("");
+	}
+
+	@Test
+	public void testPinnedPieceCannotLeaveLine() {
+		board[7][4] = PieceNotation.K; // E1
+		board[6][4] = PieceNotation.R; // E2
+		board[0][4] = PieceNotation.r; // E8
+		board[0][0] = PieceNotation.k; // A8
+
+		MoveValidator moveValidator = new MoveValidator();
+
+		Assertions.assertFalse(moveValidator.validateMove(new MoveDTO("1", null, "E2", "D2"), gamePlay));
+		Assertions.assertTrue(moveValidator.validateMove(new MoveDTO("1", null, "E2", "E8"), gamePlay));
+
+		// in-place validation leaves the persisted board untouched
+		Assertions.assertEquals(PieceNotation.R, board[6][4]);
+		Assertions.assertEquals(PieceNotation.r, board[0][4]);
+	}
+
+	@Test
+	public void testEnPassantCaptureExposingKing() {
+		board[3][0] = PieceNotation.K; // A5
+		board[3][1] = PieceNotation.P; // B5
+		board[3][2] = PieceNotation.p; // C5
+		board[3][7] = PieceNotation.r; // H5
+		board[0][4] = PieceNotation.k; // E8
+		gamePlay.setEnPassantTargetSquare("C6");
+
+		MoveValidator moveValidator = new MoveValidator();
+
+		Assertions.assertFalse(moveValidator.validateMove(new MoveDTO("1", null, "B5", "C6"), gamePlay));
+
+		board[3][7] = null;
+
+		Assertions.assertTrue(moveValidator.validateMove(new MoveDTO("1", null, "B5", "C6"), gamePlay));
+		Assertions.assertTrue(moveValidator.getChessMoves().contains(ChessMove.EN_PASSANT_CAPTURE));
+		Assertions.assertEquals(PieceNotation.p, board[3][2]);
+	}
+
+	@Test
+	public void testCastlingThroughAttackedSquare() {
+		board[7][4] = PieceNotation.K; // E1
+		board[7][7] = PieceNotation.R; // H1
+		board[0][4] = PieceNotation.k; // E8
+		gamePlay.setCastling("K");
+
+		MoveValidator moveValidator = new MoveValidator();
+
+		Assertions.assertTrue(moveValidator.validateMove(new MoveDTO("1", null, "E1", "G1"), gamePlay));
+		Assertions.assertTrue(moveValidator.getChessMoves().contains(ChessMove.KING_SIDE_CASTLE));
+
+		board[0][5] = PieceNotation.r; // F8 attacks F1
+
+		Assertions.assertFalse(moveValidator.validateMove(new MoveDTO("1", null, "E1", "G1"), gamePlay));
+	}
+
+	@Test
+	public void testInPlaceAndCopyValidationAgree() {
+		board[7][4] = PieceNotation.K; // E1
+		board[5][4] = PieceNotation.N; // E3
+		board[2][4] = PieceNotation.q; // E6
+		board[0][4] = PieceNotation.k; // E8
+
+		MoveValidator inPlace = new MoveValidator();
+		MoveValidator copy = new MoveValidator();
+		copy.setInPlaceValidation(false);
+
+		for (String end : new String[] { "C2", "C4", "D5", "F5", "G4", "G2" }) {
+			MoveDTO moveDTO = new MoveDTO("1", null, "E3", end);
+			Assertions.assertEquals(copy.validateMove(moveDTO, gamePlay), inPlace.validateMove(moveDTO, gamePlay));
+		}
+	}
+
+	@Test
+	public void testEvaluateGameStatusCheckmate() {
+		board[7][4] = PieceNotation.K; // E1
+		board[7][0] = PieceNotation.R; // A1
+		board[0][7] = PieceNotation.k; // H8
+		board[1][6] = PieceNotation.p; // G7
+		board[1][7] = PieceNotation.p; // H7
+
+		MoveValidator moveValidator = new MoveValidator();
+		MoveDTO moveDTO = new MoveDTO("1", null, "A1", "A8");
+
+		Assertions.assertTrue(moveValidator.validateMove(moveDTO, gamePlay));
+		GameBoardServices.movePiece(gamePlay.getGameBoard(), moveValidator.getPieceMoves(), null);
+		Assertions.assertEquals(GameOutcome.CHECKMATE, moveValidator.evaluateGameStatus());
+		Assertions.assertTrue(moveValidator.getChessMoves().contains(ChessMove.CHECKMATE));
+	}
+
+	@Test
+	public void testDefiantMoveReplaysRecordedOutcome() {
+		board[7][4] = PieceNotation.K; // E1
+		board[6][4] = PieceNotation.P; // E2
+		board[0][4] = PieceNotation.k; // E8
+		gamePlay.setIsInCheck(false);
+
+		DefiantMoveValidator moveValidator = new DefiantMoveValidator();
+		MoveDTO moveDTO = new MoveDTO("1", null, "E2", "E3");
+
+		moveValidator.setRecordedEndPos("F3");
+		Assertions.assertTrue(moveValidator.validateMove(moveDTO, gamePlay));
+		Assertions.assertEquals("F3", moveValidator.getActualEndPos());
+		Assertions.assertArrayEquals(new String[] { "E2", "F3" }, moveValidator.getPieceMoves().get(0));
+
+		moveValidator.setRecordedEndPos("E3");
+		Assertions.assertTrue(moveValidator.validateMove(moveDTO, gamePlay));
+		Assertions.assertEquals("E3", moveValidator.getActualEndPos());
+		Assertions.assertArrayEquals(new String[] { "E2", "E3" }, moveValidator.getPieceMoves().get(0));
+	}
+
+	@Test
+	public void testScratchBoardReusedAcrossThreads() throws InterruptedException {
+		board[7][4] = PieceNotation.K; // E1
+		board[6][4] = PieceNotation.P; // E2
+		board[0][4] = PieceNotation.k; // E8
+
+		MoveValidator moveValidator = new MoveValidator();
+		Assertions.assertTrue(moveValidator.validateMove(new MoveDTO("1", null, "E2", "E4"), gamePlay));
+		BitBoard scratchBoard = moveValidator.getBitBoard();
+
+		// e.g., the next move of the game validated on another (virtual) thread
+		Thread thread = new Thread(() -> moveValidator.validateMove(new MoveDTO("1", null, "E2", "E3"), gamePlay));
+		thread.start();
+		thread.join();
+
+		Assertions.assertSame(scratchBoard, moveValidator.getBitBoard());
+		Assertions.assertEquals(PieceNotation.P, moveValidator.getBitBoard().getPiece(Square.of("E2")));
+	}
+}
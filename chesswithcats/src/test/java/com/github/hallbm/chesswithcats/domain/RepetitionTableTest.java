@@ -0,0 +1,37 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RepetitionTableTest {
+
+	@Test
+	public void testIncrementAndResize() {
+		RepetitionTable table = new RepetitionTable();
+
+		for (long key = 1; key <= 100; key++) {
+			Assertions.assertEquals(1, table.increment(key * 0x9E3779B97F4A7C15L));
+		}
+
+		Assertions.assertEquals(2, table.increment(5 * 0x9E3779B97F4A7C15L));
+		Assertions.assertEquals(3, table.increment(5 * 0x9E3779B97F4A7C15L));
+		Assertions.assertEquals(100, table.size());
+		Assertions.assertEquals(3, table.getMaxCount());
+		Assertions.assertEquals(0, table.getCount(0L));
+	}
+
+	@Test
+	public void testSerializationRoundTrip() {
+		RepetitionTable table = new RepetitionTable();
+		table.increment(42L);
+		table.increment(42L);
+		table.increment(-7L);
+
+		RepetitionTable copy = RepetitionTable.fromBytes(table.toBytes());
+
+		Assertions.assertEquals(2, copy.getCount(42L));
+		Assertions.assertEquals(1, copy.getCount(-7L));
+		Assertions.assertEquals(2, copy.getMaxCount());
+		Assertions.assertEquals(0, RepetitionTable.fromBytes(null).size());
+	}
+}
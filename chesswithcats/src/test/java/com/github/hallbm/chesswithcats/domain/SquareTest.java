@@ -0,0 +1,31 @@
+package com.github.hallbm.chesswithcats.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SquareTest {
+
+	@Test
+	public void testNameRoundTrip() {
+		for (int square = 0; square < 64; square++) {
+			String name = Square.getName(square);
+
+			Assertions.assertEquals(square, Square.of(name));
+			Assertions.assertEquals(square, Square.of(name.toLowerCase()));
+			Assertions.assertSame(name, Square.getName(Square.getRow(square), Square.getColumn(square)));
+		}
+
+		Assertions.assertEquals("A8", Square.getName(Square.A8));
+		Assertions.assertEquals("E1", Square.getName(Square.E1));
+	}
+
+	@Test
+	public void testInvalidNames() {
+		Assertions.assertEquals(-1, Square.of((String) null));
+		Assertions.assertEquals(-1, Square.of(""));
+		Assertions.assertEquals(-1, Square.of("-"));
+		Assertions.assertEquals(-1, Square.of("I1"));
+		Assertions.assertEquals(-1, Square.of("A9"));
+		Assertions.assertEquals(-1, Square.of("E10"));
+	}
+}
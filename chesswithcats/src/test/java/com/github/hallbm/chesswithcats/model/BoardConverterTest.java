@@ -0,0 +1,61 @@
+package com.github.hallbm.chesswithcats.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+
+public class BoardConverterTest {
+
+	private final BoardConverter converter = new BoardConverter();
+
+	private static PieceNotation[][] sampleBoard() {
+		PieceNotation[][] board = new PieceNotation[8][8];
+		board[0][4] = PieceNotation.k;
+		board[1][3] = PieceNotation.p;
+		board[2][5] = PieceNotation.C;
+		board[5][2] = PieceNotation.C;
+		board[6][4] = PieceNotation.P;
+		board[7][0] = PieceNotation.R;
+		board[7][4] = PieceNotation.K;
+		return board;
+	}
+
+	@Test
+	public void testRoundTrip() {
+		PieceNotation[][] board = sampleBoard();
+		byte[] bytes = converter.convertToDatabaseColumn(board);
+
+		Assertions.assertEquals(BoardConverter.ENCODED_LENGTH, bytes.length);
+		Assertions.assertArrayEquals(board, converter.convertToEntityAttribute(bytes));
+	}
+
+	@Test
+	public void testEveryPieceOnEverySquare() {
+		for (PieceNotation piece : PieceNotation.values()) {
+			for (int square = 0; square < 64; square++) {
+				PieceNotation[][] board = new PieceNotation[8][8];
+				board[square / 8][square % 8] = piece;
+
+				Assertions.assertArrayEquals(board,
+						converter.convertToEntityAttribute(converter.convertToDatabaseColumn(board)));
+			}
+		}
+	}
+
+	@Test
+	public void testLegacySerializedBoard() throws IOException {
+		PieceNotation[][] board = sampleBoard();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(board);
+		}
+
+		Assertions.assertArrayEquals(board, converter.convertToEntityAttribute(bytes.toByteArray()));
+	}
+}
@@ -0,0 +1,314 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GameMove;
+import com.github.hallbm.chesswithcats.model.GamePosition;
+import com.github.hallbm.chesswithcats.repository.GameMoveRepository;
+import com.github.hallbm.chesswithcats.repository.GamePositionRepository;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveGameCacheTest {
+
+	@Mock
+	private GameRepository gameRepo;
+
+	@Mock
+	private GameMoveRepository gameMoveRepo;
+
+	@Mock
+	private GamePositionRepository gamePositionRepo;
+
+	@Mock
+	private MoveJournal moveJournal;
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+	@Spy
+	private GameMoveExecutor moveExecutor = new GameMoveExecutor();
+
+	@InjectMocks
+	private ActiveGameCache gameCache;
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(gameCache, "capacity", 2);
+		lenient().when(gameRepo.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Game game(long id) {
+		Game game = new Game();
+		game.setId(id);
+		return game;
+	}
+
+	@Test
+	public void testGetLoadsOnce() {
+		Game game = game(1L);
+		when(gameRepo.findWithPlayersById(1L)).thenReturn(Optional.of(game));
+
+		Assertions.assertSame(game, gameCache.get(1L));
+		Assertions.assertSame(game, gameCache.get(1L));
+		verify(gameRepo, times(1)).findWithPlayersById(1L);
+	}
+
+	@Test
+	public void testCompletedGameNotCached() {
+		Game game = game(1L);
+		game.setWinner("Draw");
+		when(gameRepo.findWithPlayersById(1L)).thenReturn(Optional.of(game));
+
+		Assertions.assertSame(game, gameCache.get(1L));
+		Assertions.assertNull(gameCache.getIfPresent(1L));
+	}
+
+	@Test
+	public void testFlushSavesDirtyGamesOnce() {
+		Game game = game(1L);
+		gameCache.put(game);
+		gameCache.put(game(2L));
+
+		gameCache.markDirty(game);
+		gameCache.markDirty(game);
+		gameCache.flush();
+		gameCache.flush();
+
+		verify(gameRepo, times(1)).saveAndFlush(game);
+		verify(gameRepo, times(1)).saveAndFlush(any());
+	}
+
+	@Test
+	public void testCompleteSavesAndEvicts() {
+		Game game = game(1L);
+		gameCache.put(game);
+		gameCache.markDirty(game);
+
+		gameCache.complete(game);
+		gameCache.flush();
+
+		verify(gameRepo, times(1)).saveAndFlush(game);
+		Assertions.assertNull(gameCache.getIfPresent(1L));
+	}
+
+	@Test
+	public void testDirtyGamesEvictedOnceFlushed() {
+		Game game1 = game(1L);
+		Game game2 = game(2L);
+		Game game3 = game(3L);
+
+		gameCache.put(game1);
+		gameCache.put(game2);
+		gameCache.markDirty(game1);
+		gameCache.markDirty(game2);
+		gameCache.getIfPresent(1L);
+		gameCache.put(game3);
+
+		verify(gameRepo, never()).saveAndFlush(any());
+		Assertions.assertEquals(3, gameCache.size());
+		Assertions.assertSame(game3, gameCache.getIfPresent(3L));
+
+		gameCache.flush();
+
+		verify(gameRepo).saveAndFlush(game1);
+		verify(gameRepo).saveAndFlush(game2);
+		Assertions.assertEquals(2, gameCache.size());
+	}
+
+	@Test
+	public void testGameInUseNotEvicted() throws InterruptedException {
+		gameCache.put(game(1L));
+		gameCache.put(game(2L));
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Thread mover = new Thread(() -> moveExecutor.execute(1L, () -> {
+			locked.countDown();
+			awaitQuietly(release);
+		}));
+		mover.start();
+		locked.await();
+
+		gameCache.put(game(3L));
+		release.countDown();
+		mover.join();
+
+		Assertions.assertNotNull(gameCache.getIfPresent(1L));
+		Assertions.assertNull(gameCache.getIfPresent(2L));
+	}
+
+	@Test
+	public void testJournalRetainedForDirtyGameNoLongerCached() {
+		List<Path> segments = List.of(Path.of("moves-000000000000.journal"));
+		when(moveJournal.rotate()).thenReturn(segments);
+		gameCache.markDirty(game(1L));
+
+		gameCache.flush();
+
+		verify(moveJournal).retain(segments);
+		verify(moveJournal, never()).delete(any());
+	}
+
+	@Test
+	public void testMoveJournaledDuringFlushSavedBeforeSegmentDeleted() throws InterruptedException {
+		Game game = game(1L);
+		GameMove move = new GameMove();
+		List<Path> segments = List.of(Path.of("moves-000000000000.journal"));
+		List<GameMove> inserted = new ArrayList<>();
+		Thread flusher = new Thread(gameCache::flush);
+		gameCache.put(game);
+		when(moveJournal.rotate()).thenReturn(segments);
+		when(gameMoveRepo.saveAll(any())).thenAnswer(invocation -> {
+			invocation.<List<GameMove>>getArgument(0).forEach(inserted::add);
+			return inserted;
+		});
+
+		// flush rotates the journal past the entry while the move is not yet applied
+		doAnswer(invocation -> {
+			flusher.start();
+
+			while (flusher.getState() != Thread.State.WAITING && flusher.getState() != Thread.State.TERMINATED) {
+				Thread.sleep(1);
+			}
+			return null;
+		}).when(moveJournal).append(anyLong(), anyInt(), any(), any());
+
+		moveExecutor.execute(1L, () -> {
+			gameCache.journalMove(game, 1, new MoveDTO("1", null, "E2", "E4"), "E4");
+			game.getUnsavedMoves().add(move);
+		});
+		flusher.join();
+
+		InOrder order = inOrder(gameRepo, moveJournal);
+		order.verify(gameRepo).saveAndFlush(game);
+		order.verify(moveJournal).delete(segments);
+		Assertions.assertEquals(List.of(move), inserted);
+	}
+
+	@Test
+	public void testStaleGameEvictedOnFlush() {
+		Game game = game(1L);
+		gameCache.put(game);
+		gameCache.markDirty(game);
+		when(gameRepo.saveAndFlush(game)).thenThrow(new ObjectOptimisticLockingFailureException(Game.class, 1L));
+
+		gameCache.flush();
+
+		Assertions.assertNull(gameCache.getIfPresent(1L));
+	}
+
+	@Test
+	public void testJournalDeletedOnlyAfterSuccessfulFlush() {
+		Game game = game(1L);
+		List<Path> segments = List.of(Path.of("moves-000000000000.journal"));
+		gameCache.put(game);
+		gameCache.markDirty(game);
+		when(moveJournal.rotate()).thenReturn(segments);
+		when(gameRepo.saveAndFlush(game)).thenThrow(new DataAccessResourceFailureException("down"))
+				.thenReturn(game);
+
+		gameCache.flush();
+		verify(moveJournal, never()).delete(any());
+
+		gameCache.flush();
+		verify(moveJournal).delete(segments);
+	}
+
+	@Test
+	public void testUnsavedMovesInsertedOnceWithGame() {
+		Game game = game(1L);
+		GameMove move = new GameMove();
+		List<GameMove> inserted = new ArrayList<>();
+		game.getUnsavedMoves().add(move);
+		gameCache.put(game);
+		when(gameMoveRepo.saveAll(any())).thenAnswer(invocation -> {
+			invocation.<List<GameMove>>getArgument(0).forEach(inserted::add);
+			return inserted;
+		});
+		gameCache.markDirty(game);
+
+		gameCache.flush();
+		gameCache.markDirty(game);
+		gameCache.flush();
+
+		Assertions.assertEquals(List.of(move), inserted);
+		verify(gameRepo, times(2)).saveAndFlush(game);
+		Assertions.assertTrue(game.getUnsavedMoves().isEmpty());
+	}
+
+	@Test
+	public void testMovesDerivedFromLogOnLoad() {
+		Game game = game(1L);
+		game.getGamePlay().setHalfMoves((short) 3);
+		game.getGamePlay().setLegacyMoves("1.Pe2e4 ");
+		when(gameRepo.findWithPlayersById(1L)).thenReturn(Optional.of(game));
+		when(gameMoveRepo.findNotationsByGameIdBefore(1L, (short) 3)).thenReturn(List.of("Pe7e5 "));
+
+		Assertions.assertEquals("1.Pe2e4 Pe7e5 ", gameCache.get(1L).getGamePlay().getMoves().toString());
+	}
+
+	@Test
+	public void testUnsavedPositionsSavedUnlessCompleted() {
+		Game active = game(1L);
+		Game completed = game(2L);
+		active.getGamePlay().updateFenSet();
+		completed.getGamePlay().updateFenSet();
+		List<GamePosition> positions = List.copyOf(active.getGamePlay().getUnsavedPositions());
+		List<GamePosition> inserted = new ArrayList<>();
+		when(gamePositionRepo.saveAll(any())).thenAnswer(invocation -> {
+			invocation.<List<GamePosition>>getArgument(0).forEach(inserted::add);
+			return inserted;
+		});
+
+		gameCache.put(active);
+		gameCache.markDirty(active);
+		gameCache.flush();
+		completed.setGamePlay(null);
+		gameCache.complete(completed);
+
+		Assertions.assertEquals(positions, inserted);
+		Assertions.assertTrue(active.getGamePlay().getUnsavedPositions().isEmpty());
+	}
+}
@@ -0,0 +1,91 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.hallbm.chesswithcats.domain.FriendEnums.BlockedBy;
+import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
+import com.github.hallbm.chesswithcats.listener.FriendshipChangedEvent;
+import com.github.hallbm.chesswithcats.model.FriendRequest;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.FriendRequestRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class FriendServicesCacheTest {
+
+	@Mock
+	private FriendRequestRepository friendReqRepo;
+
+	@InjectMocks
+	private FriendServices friendServ;
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(friendServ, "capacity", 10);
+		ReflectionTestUtils.setField(friendServ, "ttlMs", 60000L);
+	}
+
+	private static FriendRequest request(String sender, String receiver, FriendRequestStatus status,
+			BlockedBy blockedBy) {
+		Player senderPlayer = new Player();
+		senderPlayer.setUsername(sender);
+		Player receiverPlayer = new Player();
+		receiverPlayer.setUsername(receiver);
+
+		FriendRequest request = new FriendRequest();
+		request.setSender(senderPlayer);
+		request.setReceiver(receiverPlayer);
+		request.setStatus(status);
+		request.setBlockedBy(blockedBy);
+		return request;
+	}
+
+	@Test
+	public void testRelationshipsReadOnceFromSingleQuery() {
+		when(friendReqRepo.getConnectionsByUsername("alice")).thenReturn(FriendServicesTest.connections(List.of(
+				request("alice", "bob", FriendRequestStatus.ACCEPTED, BlockedBy.NEITHER),
+				request("carol", "alice", FriendRequestStatus.PENDING, BlockedBy.NEITHER),
+				request("alice", "dave", FriendRequestStatus.PENDING, BlockedBy.NEITHER),
+				request("alice", "erin", FriendRequestStatus.BLOCKED, BlockedBy.SENDER),
+				request("alice", "frank", FriendRequestStatus.BLOCKED, BlockedBy.RECEIVER))));
+
+		Assertions.assertEquals(Set.of("bob"), friendServ.getFriendUsernames("alice"));
+		Assertions.assertEquals(Set.of("carol"), friendServ.getReceivedFriendRequestUsernames("alice"));
+		Assertions.assertEquals(Set.of("dave"), friendServ.getPendingFriendRequestUsernames("alice"));
+		Assertions.assertEquals(Set.of("erin"), friendServ.getBlockedUsernames("alice"));
+		Assertions.assertEquals(Set.of("erin", "frank"), friendServ.getAllBlockedUsernames("alice"));
+		Assertions.assertEquals(Set.of("alice", "bob", "carol", "dave", "erin", "frank"),
+				friendServ.getAllConnectionUsernamesAndSelf("alice"));
+
+		verify(friendReqRepo, times(1)).getConnectionsByUsername("alice");
+	}
+
+	@Test
+	public void testChangeDiscardsRelationshipsOfBothPlayers() {
+		when(friendReqRepo.getConnectionsByUsername("alice")).thenReturn(List.of()).thenReturn(FriendServicesTest
+				.connections(List.of(request("alice", "bob", FriendRequestStatus.PENDING, BlockedBy.NEITHER))));
+		when(friendReqRepo.getConnectionsByUsername("bob")).thenReturn(List.of()).thenReturn(FriendServicesTest
+				.connections(List.of(request("alice", "bob", FriendRequestStatus.PENDING, BlockedBy.NEITHER))));
+
+		Assertions.assertTrue(friendServ.getPendingFriendRequestUsernames("alice").isEmpty());
+		Assertions.assertTrue(friendServ.getReceivedFriendRequestUsernames("bob").isEmpty());
+
+		friendServ.onFriendshipChanged(new FriendshipChangedEvent("alice", "bob"));
+
+		Assertions.assertEquals(Set.of("bob"), friendServ.getPendingFriendRequestUsernames("alice"));
+		Assertions.assertEquals(Set.of("alice"), friendServ.getReceivedFriendRequestUsernames("bob"));
+	}
+}
@@ -21,6 +21,7 @@ import com.github.hallbm.chesswithcats.domain.FriendEnums.BlockedBy;
 import com.github.hallbm.chesswithcats.domain.FriendEnums.FriendRequestStatus;
 import com.github.hallbm.chesswithcats.model.FriendRequest;
 import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.FriendConnection;
 import com.github.hallbm.chesswithcats.repository.FriendRequestRepository;
 
 @SpringJUnitConfig
@@ -115,6 +116,26 @@ public class FriendServicesTest {
 		fr34.setStatus(FriendRequestStatus.ACCEPTED);
 	}
 
+	static List<FriendConnection> connections(List<FriendRequest> requests) {
+		return requests.stream().map(request -> (FriendConnection) new FriendConnection() {
+			public String getSender() {
+				return request.getSender().getUsername();
+			}
+
+			public String getReceiver() {
+				return request.getReceiver().getUsername();
+			}
+
+			public FriendRequestStatus getStatus() {
+				return request.getStatus();
+			}
+
+			public BlockedBy getBlockedBy() {
+				return request.getBlockedBy();
+			}
+		}).toList();
+	}
+
 	@Test
 	@Transactional
 	public void testGetReceivedFriendRequestUsernames1() {
@@ -122,8 +143,11 @@ public class FriendServicesTest {
 		List<FriendRequest> requests1 = new ArrayList<>();
 		Set<String> expectedUsernames1 = new TreeSet<>();
 
-		when(friendReqRepo.findByReceiverUsernameAndStatus(player1.getUsername(), FriendRequestStatus.PENDING))
-				.thenReturn(requests1);
+		requests1.add(fr12);
+		requests1.add(fr13);
+		requests1.add(fr14);
+
+		when(friendReqRepo.getConnectionsByUsername(player1.getUsername())).thenReturn(connections(requests1));
 		Set<String> actualUsernames1 = friendServ.getReceivedFriendRequestUsernames(player1.getUsername());
 		assertEquals(expectedUsernames1, actualUsernames1);
 	}
@@ -134,11 +158,11 @@ public class FriendServicesTest {
 	
 		List<FriendRequest> requests2 = new ArrayList<>();
 		requests2.add(fr12);
+		requests2.add(fr24);
 		Set<String> expectedUsernames2 = new TreeSet<>();
 		expectedUsernames2.add(player1.getUsername());
 
-		when(friendReqRepo.findByReceiverUsernameAndStatus(player2.getUsername(), FriendRequestStatus.PENDING))
-				.thenReturn(requests2);
+		when(friendReqRepo.getConnectionsByUsername(player2.getUsername())).thenReturn(connections(requests2));
 		Set<String> actualUsernames2 = friendServ.getReceivedFriendRequestUsernames(player2.getUsername());
 		assertEquals(expectedUsernames2, actualUsernames2);
 	}
@@ -150,8 +174,10 @@ public class FriendServicesTest {
 		List<FriendRequest> requests3= new ArrayList<>();
 		Set<String> expectedUsernames3 = new TreeSet<>();
 
-		when(friendReqRepo.findByReceiverUsernameAndStatus(player3.getUsername(), FriendRequestStatus.PENDING))
-				.thenReturn(requests3);
+		requests3.add(fr13);
+		requests3.add(fr34);
+
+		when(friendReqRepo.getConnectionsByUsername(player3.getUsername())).thenReturn(connections(requests3));
 		Set<String> actualUsernames3 = friendServ.getReceivedFriendRequestUsernames(player3.getUsername());
 		assertEquals(expectedUsernames3, actualUsernames3);
 	}
@@ -161,12 +187,13 @@ public class FriendServicesTest {
 	public void testGetReceivedFriendRequestUsernames4() {
 	
 		List<FriendRequest> requests4 = new ArrayList<>();
+		requests4.add(fr14);
 		requests4.add(fr24);
+		requests4.add(fr34);
 		Set<String> expectedUsernames4 = new TreeSet<>();
 		expectedUsernames4.add(player2.getUsername());
 
-		when(friendReqRepo.findByReceiverUsernameAndStatus(player4.getUsername(), FriendRequestStatus.PENDING))
-				.thenReturn(requests4);
+		when(friendReqRepo.getConnectionsByUsername(player4.getUsername())).thenReturn(connections(requests4));
 		Set<String> actualUsernames4 = friendServ.getReceivedFriendRequestUsernames(player4.getUsername());
 		assertEquals(expectedUsernames4, actualUsernames4);
 	}
@@ -1,13 +1,17 @@
 package com.github.hallbm.chesswithcats.service;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.Zobrist;
+import com.github.hallbm.chesswithcats.model.GameBoard;
 
 public class GameBoardServicesTest {
 
@@ -41,4 +45,24 @@ public class GameBoardServicesTest {
                 Arguments.of(new int[]{5, 7}, PieceNotation.N)
         );
     }
+
+	@Test
+	public void testMovePieceUpdatesPieceHash() {
+		GameBoard gameBoard = new GameBoard();
+		board = gameBoard.getBoard();
+		board[3][1] = PieceNotation.P; // B5
+		board[3][2] = PieceNotation.p; // C5
+		board[1][0] = PieceNotation.r; // A7
+		board[4][4] = PieceNotation.C; // E4
+
+		// en passant capture
+		GameBoardServices.movePiece(gameBoard, List.of(new String[] { "C5", "ep" }, new String[] { "B5", "C6" }), null);
+		Assertions.assertEquals(Zobrist.hash(board), gameBoard.getPieceHash());
+
+		// capture with promotion
+		GameBoardServices.movePiece(gameBoard, List.<String[]>of(new String[] { "C6", "B7" }), null);
+		GameBoardServices.movePiece(gameBoard, List.<String[]>of(new String[] { "B7", "A8" }), "Q");
+		Assertions.assertEquals(Zobrist.hash(board), gameBoard.getPieceHash());
+		Assertions.assertNotEquals(Zobrist.hash(new PieceNotation[8][8]), gameBoard.getPieceHash());
+	}
 }
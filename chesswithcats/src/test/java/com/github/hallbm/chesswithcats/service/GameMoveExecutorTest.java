@@ -0,0 +1,75 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GameMoveExecutorTest {
+
+	private final GameMoveExecutor moveExecutor = new GameMoveExecutor();
+
+	private int counter;
+
+	@Test
+	public void testSameGameSerialized() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+
+		try {
+			for (int i = 0; i < 8; i++) {
+				pool.submit(() -> {
+					for (int j = 0; j < 10_000; j++) {
+						moveExecutor.execute(1L, () -> {
+							counter++;
+						});
+					}
+				});
+			}
+		} finally {
+			pool.shutdown();
+			Assertions.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+		}
+
+		Assertions.assertEquals(80_000, counter);
+	}
+
+	@Test
+	public void testDifferentGamesRunInParallel() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		CountDownLatch bothInside = new CountDownLatch(2);
+
+		try {
+			Future<Boolean> first = pool.submit(() -> moveExecutor.execute(1L, () -> await(bothInside)));
+			Future<Boolean> second = pool.submit(() -> moveExecutor.execute(2L, () -> await(bothInside)));
+
+			Assertions.assertTrue(first.get(10, TimeUnit.SECONDS));
+			Assertions.assertTrue(second.get(10, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testReentrant() {
+		Assertions.assertEquals("saved", moveExecutor.execute(1L, () -> {
+			Assertions.assertTrue(moveExecutor.isHeldByCurrentThread(1L));
+			return moveExecutor.execute(1L, () -> "saved");
+		}));
+		Assertions.assertFalse(moveExecutor.isHeldByCurrentThread(1L));
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		latch.countDown();
+
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.domain.GameEnums.PieceNotation;
+import com.github.hallbm.chesswithcats.domain.GameReplay;
+import com.github.hallbm.chesswithcats.domain.Square;
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.GameMove;
+import com.github.hallbm.chesswithcats.model.GamePosition;
+import com.github.hallbm.chesswithcats.repository.GameMoveHistory;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GameReplayServicesTest {
+
+	@Mock
+	private GameRepository gameRepo;
+
+	@InjectMocks
+	private GameReplayServices replayServ;
+
+	@InjectMocks
+	private GameServices gameServ;
+
+	@Mock
+	private ActiveGameCache gameCache;
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(replayServ, "keyframeInterval", 4);
+		ReflectionTestUtils.setField(replayServ, "capacity", 16);
+	}
+
+	/**
+	 * Plays the moves (skipping invalid ones) through move validation and game
+	 * state updates, as the game controller does.
+	 */
+	private static Game newGame(GameStyle style) {
+		Game game = new Game();
+		game.setStyle(style);
+		GameBoardServices.setupGameBoard(game);
+		game.setOpeningFen(game.getGamePlay().updateFenSet());
+		game.setValidator();
+		return game;
+	}
+
+	private Game play(GameStyle style, String... moves) {
+		Game game = newGame(style);
+
+		for (String move : moves) {
+			String[] squares = move.split("=");
+			MoveDTO moveDTO = new MoveDTO("1", squares.length > 1 ? squares[1] : null, squares[0].substring(0, 2),
+					squares[0].substring(2));
+
+			if (game.getMoveValidator().validateMove(moveDTO, game.getGamePlay())) {
+				gameServ.updateGameState(game, moveDTO);
+			}
+		}
+		return game;
+	}
+
+	private static List<String> recordedPositions(Game game) {
+		List<String> positions = new ArrayList<>();
+
+		for (GamePosition position : game.getGamePlay().getUnsavedPositions()) {
+			positions.add(position.getFen());
+		}
+		return positions;
+	}
+
+	private static List<String> replayedPositions(Game game) {
+		GameReplay replay = new GameReplay(game.getOpeningFen(), game.getGamePlay().getMoves().toString());
+		List<String> positions = new ArrayList<>();
+		positions.add(replay.getFen());
+
+		while (replay.hasNext()) {
+			replay.next();
+			positions.add(replay.getFen());
+		}
+		return positions;
+	}
+
+	private void archive(Long id, Game game) {
+		GameMoveHistory history = mock(GameMoveHistory.class);
+		when(history.getWhite()).thenReturn("alice");
+		when(history.getBlack()).thenReturn("bob");
+		when(history.getWinner()).thenReturn("alice");
+		when(history.getOpeningFen()).thenReturn(game.getOpeningFen());
+		when(history.getMoves()).thenReturn(game.getGamePlay().getMoves().toString());
+		when(gameRepo.findMoveHistoryById(id)).thenReturn(Optional.of(history));
+	}
+
+	@Test
+	public void testReplayMatchesRecordedPositions() {
+		// en passant, castling by both players, capture with promotion and check
+		Game game = play(GameStyle.CLASSIC, "E2E4", "D7D5", "E4E5", "F7F5", "E5F6", "G8H6", "G1F3", "E7E6", "F1C4",
+				"F8E7", "E1G1", "E8G8", "F6G7", "H6F5", "G7F8=Q", "G8F8");
+
+		List<String> recorded = recordedPositions(game);
+
+		Assertions.assertEquals(17, recorded.size());
+		Assertions.assertEquals(recorded, replayedPositions(game));
+		Assertions.assertTrue(game.getGamePlay().getMoves().toString().contains("ep"));
+		Assertions.assertEquals("rnbq1k2ppp1b2p/4p3/3p1n2/2B5/5N2/PPPP1PPP/RNBQ1RK1/ w -  0 9", recorded.get(16));
+	}
+
+	@Test
+	public void testReplayOfObstructiveAndDefiantGames() {
+		String[] moves = { "E2E4", "E7E5", "G1F3", "B8C6", "F1C4", "G8F6", "D2D3", "D7D6", "E1G1", "C8G4", "B1C3",
+				"F8E7", "C1G5", "E8G8", "A2A4", "A7A5" };
+
+		for (GameStyle style : new GameStyle[] { GameStyle.OBSTRUCTIVE, GameStyle.DEFIANT }) {
+			Game game = play(style, moves);
+			Assertions.assertEquals(recordedPositions(game), replayedPositions(game), style.toString());
+		}
+	}
+
+	@Test
+	public void testRandomAccessMatchesSequentialReplay() {
+		Game game = play(GameStyle.CLASSIC, "E2E4", "E7E5", "G1F3", "B8C6", "F1C4", "G8F6", "D2D3", "D7D6", "E1G1",
+				"C8G4", "B1C3", "F8E7", "C1G5", "E8G8");
+		archive(1L, game);
+		List<String> recorded = recordedPositions(game);
+
+		Assertions.assertEquals(recorded.size(), replayServ.getPlies(1L, "alice"));
+
+		for (int ply = recorded.size(); ply >= 1; ply--) {
+			Assertions.assertEquals(recorded.get(ply - 1), replayServ.getPosition(1L, "bob", ply));
+		}
+
+		Assertions.assertEquals(recorded.subList(5, 11), replayServ.getPositions(1L, "alice", 6, 6));
+		Assertions.assertEquals(recorded.subList(12, 15), replayServ.getPositions(1L, "alice", 13, 10));
+		Assertions.assertNull(replayServ.getPosition(1L, "alice", 0));
+		Assertions.assertNull(replayServ.getPosition(1L, "alice", recorded.size() + 1));
+	}
+
+	@Test
+	public void testGameOfOtherPlayersNotReplayed() {
+		archive(1L, play(GameStyle.CLASSIC, "E2E4"));
+
+		Assertions.assertNull(replayServ.getPosition(1L, "carol", 1));
+		Assertions.assertTrue(replayServ.getPositions(1L, "carol", 1, 2).isEmpty());
+		Assertions.assertEquals(0, replayServ.getPlies(2L, "alice"));
+	}
+
+	@Test
+	public void testDefiantMoveLoggedToActualSquare() {
+		Game game = newGame(GameStyle.DEFIANT);
+		MoveDTO moveDTO = new MoveDTO("1", null, "E2", "E3");
+
+		game.getMoveValidator().setRecordedEndPos("F3");
+		Assertions.assertTrue(game.getMoveValidator().validateMove(moveDTO, game.getGamePlay()));
+		gameServ.updateGameState(game, moveDTO);
+
+		GameMove gameMove = game.getUnsavedMoves().get(0);
+		Assertions.assertEquals(Square.of("E2"), (int) gameMove.getFromSquare());
+		Assertions.assertEquals(Square.of("F3"), (int) gameMove.getToSquare());
+		Assertions.assertEquals(PieceNotation.P, game.getGamePlay().getGameBoard().getBoard()[5][5]);
+	}
+
+	@Test
+	public void testFiftyMoveClockResetByPawnMoves() {
+		Game game = play(GameStyle.CLASSIC, "G1F3", "G8F6", "E2E4", "B8C6");
+		List<String> recorded = recordedPositions(game);
+
+		Assertions.assertTrue(recorded.get(2).endsWith(" 2 2"));
+		Assertions.assertTrue(recorded.get(3).endsWith(" 0 2"));
+		Assertions.assertTrue(recorded.get(4).endsWith(" 1 3"));
+	}
+}
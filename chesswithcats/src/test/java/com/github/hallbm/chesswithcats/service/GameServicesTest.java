@@ -0,0 +1,108 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameOutcome;
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class GameServicesTest {
+
+	@Mock
+	private GameRepository gameRepo;
+
+	@Mock
+	private ActiveGameCache gameCache;
+
+	@Mock
+	private RatingServices ratingServ;
+
+	@Mock
+	private LeaderboardServices leaderboardServ;
+
+	@Mock
+	private PlayerStatsServices playerStatsServ;
+
+	@Spy
+	private GameMoveExecutor moveExecutor = new GameMoveExecutor();
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+	@InjectMocks
+	private GameServices gameServ;
+
+	private static Game game(long id) {
+		Player white = new Player();
+		white.setUsername("alice");
+		Player black = new Player();
+		black.setUsername("bob");
+
+		Game game = new Game();
+		game.setId(id);
+		game.setStyle(GameStyle.CLASSIC);
+		game.setWhite(white);
+		game.setBlack(black);
+		game.setOutcome(GameOutcome.INCOMPLETE);
+		GameBoardServices.setupGameBoard(game);
+		return game;
+	}
+
+	@Test
+	public void testMissingOrCompletedGameIgnored() {
+		Game completed = game(2L);
+		completed.setWinner("Draw");
+		when(gameCache.get(1L)).thenReturn(null);
+		when(gameCache.get(2L)).thenReturn(completed);
+
+		gameServ.forfeitGame(1L, "alice");
+		gameServ.drawGame(2L, "alice");
+
+		verify(gameCache, never()).complete(any());
+		Assertions.assertEquals("Draw", completed.getWinner());
+	}
+
+	@Test
+	public void testSpectatorCannotForfeitOrDraw() {
+		Game game = game(1L);
+		when(gameCache.get(1L)).thenReturn(game);
+
+		gameServ.forfeitGame(1L, "carol");
+		gameServ.drawGame(1L, "carol");
+
+		Assertions.assertNull(game.getWinner());
+		verify(gameCache, never()).complete(any());
+	}
+
+	@Test
+	public void testForfeitAppliedToReloadedGame() {
+		Game stale = game(1L);
+		Game reloaded = game(1L);
+		when(gameCache.get(1L)).thenReturn(stale, reloaded);
+		when(gameCache.getIfPresent(1L)).thenReturn(reloaded);
+
+		gameServ.forfeitGame(1L, "alice");
+
+		Assertions.assertNull(stale.getWinner());
+		Assertions.assertEquals("bob", reloaded.getWinner());
+		verify(gameCache).complete(reloaded);
+		verify(gameCache, never()).complete(stale);
+	}
+}
@@ -0,0 +1,28 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Embedded stand-in for a pub/sub broker: listeners of all "nodes" sharing an
+ * instance receive every message published to their channel.
+ */
+public class InMemoryEventBroker implements EventBroker {
+
+	private final Map<String, List<Consumer<String>>> channels = new ConcurrentHashMap<>();
+
+	@Override
+	public void publish(String channel, String message) {
+		for (Consumer<String> listener : channels.getOrDefault(channel, List.of())) {
+			listener.accept(message);
+		}
+	}
+
+	@Override
+	public void subscribe(String channel, Consumer<String> listener) {
+		channels.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+	}
+}
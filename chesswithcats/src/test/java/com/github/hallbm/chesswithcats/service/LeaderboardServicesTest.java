@@ -0,0 +1,181 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.LeaderboardScoreRepository;
+import com.github.hallbm.chesswithcats.repository.ScoreTotal;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServicesTest {
+
+	@Mock
+	private LeaderboardScoreRepository scoreRepo;
+
+	@Mock
+	private NamedLockServices namedLockServ;
+
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+	@InjectMocks
+	private LeaderboardServices leaderboardServ;
+
+	/** Ratings of the CLASSIC style, standing in for the score table. */
+	private final Map<String, Integer> ratings = new HashMap<>();
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(leaderboardServ, "size", 2);
+
+		lenient().when(scoreRepo.findByUsernameAndStyle(anyString(), eq(GameStyle.CLASSIC)))
+				.thenAnswer(invocation -> Optional.ofNullable(ratings.get(invocation.getArgument(0)))
+						.map(rating -> score(invocation.getArgument(0), rating)));
+		lenient().when(scoreRepo.findTopByStyle(eq(GameStyle.CLASSIC), any(Pageable.class))).thenAnswer(invocation -> {
+			List<LeaderboardScore> top = new ArrayList<>();
+			ratings.forEach((username, rating) -> top.add(score(username, rating)));
+			top.sort(Comparator.comparingInt(LeaderboardScore::getRating).reversed()
+					.thenComparing(LeaderboardScore::getUsername));
+			return top.subList(0, Math.min(top.size(), invocation.<Pageable>getArgument(1).getPageSize()));
+		});
+	}
+
+	private static LeaderboardScore score(String username, int rating) {
+		LeaderboardScore score = new LeaderboardScore();
+		score.setUsername(username);
+		score.setStyle(GameStyle.CLASSIC);
+		score.setRating(rating);
+		return score;
+	}
+
+	private static Game game(String white, String black, String winner) {
+		Player whitePlayer = new Player();
+		whitePlayer.setUsername(white);
+		Player blackPlayer = new Player();
+		blackPlayer.setUsername(black);
+
+		Game game = new Game();
+		game.setStyle(GameStyle.CLASSIC);
+		game.setWhite(whitePlayer);
+		game.setBlack(blackPlayer);
+		game.setWinner(winner);
+		return game;
+	}
+
+	private List<String> leaders() {
+		return leaderboardServ.getTopPlayers(GameStyle.CLASSIC).stream().map(rank -> (String) rank[1]).toList();
+	}
+
+	@Test
+	public void testRankedByRating() {
+		ratings.put("a", 1300);
+		ratings.put("b", 1250);
+		ratings.put("c", 1100);
+		Assertions.assertEquals(List.of("a", "b"), leaders());
+
+		ratings.put("c", 1400);
+		leaderboardServ.recordResult(game("c", "a", "c"));
+
+		verify(scoreRepo).addScore("c", "CLASSIC", 1);
+		verify(scoreRepo).addScore("a", "CLASSIC", -1);
+		Assertions.assertEquals(List.of("c", "a"), leaders());
+		Assertions.assertArrayEquals(new Object[] { 1, "c", 1400, 0 },
+				leaderboardServ.getTopPlayers(GameStyle.CLASSIC).get(0));
+	}
+
+	@Test
+	public void testDrawRatedButNotScored() {
+		ratings.put("a", 1200);
+		ratings.put("b", 1200);
+		leaderboardServ.recordResult(game("a", "b", "Draw"));
+
+		verify(scoreRepo, times(0)).addScore(anyString(), anyString(), anyInt());
+		Assertions.assertEquals(List.of("a", "b"), leaders());
+	}
+
+	@Test
+	public void testLeaderLosingRatingOvertakenByPlayerNotHeld() {
+		ratings.put("a", 1300);
+		ratings.put("b", 1250);
+		ratings.put("c", 1200);
+		Assertions.assertEquals(List.of("a", "b"), leaders());
+
+		// b drops below c, who was not among the top players held in memory
+		ratings.put("b", 1150);
+		leaderboardServ.recordResult(game("b", "a", "a"));
+
+		Assertions.assertEquals(List.of("a", "c"), leaders());
+	}
+
+	/**
+	 * Runs the task if the lock is acquired; the backfill must be committed
+	 * before the lock is released.
+	 */
+	private void lockAcquired(boolean acquired) {
+		when(namedLockServ.runExclusively(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+			if (acquired) {
+				invocation.<Runnable>getArgument(2).run();
+				verify(transactionManager).commit(any());
+			}
+			return acquired;
+		});
+	}
+
+	@Test
+	public void testBackfillAddedToScores() {
+		ScoreTotal score = mock(ScoreTotal.class);
+		when(score.getUsername()).thenReturn("a");
+		when(score.getStyle()).thenReturn("CLASSIC");
+		when(score.getScore()).thenReturn(3);
+		lockAcquired(true);
+		when(scoreRepo.count()).thenReturn(0L);
+		when(scoreRepo.sumScores()).thenReturn(List.of(score));
+
+		leaderboardServ.init();
+
+		verify(scoreRepo).addScore("a", "CLASSIC", 3);
+	}
+
+	@Test
+	public void testBackfillSkippedWhileLockedElsewhere() {
+		lockAcquired(false);
+
+		leaderboardServ.init();
+
+		verify(scoreRepo, never()).count();
+	}
+}
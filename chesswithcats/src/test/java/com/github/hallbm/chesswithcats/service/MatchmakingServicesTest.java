@@ -0,0 +1,233 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.GameRequest;
+import com.github.hallbm.chesswithcats.model.LeaderboardScore;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.repository.GameRequestRepository;
+import com.github.hallbm.chesswithcats.repository.LeaderboardScoreRepository;
+import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MatchmakingServicesTest {
+
+	@Mock
+	private LeaderboardScoreRepository scoreRepo;
+
+	@Mock
+	private PlayerRepository playerRepo;
+
+	@Mock
+	private GameRequestRepository gameReqRepo;
+
+	@Mock
+	private FriendServices friendServ;
+
+	@Mock
+	private GameServices gameServ;
+
+	@Mock
+	private PresenceServices presenceServ;
+
+	@InjectMocks
+	private MatchmakingServices matchmakingServ;
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(matchmakingServ, "bucketWidth", 100);
+		ReflectionTestUtils.setField(matchmakingServ, "widenIntervalMs", 10000L);
+		ReflectionTestUtils.setField(matchmakingServ, "fallbackAfterMs", 60000L);
+		when(friendServ.getAllBlockedUsernames(anyString())).thenReturn(Set.of());
+		when(scoreRepo.findByUsernameAndStyle(anyString(), any())).thenReturn(Optional.empty());
+		when(presenceServ.isOnline(anyString())).thenReturn(true);
+	}
+
+	private Player player(String username, int rating) {
+		Player player = new Player();
+		player.setUsername(username);
+		when(playerRepo.findByUsername(username)).thenReturn(player);
+
+		LeaderboardScore score = new LeaderboardScore();
+		score.setUsername(username);
+		score.setRating(rating);
+		when(scoreRepo.findByUsernameAndStyle(username, GameStyle.CLASSIC)).thenReturn(Optional.of(score));
+		return player;
+	}
+
+	@Test
+	public void testSeekersOfSameBucketPaired() {
+		Player alice = player("alice", 1210);
+		Player bob = player("bob", 1290);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+		Assertions.assertEquals(1, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		verify(gameServ).createGame(alice, bob, GameStyle.CLASSIC);
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+		Assertions.assertFalse(matchmakingServ.isSeeking("bob", GameStyle.CLASSIC));
+	}
+
+	@Test
+	public void testSearchWidensWithWait() {
+		Player alice = player("alice", 1210);
+		Player carol = player("carol", 1420);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(carol, GameStyle.CLASSIC);
+		long now = System.currentTimeMillis();
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, now));
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, now + 10000));
+		Assertions.assertEquals(1, matchmakingServ.match(GameStyle.CLASSIC, now + 20000));
+		verify(gameServ).createGame(alice, carol, GameStyle.CLASSIC);
+	}
+
+	@Test
+	public void testBlockedPlayersNotPaired() {
+		Player alice = player("alice", 1200);
+		Player bob = player("bob", 1200);
+		when(friendServ.getAllBlockedUsernames("bob")).thenReturn(Set.of("alice"));
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis() + 30000));
+		verify(gameServ, never()).createGame(any(), any(), any());
+	}
+
+	@Test
+	public void testCancelledSeekerNotPaired() {
+		Player alice = player("alice", 1200);
+		Player bob = player("bob", 1200);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.cancel("alice");
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		Assertions.assertTrue(matchmakingServ.isSeeking("bob", GameStyle.CLASSIC));
+	}
+
+	@Test
+	public void testSeekCancelledPerStyle() {
+		Player alice = player("alice", 1200);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(alice, GameStyle.DEFIANT);
+		Assertions.assertEquals(List.of(GameStyle.CLASSIC, GameStyle.DEFIANT),
+				matchmakingServ.getSeekingStyles("alice"));
+
+		matchmakingServ.cancel("alice", GameStyle.CLASSIC);
+		Assertions.assertEquals(List.of(GameStyle.DEFIANT), matchmakingServ.getSeekingStyles("alice"));
+		Assertions.assertTrue(matchmakingServ.getSeekingStyles("bob").isEmpty());
+	}
+
+	@Test
+	public void testOfflineSeekerDroppedAndOpponentRequeued() {
+		Player alice = player("alice", 1200);
+		Player bob = player("bob", 1200);
+		when(presenceServ.isOnline("alice")).thenReturn(false);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+		Assertions.assertTrue(matchmakingServ.isSeeking("bob", GameStyle.CLASSIC));
+	}
+
+	@Test
+	public void testSeekerCancelledSincePairingNotRequeued() {
+		Player alice = player("alice", 1200);
+		Player bob = player("bob", 1200);
+		// alice goes offline, and bob cancels, once paired (presence is looked up before pairing, then per pair)
+		when(presenceServ.isOnline("alice")).thenReturn(true, false);
+		when(presenceServ.isOnline("bob")).thenReturn(true).thenAnswer(invocation -> {
+			matchmakingServ.cancel("bob", GameStyle.CLASSIC);
+			return true;
+		});
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+		Assertions.assertFalse(matchmakingServ.isSeeking("bob", GameStyle.CLASSIC));
+	}
+
+	@Test
+	public void testSeekerCancelledSincePairingNotGivenGame() {
+		Player alice = player("alice", 1200);
+		Player bob = player("bob", 1200);
+		when(presenceServ.isOnline("alice")).thenReturn(true).thenAnswer(invocation -> {
+			matchmakingServ.cancel("alice");
+			return true;
+		});
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		matchmakingServ.seek(bob, GameStyle.CLASSIC);
+
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		verify(gameServ, never()).createGame(any(), any(), any());
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+		Assertions.assertTrue(matchmakingServ.isSeeking("bob", GameStyle.CLASSIC));
+	}
+
+	@Test
+	public void testSeekerGoneOfflineDropped() {
+		Player alice = player("alice", 1200);
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis()));
+		Assertions.assertTrue(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+
+		// session expired without logout
+		when(presenceServ.isOnline("alice")).thenReturn(false);
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis() + 60000));
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+		verify(gameReqRepo, never()).save(any());
+	}
+
+	@Test
+	public void testUnpairedSeekerSentRequestAfterFallback() {
+		Player alice = player("alice", 1200);
+		Player dave = player("dave", 1500);
+		Player erin = player("erin", 1500);
+		when(presenceServ.isOnline("erin")).thenReturn(false);
+		when(playerRepo.findTop20ByOrderByLastLoginDesc()).thenReturn(Set.of(alice, dave, erin));
+		when(gameReqRepo.getReceiverBySenderAndStyle(alice, GameStyle.CLASSIC)).thenReturn(Set.of());
+
+		matchmakingServ.seek(alice, GameStyle.CLASSIC);
+		Assertions.assertEquals(0, matchmakingServ.match(GameStyle.CLASSIC, System.currentTimeMillis() + 60000));
+		Assertions.assertFalse(matchmakingServ.isSeeking("alice", GameStyle.CLASSIC));
+
+		verify(gameReqRepo).save(argThat((GameRequest request) -> request.getSender() == alice
+				&& request.getReceiver() == dave && request.getStyle() == GameStyle.CLASSIC));
+	}
+}
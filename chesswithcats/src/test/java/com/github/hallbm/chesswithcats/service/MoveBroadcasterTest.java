@@ -0,0 +1,225 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+public class MoveBroadcasterTest {
+
+	private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+	private final LocalMoveEventBus moveEventBus = new LocalMoveEventBus();
+	private CountDownLatch sendGate;
+
+	private final MoveBroadcaster moveBroadcaster = new MoveBroadcaster() {
+		@Override
+		SseEmitter createEmitter() {
+			RecordingEmitter emitter = new RecordingEmitter(emitters.isEmpty() ? sendGate : null);
+			emitters.add(emitter);
+			return emitter;
+		}
+	};
+
+	/**
+	 * Records frames sent; the first emitter created may be held on a gate to
+	 * simulate a slow consumer.
+	 */
+	private static class RecordingEmitter extends SseEmitter {
+		private final List<SseEventBuilder> frames = new CopyOnWriteArrayList<>();
+		private final CountDownLatch gate;
+		private volatile boolean isCompleted;
+
+		private RecordingEmitter(CountDownLatch gate) {
+			this.gate = gate;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (gate != null && builder instanceof SseFrame) {
+				try {
+					gate.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+			frames.add(builder);
+		}
+
+		@Override
+		public void complete() {
+			isCompleted = true;
+		}
+	}
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(moveBroadcaster, "moveEventBus", moveEventBus);
+		ReflectionTestUtils.setField(moveBroadcaster, "maxQueuedEvents", 3);
+		ReflectionTestUtils.setField(moveBroadcaster, "deliveryThreads", 2);
+		ReflectionTestUtils.setField(moveBroadcaster, "replayEvents", 4);
+		ReflectionTestUtils.setField(moveBroadcaster, "replayRetentionMs", 60_000L);
+		moveBroadcaster.init();
+	}
+
+	@AfterEach
+	public void teardown() {
+		if (sendGate != null) {
+			sendGate.countDown();
+		}
+		moveBroadcaster.shutdown();
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+			Thread.sleep(10);
+		}
+		Assertions.assertTrue(condition.getAsBoolean());
+	}
+
+	@Test
+	public void testFrameEncodedOnceForAllSubscribers() throws InterruptedException {
+		moveBroadcaster.subscribe("000001", "white", null);
+		moveBroadcaster.subscribe("000001", "white", null);
+		moveBroadcaster.subscribe("000001", null, null);
+		moveBroadcaster.subscribe("000001", "black", null);
+		moveBroadcaster.subscribe("000002", null, null);
+
+		moveEventBus.publish(new MoveEventDTO("000001", "white", "{}", 1L));
+
+		// INIT + move for white's opponents and spectator; INIT only otherwise
+		awaitCondition(() -> emitters.subList(0, 3).stream().allMatch(e -> e.frames.size() == 2));
+		Assertions.assertEquals(1, emitters.get(3).frames.size());
+		Assertions.assertEquals(1, emitters.get(4).frames.size());
+
+		SseEventBuilder frame = emitters.get(0).frames.get(1);
+		Assertions.assertSame(frame, emitters.get(1).frames.get(1));
+		Assertions.assertSame(frame, emitters.get(2).frames.get(1));
+		Assertions.assertEquals(4, moveBroadcaster.getSubscriberCount("000001"));
+	}
+
+	@Test
+	public void testSlowConsumerEvicted() throws InterruptedException {
+		sendGate = new CountDownLatch(1);
+		AtomicInteger closed = new AtomicInteger();
+		moveBroadcaster.subscribe("000001", null, null, closed::incrementAndGet);
+		moveBroadcaster.subscribe("000001", null, null);
+
+		RecordingEmitter slow = emitters.get(0);
+		RecordingEmitter fast = emitters.get(1);
+
+		// 1 frame blocked in send, 3 queued, 5th overflows the slow subscriber's queue
+		for (int i = 0; i < 5; i++) {
+			moveEventBus.publish(new MoveEventDTO("000001", "white", String.valueOf(i), (long) i + 1));
+			int expected = i + 2;
+			awaitCondition(() -> fast.frames.size() == expected);
+		}
+
+		awaitCondition(() -> slow.isCompleted);
+		Assertions.assertFalse(fast.isCompleted);
+		Assertions.assertEquals(1, moveBroadcaster.getSubscriberCount("000001"));
+
+		// close callback run once, however many times the subscriber is removed
+		sendGate.countDown();
+		moveEventBus.publish(new MoveEventDTO("000001", "white", "5", 6L));
+		awaitCondition(() -> fast.frames.size() == 7);
+		Assertions.assertEquals(1, closed.get());
+	}
+
+	private static List<String> frameData(RecordingEmitter emitter) {
+		return emitter.frames.stream().filter(frame -> frame instanceof SseFrame)
+				.map(frame -> (String) frame.build().iterator().next().getData()).toList();
+	}
+
+	/**
+	 * Publishes moves 1 to @Param halfMoves of game 000001, observed by a
+	 * spectator (first emitter); returns the epoch of their event ids.
+	 */
+	private String publishMoves(int halfMoves) throws InterruptedException {
+		moveBroadcaster.subscribe("000001", null, null);
+		RecordingEmitter observer = emitters.get(0);
+
+		for (int halfMove = 1; halfMove <= halfMoves; halfMove++) {
+			String color = halfMove % 2 == 1 ? "white" : "black";
+			moveEventBus.publish(new MoveEventDTO("000001", color, "m" + halfMove, (long) halfMove));
+			int published = halfMove;
+			awaitCondition(() -> frameData(observer).size() == published);
+		}
+
+		String frame = frameData(observer).get(0);
+		return frame.substring("id:".length(), frame.indexOf(":1\n"));
+	}
+
+	@Test
+	public void testReconnectReplaysMissedMoves() throws InterruptedException {
+		String epoch = publishMoves(5);
+
+		// black player last received white's first move
+		moveBroadcaster.subscribe("000001", "white", epoch + ":1");
+		RecordingEmitter emitter = emitters.get(1);
+
+		awaitCondition(() -> frameData(emitter).size() == 2);
+		Assertions.assertEquals(List.of("id:" + epoch + ":3\nevent:move\ndata:m3\n\n",
+				"id:" + epoch + ":5\nevent:move\ndata:m5\n\n"), frameData(emitter));
+
+		moveEventBus.publish(new MoveEventDTO("000001", "white", "m7", 7L));
+		awaitCondition(() -> frameData(emitter).size() == 3);
+		Assertions.assertEquals("id:" + epoch + ":7\nevent:move\ndata:m7\n\n", frameData(emitter).get(2));
+	}
+
+	@Test
+	public void testReconnectBeyondBufferRequestsResync() throws InterruptedException {
+		String epoch = publishMoves(6);
+
+		moveBroadcaster.subscribe("000001", null, epoch + ":1");
+		RecordingEmitter emitter = emitters.get(1);
+
+		awaitCondition(() -> frameData(emitter).size() == 1);
+		Assertions.assertEquals("event:resync\n\n", frameData(emitter).get(0));
+	}
+
+	@Test
+	public void testReconnectFromOtherEpochRequestsResync() throws InterruptedException {
+		String epoch = publishMoves(2);
+
+		// ids of another node's (or a dropped) channel, although within this channel's buffer
+		moveBroadcaster.subscribe("000001", "white", "other" + epoch + ":1");
+		moveBroadcaster.subscribe("000001", "white", "1");
+
+		awaitCondition(() -> frameData(emitters.get(1)).size() == 1 && frameData(emitters.get(2)).size() == 1);
+		Assertions.assertEquals("event:resync\n\n", frameData(emitters.get(1)).get(0));
+		Assertions.assertEquals("event:resync\n\n", frameData(emitters.get(2)).get(0));
+	}
+
+	@Test
+	public void testHeartbeatAndIdleGameRemoval() throws InterruptedException {
+		ReflectionTestUtils.setField(moveBroadcaster, "replayRetentionMs", -1L);
+		moveBroadcaster.subscribe("000001", null, null);
+		moveEventBus.publish(new MoveEventDTO("000002", "white", "m1", 1L));
+
+		moveBroadcaster.heartbeat();
+
+		awaitCondition(() -> frameData(emitters.get(0)).size() == 1);
+		Assertions.assertEquals(":heartbeat\n\n", frameData(emitters.get(0)).get(0));
+		Assertions.assertEquals(1, moveBroadcaster.getChannelCount());
+	}
+
+	@Test
+	public void testFrameFormat() {
+		SseFrame frame = new SseFrame("move", "a\nb");
+
+		Assertions.assertEquals("event:move\ndata:a\ndata:b\n\n", frame.build().iterator().next().getData());
+	}
+}
@@ -0,0 +1,67 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.hallbm.chesswithcats.dto.MoveEventDTO;
+
+public class MoveEventBusTest {
+
+	private static BrokerMoveEventBus node(EventBroker broker) {
+		BrokerMoveEventBus bus = new BrokerMoveEventBus();
+		ReflectionTestUtils.setField(bus, "broker", broker);
+		bus.init();
+		return bus;
+	}
+
+	@Test
+	public void testLocalBusDelivers() {
+		LocalMoveEventBus bus = new LocalMoveEventBus();
+		List<MoveEventDTO> received = new ArrayList<>();
+		bus.subscribe(received::add);
+
+		bus.publish(new MoveEventDTO("000001", "white", "{}", 1L));
+
+		Assertions.assertEquals(1, received.size());
+		Assertions.assertEquals("000001", received.get(0).getGameId());
+	}
+
+	@Test
+	public void testBrokerBusDeliversToAllNodes() {
+		InMemoryEventBroker broker = new InMemoryEventBroker();
+		BrokerMoveEventBus nodeA = node(broker);
+		BrokerMoveEventBus nodeB = node(broker);
+
+		List<MoveEventDTO> receivedA = new ArrayList<>();
+		List<MoveEventDTO> receivedB = new ArrayList<>();
+		nodeA.subscribe(receivedA::add);
+		nodeB.subscribe(receivedB::add);
+
+		nodeA.publish(new MoveEventDTO("000042", "black", "{\"moveNotation\":\"Pe7e5 \"}", 2L));
+
+		Assertions.assertEquals(1, receivedA.size());
+		Assertions.assertEquals(1, receivedB.size());
+
+		MoveEventDTO event = receivedB.get(0);
+		Assertions.assertEquals("000042", event.getGameId());
+		Assertions.assertEquals("black", event.getPlayerColor());
+		Assertions.assertEquals("{\"moveNotation\":\"Pe7e5 \"}", event.getData());
+		Assertions.assertEquals(2L, event.getEventId());
+	}
+
+	@Test
+	public void testMalformedMessageIgnored() {
+		InMemoryEventBroker broker = new InMemoryEventBroker();
+		BrokerMoveEventBus bus = node(broker);
+		List<MoveEventDTO> received = new ArrayList<>();
+		bus.subscribe(received::add);
+
+		broker.publish(BrokerMoveEventBus.CHANNEL, "not json");
+
+		Assertions.assertTrue(received.isEmpty());
+	}
+}
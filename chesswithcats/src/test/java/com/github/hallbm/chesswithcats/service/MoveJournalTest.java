@@ -0,0 +1,129 @@
+package com.github.hallbm.chesswithcats.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.hallbm.chesswithcats.dto.MoveDTO;
+
+public class MoveJournalTest {
+
+	@TempDir
+	private Path directory;
+
+	private MoveJournal moveJournal;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		moveJournal = open();
+	}
+
+	@AfterEach
+	public void teardown() throws Exception {
+		moveJournal.close();
+	}
+
+	private MoveJournal open() throws Exception {
+		MoveJournal journal = new MoveJournal();
+		ReflectionTestUtils.setField(journal, "directory", directory.toString());
+		journal.open();
+		return journal;
+	}
+
+	@Test
+	public void testAppendRotateAndRead() throws Exception {
+		moveJournal.append(1L, 1, new MoveDTO("1", null, "e2", "e4"), "e4");
+		moveJournal.append(1L, 2, new MoveDTO("1", null, "e7", "e5"), "e5");
+
+		List<Path> segments = moveJournal.rotate();
+		Assertions.assertEquals(1, segments.size());
+
+		List<MoveJournal.Entry> entries = MoveJournal.read(segments.get(0));
+		Assertions.assertEquals(2, entries.size());
+		Assertions.assertEquals(2, entries.get(1).getHalfMove());
+		Assertions.assertEquals("e5", entries.get(1).toMoveDTO().getEndPos());
+		Assertions.assertNull(entries.get(1).toMoveDTO().getPromotionPiece());
+
+		// nothing appended since, no new segment
+		Assertions.assertEquals(segments, moveJournal.rotate());
+
+		moveJournal.delete(segments);
+		Assertions.assertFalse(Files.exists(segments.get(0)));
+		Assertions.assertTrue(moveJournal.rotate().isEmpty());
+	}
+
+	@Test
+	public void testUnrecoveredSegmentsOnReopen() throws Exception {
+		moveJournal.append(7L, 3, new MoveDTO("7", "Q", "a7", "a8"), "a8");
+		moveJournal.close();
+
+		moveJournal = open();
+		List<Path> segments = moveJournal.getUnrecoveredSegments();
+		Assertions.assertEquals(1, segments.size());
+		Assertions.assertEquals("Q", MoveJournal.read(segments.get(0)).get(0).getPromotionPiece());
+
+		moveJournal.markRecovered(segments);
+		Assertions.assertTrue(moveJournal.getUnrecoveredSegments().isEmpty());
+		Assertions.assertEquals(segments, moveJournal.rotate());
+	}
+
+	@Test
+	public void testDefiantOutcomeJournaled() throws Exception {
+		moveJournal.append(1L, 1, new MoveDTO("1", null, "e2", "e3"), "F3");
+		Path segment = moveJournal.rotate().get(0);
+		Files.write(segment, "1\t2\te7\te5\t-\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		List<MoveJournal.Entry> entries = MoveJournal.read(segment);
+		Assertions.assertEquals("F3", entries.get(0).getActualEndPos());
+		Assertions.assertNull(entries.get(1).getActualEndPos());
+	}
+
+	@Test
+	public void testTruncatedEntryIgnored() throws Exception {
+		moveJournal.append(1L, 1, new MoveDTO("1", null, "e2", "e4"), "e4");
+		Path segment = moveJournal.rotate().get(0);
+		Files.write(segment, "1\t2\te7".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		Assertions.assertEquals(1, MoveJournal.read(segment).size());
+	}
+
+	@Test
+	public void testConcurrentAppendsAllJournaled() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+
+		try {
+			for (int i = 0; i < 8; i++) {
+				long gameId = i;
+				pool.submit(() -> {
+					for (int j = 1; j <= 50; j++) {
+						moveJournal.append(gameId, j, new MoveDTO(String.valueOf(gameId), null, "e2", "e4"), "e4");
+					}
+				});
+			}
+		} finally {
+			pool.shutdown();
+			Assertions.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+		}
+
+		Set<String> moves = new HashSet<>();
+
+		for (MoveJournal.Entry entry : MoveJournal.read(moveJournal.rotate().get(0))) {
+			moves.add(entry.getGameId() + ":" + entry.getHalfMove());
+		}
+		Assertions.assertEquals(400, moves.size());
+	}
+}
@@ -0,0 +1,61 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.github.hallbm.chesswithcats.repository.PlayerRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class PlayerSearchServicesTest {
+
+	@Mock
+	private PlayerRepository playerRepo;
+
+	@InjectMocks
+	private PlayerSearchServices playerSearchServ;
+
+	@BeforeEach
+	public void setup() {
+		when(playerRepo.findEnabledUsernames())
+				.thenReturn(List.of("catnip", "Cathy", "bob", "cat", "Catherine", "caterpillar", "dog"));
+		playerSearchServ.rebuild();
+	}
+
+	@Test
+	public void testPrefixMatchesIgnoreCaseInOrder() {
+		Assertions.assertEquals(List.of("cat", "caterpillar", "Catherine", "Cathy", "catnip"),
+				playerSearchServ.search("CAT", Set.of(), 10));
+		Assertions.assertEquals(List.of("Catherine", "Cathy"), playerSearchServ.search("cath", Set.of(), 10));
+		Assertions.assertTrue(playerSearchServ.search("cow", Set.of(), 10).isEmpty());
+		Assertions.assertEquals(List.of("dog"), playerSearchServ.search("d", Set.of(), 10));
+	}
+
+	@Test
+	public void testExcludedSkippedAndResultsLimited() {
+		Assertions.assertEquals(List.of("caterpillar", "Cathy"),
+				playerSearchServ.search("cat", Set.of("cat", "Catherine"), 2));
+		Assertions.assertEquals(3, playerSearchServ.search("", Set.of(), 3).size());
+	}
+
+	@Test
+	public void testAddAndRemoveKeepOrder() {
+		playerSearchServ.add("CatStevens");
+		playerSearchServ.add("cat");
+		playerSearchServ.remove("Cathy");
+		playerSearchServ.remove("nobody");
+
+		Assertions.assertEquals(List.of("cat", "caterpillar", "Catherine", "catnip", "CatStevens"),
+				playerSearchServ.search("cat", Set.of(), 10));
+		Assertions.assertEquals(List.of("bob"), playerSearchServ.search("b", Set.of(), 10));
+	}
+}
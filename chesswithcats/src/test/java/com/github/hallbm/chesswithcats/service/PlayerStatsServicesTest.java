@@ -0,0 +1,140 @@
+package com.github.hallbm.chesswithcats.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.hallbm.chesswithcats.domain.GameEnums.GameStyle;
+import com.github.hallbm.chesswithcats.model.Game;
+import com.github.hallbm.chesswithcats.model.Player;
+import com.github.hallbm.chesswithcats.model.PlayerStats;
+import com.github.hallbm.chesswithcats.repository.PlayerStatsRepository;
+import com.github.hallbm.chesswithcats.repository.PlayerStatsTotals;
+
+@ExtendWith(MockitoExtension.class)
+public class PlayerStatsServicesTest {
+
+	@Mock
+	private PlayerStatsRepository statsRepo;
+
+	@Mock
+	private NamedLockServices namedLockServ;
+
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+	@InjectMocks
+	private PlayerStatsServices playerStatsServ;
+
+	private static Game game(String winner) {
+		Player white = new Player();
+		white.setUsername("white");
+		Player black = new Player();
+		black.setUsername("black");
+
+		Game game = new Game();
+		game.setStyle(GameStyle.DEFIANT);
+		game.setWhite(white);
+		game.setBlack(black);
+		game.setWinner(winner);
+		return game;
+	}
+
+	@Test
+	public void testResultRecordedFromWhitePerspective() {
+		playerStatsServ.recordResult(game("black"));
+		verify(statsRepo).addResult("white", "black", "DEFIANT", 0, 0, 1);
+
+		playerStatsServ.recordResult(game("Draw"));
+		verify(statsRepo).addResult("white", "black", "DEFIANT", 0, 1, 0);
+	}
+
+	private static PlayerStatsTotals totals(String username, String opponent, int wins, int draws, int losses) {
+		PlayerStatsTotals totals = mock(PlayerStatsTotals.class);
+		when(totals.getUsername()).thenReturn(username);
+		when(totals.getOpponent()).thenReturn(opponent);
+		when(totals.getStyle()).thenReturn("CLASSIC");
+		when(totals.getTotal()).thenReturn(wins + draws + losses);
+		when(totals.getWins()).thenReturn(wins);
+		when(totals.getDraws()).thenReturn(draws);
+		when(totals.getLosses()).thenReturn(losses);
+		return totals;
+	}
+
+	/**
+	 * Runs the task if the lock is acquired; the backfill must be committed
+	 * before the lock is released.
+	 */
+	private void lockAcquired(boolean acquired) {
+		when(namedLockServ.runExclusively(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+			if (acquired) {
+				invocation.<Runnable>getArgument(2).run();
+				verify(transactionManager).commit(any());
+			}
+			return acquired;
+		});
+	}
+
+	@Test
+	public void testBackfillMergedWithCountedGames() {
+		lockAcquired(true);
+		when(statsRepo.count()).thenReturn(0L);
+		List<PlayerStatsTotals> headToHead = List.of(totals("white", "black", 2, 1, 0));
+		List<PlayerStatsTotals> overall = List.of(totals("white", PlayerStats.ALL_OPPONENTS, 2, 1, 0));
+		when(statsRepo.sumHeadToHead()).thenReturn(headToHead);
+		when(statsRepo.sumOverall()).thenReturn(overall);
+
+		playerStatsServ.backfill();
+
+		verify(statsRepo).addTotals("white", "black", "CLASSIC", 3, 2, 1, 0);
+		verify(statsRepo).addTotals("white", PlayerStats.ALL_OPPONENTS, "CLASSIC", 3, 2, 1, 0);
+	}
+
+	@Test
+	public void testBackfillSkippedOnceFilled() {
+		lockAcquired(true);
+		when(statsRepo.count()).thenReturn(4L);
+
+		playerStatsServ.backfill();
+
+		verify(statsRepo, never()).addTotals(anyString(), anyString(), anyString(), anyInt(), anyInt(), anyInt(),
+				anyInt());
+	}
+
+	@Test
+	public void testBackfillSkippedWhileLockedElsewhere() {
+		lockAcquired(false);
+
+		playerStatsServ.backfill();
+
+		verify(statsRepo, never()).count();
+	}
+
+	@Test
+	public void testPercentagesFromCounters() {
+		Map<GameStyle, Integer[]> stats = new GameServices().getWinDrawLosePercentage(
+				List.of(new PlayerStats(null, "white", PlayerStats.ALL_OPPONENTS, GameStyle.CLASSIC, 4, 2, 1, 1)));
+
+		Assertions.assertArrayEquals(new Integer[] { 4, 50, 25, 25 }, stats.get(GameStyle.CLASSIC));
+		Assertions.assertArrayEquals(new Integer[] { 0, 0, 0, 0 }, stats.get(GameStyle.AMBIGUOUS));
+	}
+}
@@ -0,0 +1,64 @@
+package com.github.hallbm.chesswithcats.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class PresenceServicesTest {
+
+	private final LocalPresenceStore presenceStore = new LocalPresenceStore();
+	private final PresenceServices presenceServ = new PresenceServices();
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(presenceServ, "presenceStore", presenceStore);
+		ReflectionTestUtils.setField(presenceServ, "ttlMs", 200L);
+	}
+
+	@Test
+	public void testOnlineFromSignInUntilSignOut() {
+		Assertions.assertFalse(presenceServ.isOnline("alice"));
+
+		presenceServ.signIn("alice");
+		Assertions.assertTrue(presenceServ.isOnline("alice"));
+
+		presenceServ.signOut("alice");
+		Assertions.assertFalse(presenceServ.isOnline("alice"));
+	}
+
+	@Test
+	public void testOfflineAfterTtlWithoutActivity() throws InterruptedException {
+		presenceServ.signIn("alice");
+		presenceServ.signIn("bob");
+		presenceServ.connected("bob");
+
+		Thread.sleep(150);
+		presenceServ.renewConnected();
+		Thread.sleep(150);
+
+		Assertions.assertFalse(presenceServ.isOnline("alice"));
+		Assertions.assertTrue(presenceServ.isOnline("bob"));
+
+		presenceStore.evictExpired();
+		Assertions.assertFalse(presenceServ.isOnline("alice"));
+	}
+
+	@Test
+	public void testConnectionsCountedPerPlayer() throws InterruptedException {
+		presenceServ.connected("alice");
+		presenceServ.connected("alice");
+		presenceServ.disconnected("alice");
+
+		Thread.sleep(150);
+		presenceServ.renewConnected();
+		Thread.sleep(150);
+		Assertions.assertTrue(presenceServ.isOnline("alice"));
+
+		presenceServ.disconnected("alice");
+		Thread.sleep(150);
+		presenceServ.renewConnected();
+		Thread.sleep(150);
+		Assertions.assertFalse(presenceServ.isOnline("alice"));
+	}
+}